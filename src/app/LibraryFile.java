@@ -0,0 +1,172 @@
+package app;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import model.LibraryCodec;
+import model.User;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This class reads and writes the binary file that holds every user's
+ * library. Each entry is the user name followed by the length-prefixed library bytes, so one
+ * corrupt library does not affect how the others are read, and each library can be parsed on
+ * its own thread, the logged-in user's first.
+ *
+ * A library that fails to parse leaves its user with the library they had before, from the
+ * JSON file or empty. Its bytes are kept, and as long as the user leaves that library as it
+ * was, they are written back unchanged. Once the user changes it, the library they changed is
+ * saved instead. Either way the file as it was read is first copied to a backup next to it,
+ * so the unread data is never lost. The same backup is made when the file itself was cut
+ * short. Files are written under a temporary name and moved into place, so a crash while
+ * saving leaves the previous file whole.
+ */
+public final class LibraryFile {
+
+    private final Path path;
+    // set when the file was cut short or a library failed to parse, until it is backed up
+    private volatile boolean damaged;
+    // libraries that failed to parse, by user name
+    private final Map<String, Unread> unread = new ConcurrentHashMap<>();
+
+    /**
+     * @param path - The library file.
+     */
+    public LibraryFile(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Reads the file without parsing the libraries in it.
+     *
+     * @return The library bytes by user name, in file order; empty if there is no file. A
+     *         file that is cut short gives the entries before the damage.
+     */
+    public Map<String, byte[]> read() {
+        Map<String, byte[]> libraries = new LinkedHashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String userName = in.readUTF();
+                byte[] data = new byte[in.readInt()];
+                in.readFully(data);
+                libraries.put(userName, data);
+            }
+        } catch (NoSuchFileException e) {
+            return libraries;
+        } catch (IOException | NegativeArraySizeException e) {
+            // the entries after the damage are lost from this file, so it is backed up
+            // before it is next saved over
+            damaged = true;
+            System.out.println("Error loading libraries: " + e.getMessage());
+        }
+        return libraries;
+    }
+
+    /**
+     * Parses one user's library into that user. If it cannot be parsed, the user keeps the
+     * library they have, and the bytes are kept to be saved back while that library is left
+     * as it is.
+     *
+     * @param user - The user.
+     * @param data - The user's library bytes from read.
+     * @return true if the library was parsed.
+     */
+    public boolean parse(User user, byte[] data) {
+        try {
+            user.readLibrary(new DataInputStream(new ByteArrayInputStream(data)));
+            return true;
+        } catch (IOException | RuntimeException e) {
+            unread.put(user.getUserName(), new Unread(data, LibraryCodec.toBytes(user.getLibrary())));
+            damaged = true;
+            System.out.println("Error loading library for " + user.getUserName() + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * @param userName - A user name.
+     * @return true if that user's saved library could not be parsed and has not been replaced.
+     */
+    public boolean isUnread(String userName) {
+        return unread.containsKey(userName);
+    }
+
+    /**
+     * @return The backup the file is copied to before a damaged file is saved over.
+     */
+    public Path getBackup() {
+        return path.resolveSibling(path.getFileName() + ".bak");
+    }
+
+    /**
+     * Saves every user's library. An unread library is written back as it was, unless its
+     * user has changed the library they were given, which is then saved in its place.
+     *
+     * @param users - Every user.
+     * @throws IOException If the file or its backup cannot be written.
+     */
+    public synchronized void save(Collection<User> users) throws IOException {
+        if (damaged && Files.exists(path)) {
+            Files.copy(path, getBackup(), StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("The library file could not be fully read; the old file was kept at "
+                    + getBackup().toAbsolutePath());
+        }
+        damaged = false;
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(users.size());
+            for (User user : users) {
+                byte[] data = LibraryCodec.toBytes(user.getLibrary());
+                Unread old = unread.get(user.getUserName());
+                if (old != null && Arrays.equals(data, old.replacement)) {
+                    data = old.data;
+                } else if (old != null) {
+                    // the user changed the library they were given; the old bytes stay in the backup
+                    unread.remove(user.getUserName());
+                    System.out.println("Saved the changed library of " + user.getUserName()
+                            + "; the library that could not be read is in " + getBackup().toAbsolutePath());
+                }
+                out.writeUTF(user.getUserName());
+                out.writeInt(data.length);
+                out.write(data);
+            }
+        }
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * The bytes of a library that failed to parse, and the encoding of the library its user
+     * was given instead, to tell whether the user has changed it.
+     */
+    private static class Unread {
+        private final byte[] data;
+        private final byte[] replacement;
+
+        Unread(byte[] data, byte[] replacement) {
+            this.data = data;
+            this.replacement = replacement;
+        }
+    }
+}
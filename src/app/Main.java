@@ -1,13 +1,28 @@
 package app;
 
+import model.AuthService;
 import model.User;
 import model.LibraryModel;
+import store.BulkImporter;
+import store.GlobalCharts;
 import store.MusicStore;
+import store.RecommendationEngine;
+import store.StringArena;
+import store.TrendingSketches;
+import view.BatchCommandRunner;
 import view.MusicLibraryView;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.io.*;
+import java.nio.file.Paths;
 
 
 /**
@@ -25,47 +40,217 @@ import java.io.*;
 
 public class Main {
 	
-	private static Map<String, User> users = new HashMap<>();
+	// read by the startup threads and the login pool while registration may add to it
+	private static Map<String, User> users = new ConcurrentHashMap<>();
 	private static Scanner scanner = new Scanner(System.in);
+	private static AuthService auth = new AuthService(users);
 	private static final String USER_FILE = "users.json";
+	private static final LibraryFile libraryFile = new LibraryFile(Paths.get("libraries.bin"));
+	// completes once every library in the library file has been parsed
+	private static CompletableFuture<Void> librariesLoaded = CompletableFuture.completedFuture(null);
 	
 	/**
      * Main method that starts the application.
      * 
      * Steps:
-     * 	 Load existing users from file.
-     *   Initialize the MusicStore (loads album data).
-     *   Log in or register a user.
-     *   Initialize the user's library and start the UI.
+     *   Start loading the MusicStore's album data, the users file and the library file at the
+     *   same time (see StartupPipeline).
+     *   Log in or register a user once the users are loaded.
+     *   Parse that user's library and start the UI with it, while the store-wide views are
+     *   built from the other libraries in the background.
      *   Save users back to the file when exiting.
      */
 	public static void main(String[] args) {
+		StartupPipeline startup = new StartupPipeline();
+		boolean timings = Arrays.asList(args).contains("--timings");
 		
-		// load users from file at startup
-		loadUsersFromFile();
+		// create the store and start loading it in the background (album songs are loaded on
+		// first use, and their text is kept off the heap); searches wait until it is ready
+		MusicStore store = new MusicStore(true, new StringArena());
+		CompletableFuture<Boolean> catalogReady = startup.track("catalog",
+				store.loadAlbumsInBackground("albums/albums.txt", "albums/albums.idx"));
+		catalogReady.whenComplete((restored, error) -> {
+			if (error != null) {
+				System.out.println("Could not load albums: " + error.getMessage());
+			}
+		});
 		
-		// create the store and library
-		MusicStore store = new MusicStore();
+		// the users file and the library file are read at the same time as the catalog; once
+		// both are in, every library is parsed in the background
+		CompletableFuture<Void> usersReady = startup.run("users", Main::loadUsersFromFile);
+		CompletableFuture<Map<String, byte[]>> libraryBytes = startup.supply("library file", libraryFile::read);
+		CompletableFuture<Map<String, FutureTask<Void>>> parsers = usersReady.thenCombine(libraryBytes, (none, data) -> libraryParsers(data));
+		librariesLoaded = parsers.thenCompose(tasks -> startup.run("libraries", () -> {
+			for (FutureTask<Void> task : tasks.values()) {
+				task.run();
+			}
+		}));
 		
-		// load store data if needed
-		try {
-			store.loadAlbums("albums/albums.txt");
-		} catch (Exception e) {
-			System.out.println("Could not load albums: " + e.getMessage());
+		// with --watch, album files edited while the app runs are reloaded into the store,
+		// starting once the first load is done
+		if (Arrays.asList(args).contains("--watch")) {
+			catalogReady.thenRun(() -> {
+				try {
+					store.watchCatalog("albums/albums.txt");
+				} catch (IOException e) {
+					System.out.println("Could not watch albums: " + e.getMessage());
+				}
+			});
+		}
+		
+		// with --import <user> <file>, bulk-add the file's entries to that library and exit
+		int importAt = Arrays.asList(args).indexOf("--import");
+		if (importAt >= 0) {
+			librariesLoaded.join();
+			runImport(store, args, importAt);
+			return;
+		}
+		
+		// with --batch <user> [file], run library commands from the file or stdin and exit
+		int batchAt = Arrays.asList(args).indexOf("--batch");
+		if (batchAt >= 0) {
+			librariesLoaded.join();
+			runBatch(store, args, batchAt);
+			return;
+		}
+		
+		// the login screen needs only the users; the catalog and libraries keep loading
+		usersReady.join();
+		long firstPrompt = startup.mark("first prompt");
+		if (timings) {
+			System.out.printf("First prompt after %d ms (catalog %s)%n", firstPrompt,
+					store.isCatalogReady() ? "ready" : "still loading");
 		}
 		
-		// login or register a new user
+		// login or register a new user, then parse their library first, on this thread
+		// unless the background parse has already reached it
 		User currentUser = loginOrRegister();
+		FutureTask<Void> ownLibrary = parsers.join().get(currentUser.getUserName());
+		if (ownLibrary != null) {
+			startup.time("own library", () -> parseNow(ownLibrary));
+		}
+		if (libraryFile.isUnread(currentUser.getUserName())) {
+			System.out.println("Your saved library could not be read. It is kept as it was unless you change"
+					+ " this library; if you do, the old copy is kept in " + libraryFile.getBackup());
+		}
 		LibraryModel library = currentUser.getLibrary();
 		
+		// the store-wide views need the catalog and every other library; the three are built
+		// at the same time in the background, each only reading those libraries. The current
+		// user's library is left out because the menu changes it on this thread; the view adds
+		// it when a view is first shown, and the menu waits for a view only when it is chosen
+		CompletableFuture<List<LibraryModel>> others = librariesLoaded
+				.thenCombine(catalogReady.exceptionally(error -> false), (none, restored) -> otherLibraries(currentUser));
+		
+		// recommendations from the other users' libraries; recommend folds in the current one
+		CompletableFuture<RecommendationEngine> recommenderReady = others.thenCompose(libraries ->
+				startup.supply("recommendations", () -> {
+					RecommendationEngine recommender = new RecommendationEngine(store.getCatalog());
+					recommender.rebuild(libraries);
+					return recommender;
+				}));
+		
+		// store-wide charts, summarized in parallel once and then refreshed per changed library
+		CompletableFuture<GlobalCharts> chartsReady = others.thenCompose(libraries ->
+				startup.supply("charts", () -> {
+					GlobalCharts charts = new GlobalCharts();
+					charts.rebuild(libraries);
+					return charts;
+				}));
+		
+		// trending sketches, seeded with the last week of every user's plays. The current
+		// user's session is replayed here and then records their plays as they happen; the
+		// sketches take updates from several threads at once
+		TrendingSketches trending = new TrendingSketches();
+		long weekAgo = System.currentTimeMillis() / 1000 - 7 * 24 * 3600;
+		TrendingSketches.Session ownSession = trending.openSession(currentUser.getUserName());
+		ownSession.replay(library.getPlayHistory(), weekAgo);
+		library.addListener(ownSession);
+		CompletableFuture<TrendingSketches> trendingReady = others.thenCompose(libraries ->
+				startup.supply("trending", () -> {
+					for (User user : users.values()) {
+						if (user != currentUser) {
+							trending.openSession(user.getUserName()).replay(user.getLibrary().getPlayHistory(), weekAgo);
+						}
+					}
+					return trending;
+				}));
+		CompletableFuture.allOf(recommenderReady, chartsReady, trendingReady).whenComplete((none, error) -> startup.close());
+		
+		startup.mark("menu");
+		if (timings) {
+			System.out.println(startup.report());
+		}
+		
 		// creates the view and start the UI with the user's library
-		MusicLibraryView view = new MusicLibraryView(library, store);
+		MusicLibraryView view = new MusicLibraryView(library, store, recommenderReady, chartsReady, trendingReady);
 		view.start();
 		
 		// save users before exiting
 		saveUsersToFile();
 	}
 	
+	/**
+     * Imports an entry file into an existing user's library without starting the UI. The
+     * libraries are written once, after the whole batch has been applied.
+     */
+	private static void runImport(MusicStore store, String[] args, int importAt) {
+		if (importAt + 2 >= args.length) {
+			System.out.println("Usage: --import <username> <file>");
+			return;
+		}
+		User user = users.get(args[importAt + 1]);
+		if (user == null) {
+			System.out.println("Unknown user: " + args[importAt + 1]);
+			return;
+		}
+		try {
+			BulkImporter.Result result = new BulkImporter(store).importFile(new File(args[importAt + 2]).toPath(), user.getLibrary());
+			System.out.println(result);
+			for (String entry : result.getUnresolved()) {
+				System.out.println("  not found: " + entry);
+			}
+		} catch (IOException e) {
+			System.out.println("Could not read import file: " + e.getMessage());
+			return;
+		}
+		saveUsersToFile();
+	}
+	
+	/**
+     * Runs a command script against an existing user's library without starting the UI. The
+     * script is read from a file, or from standard input when no file is given, and the
+     * libraries are written once at the end.
+     */
+	private static void runBatch(MusicStore store, String[] args, int batchAt) {
+		if (batchAt + 1 >= args.length) {
+			System.out.println("Usage: --batch <username> [file]");
+			return;
+		}
+		User user = users.get(args[batchAt + 1]);
+		if (user == null) {
+			System.out.println("Unknown user: " + args[batchAt + 1]);
+			return;
+		}
+		BatchCommandRunner runner = new BatchCommandRunner(user.getLibrary(), store);
+		try {
+			BatchCommandRunner.Result result;
+			if (batchAt + 2 < args.length && !args[batchAt + 2].startsWith("--")) {
+				result = runner.run(new File(args[batchAt + 2]).toPath());
+			} else {
+				result = runner.run(new BufferedReader(new InputStreamReader(System.in)));
+			}
+			System.out.println(result);
+			for (String error : result.getErrors()) {
+				System.out.println("  " + error);
+			}
+		} catch (IOException e) {
+			System.out.println("Could not read commands: " + e.getMessage());
+			return;
+		}
+		saveUsersToFile();
+	}
+	
 	// method to handle user authentication
 	private static User loginOrRegister() {
 		System.out.print("Enter username: ");
@@ -75,8 +260,15 @@ public class Main {
 			// existing user: login
 			System.out.print("Enter password: ");
 			String password = scanner.nextLine().trim();
-			User user = users.get(userName);
-			if (user.checkPassword(password)) {
+			User user;
+			try {
+				user = auth.login(userName, password);	// checked on the bounded login pool
+			} catch (IllegalStateException e) {
+				System.out.println(e.getMessage());
+				System.exit(1);
+				return null;
+			}
+			if (user != null) {
 				System.out.println("Login successful!");
 				return user;
 			} else {
@@ -187,17 +379,71 @@ public class Main {
     }
 
     /**
-     * Saves all users to the JSON file.
+     * Makes one parse task per user found in the library file. A task runs at most once, so
+     * the background parse and the login can both call run, and whichever comes second waits
+     * for the first. A library found here replaces the one imported from the JSON file, so
+     * older JSON-only data is still picked up when no binary library exists for that user yet.
+     *
+     * @param libraries - The library bytes by user name.
+     * @return The parse tasks by user name.
+     */
+    private static Map<String, FutureTask<Void>> libraryParsers(Map<String, byte[]> libraries) {
+        Map<String, FutureTask<Void>> tasks = new LinkedHashMap<>();
+        for (Map.Entry<String, byte[]> entry : libraries.entrySet()) {
+            String userName = entry.getKey();
+            User user = users.get(userName);
+            if (user == null) {
+                continue;
+            }
+            tasks.put(userName, new FutureTask<>(() -> libraryFile.parse(user, entry.getValue()), null));
+        }
+        return tasks;
+    }
+
+    /**
+     * @return The libraries of every user except the given one, once they are all parsed.
+     */
+    private static List<LibraryModel> otherLibraries(User currentUser) {
+        List<LibraryModel> libraries = new ArrayList<>();
+        for (User user : users.values()) {
+            if (user != currentUser) {
+                libraries.add(user.getLibrary());
+            }
+        }
+        return libraries;
+    }
+
+    /**
+     * Runs a library parse task on this thread, or waits for it if another thread got there
+     * first.
+     */
+    private static Void parseNow(FutureTask<Void> task) {
+        task.run();
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.out.println("Error loading library: " + e.getCause().getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Saves all users to the JSON file. The JSON file only holds the credentials, and the
+     * libraries themselves are written to the binary library file.
      */
     private static void saveUsersToFile() {
+        // never write libraries that are still being read
+        librariesLoaded.join();
         try (BufferedWriter bw = new BufferedWriter(new FileWriter(USER_FILE))) {
             bw.write("{\"users\":[");
             boolean first = true;
             for (User user : users.values()) {
                 if (!first) bw.write(",");
                 bw.write(String.format(
-                    "{\"username\":\"%s\",\"salt\":\"%s\",\"hashedPassword\":\"%s\",\"library\":%s}",
-                    user.getUserName(), user.getSalt(), user.getHashedPassword(), user.getLibraryData()
+                    "{\"username\":\"%s\",\"salt\":\"%s\",\"hashedPassword\":\"%s\"}",
+                    user.getUserName(), user.getSalt(), user.getHashedPassword()
                 ));
                 first = false;
             }
@@ -206,5 +452,17 @@ public class Main {
         } catch (IOException e) {
             System.out.println("Error saving users: " + e.getMessage());
         }
+        saveLibrariesToFile();
+    }
+
+    /**
+     * Saves every user's library to the binary library file (see LibraryFile).
+     */
+    private static void saveLibrariesToFile() {
+        try {
+            libraryFile.save(users.values());
+        } catch (IOException e) {
+            System.out.println("Error saving libraries: " + e.getMessage());
+        }
     }
 }
@@ -0,0 +1,180 @@
+package app;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This class runs the independent steps of application startup at the
+ * same time and times each of them. A step started with run or supply goes to a small pool
+ * of daemon threads and returns a CompletableFuture, so the caller joins only the steps the
+ * next screen needs. Steps run on the caller's thread (time) or on threads of their own
+ * (track) are timed too, and mark records a moment such as the first prompt.
+ *
+ * Every phase is kept with its start and end, in milliseconds since the pipeline was
+ * created, and report lists them so a slow startup shows which step regressed.
+ */
+public class StartupPipeline implements AutoCloseable {
+
+    // threads for background steps; startup has only a few independent ones
+    static final int THREADS = 3;
+
+    private final long startNanos = System.nanoTime();
+    private final List<Phase> phases = new ArrayList<>();
+    private final ExecutorService pool;
+
+    /**
+     * Creates a pipeline whose clock starts now.
+     */
+    public StartupPipeline() {
+        AtomicInteger ids = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(THREADS, task -> {
+            Thread thread = new Thread(task, "startup-" + ids.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs a step in the background.
+     *
+     * @param phase - The name the step is reported under.
+     * @param step - The step.
+     * @return Completes when the step is done, or with the error it threw.
+     */
+    public CompletableFuture<Void> run(String phase, Runnable step) {
+        return supply(phase, () -> {
+            step.run();
+            return null;
+        });
+    }
+
+    /**
+     * Computes a value in the background.
+     *
+     * @param phase - The name the step is reported under.
+     * @param step - Computes the value.
+     * @return Completes with the value, or with the error the step threw.
+     */
+    public <T> CompletableFuture<T> supply(String phase, Supplier<T> step) {
+        return CompletableFuture.supplyAsync(() -> time(phase, step), pool);
+    }
+
+    /**
+     * Runs a step on the calling thread.
+     *
+     * @param phase - The name the step is reported under.
+     * @param step - Computes the value.
+     * @return The value.
+     */
+    public <T> T time(String phase, Supplier<T> step) {
+        Phase timed = begin(phase);
+        try {
+            return step.get();
+        } finally {
+            timed.end = now();
+        }
+    }
+
+    /**
+     * Times a step already running elsewhere, from now until its future completes.
+     *
+     * @param phase - The name the step is reported under.
+     * @param step - The step's future.
+     * @return A future that completes after the end has been recorded.
+     */
+    public <T> CompletableFuture<T> track(String phase, CompletableFuture<T> step) {
+        Phase timed = begin(phase);
+        return step.whenComplete((value, error) -> timed.end = now());
+    }
+
+    /**
+     * Records a moment, such as the first prompt, as a phase that starts and ends now.
+     *
+     * @param phase - The name of the moment.
+     * @return Milliseconds since the pipeline was created.
+     */
+    public long mark(String phase) {
+        Phase timed = begin(phase);
+        timed.end = timed.start;
+        return timed.start;
+    }
+
+    private Phase begin(String name) {
+        Phase phase = new Phase(name, now());
+        synchronized (phases) {
+            phases.add(phase);
+        }
+        return phase;
+    }
+
+    private long now() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * @param phase - A phase name.
+     * @return How long the phase took in milliseconds, or -1 if it has not finished or was
+     *         never started.
+     */
+    public long millis(String phase) {
+        synchronized (phases) {
+            for (Phase timed : phases) {
+                if (timed.name.equals(phase)) {
+                    return timed.end < 0 ? -1 : timed.end - timed.start;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Lists every phase with when it started and ended, in the order they started.
+     *
+     * @return One line per phase.
+     */
+    public String report() {
+        StringBuilder out = new StringBuilder("Startup timings (ms since launch):");
+        synchronized (phases) {
+            for (Phase timed : phases) {
+                out.append(String.format("%n  %-16s %6d", timed.name, timed.start));
+                if (timed.end < 0) {
+                    out.append("   still running");
+                } else if (timed.end > timed.start) {
+                    out.append(String.format(" - %6d  (%d ms)", timed.end, timed.end - timed.start));
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Stops the background threads once their steps are done.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * One timed step.
+     */
+    private static class Phase {
+        private final String name;
+        private final long start;
+        private volatile long end = -1;
+
+        Phase(String name, long start) {
+            this.name = name;
+            this.start = start;
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Author: Asifur Rahman
@@ -11,6 +13,10 @@ import java.util.List;
  * Program Description: This class represents an album in the music library.
  * An Album has a title, an artist, a genre, a release year, and a list of songs.
  * Songs can be added to the album in the order they appear.
+ * An album can also be created with only its header details and a track loader, in which
+ * case the songs are loaded the first time they are needed and then kept.
+ * Store albums are frozen once they are published in a catalog: their song list becomes
+ * read-only so it can be shared between threads without copying.
  */
 
 public class Album {
@@ -20,7 +26,9 @@ public class Album {
 	private String artist;
 	private String genre;
 	private int year;
-	private List<Song> songs;
+	private volatile List<Song> songs;	// null until loaded for lazily loaded albums
+	private Supplier<List<Song>> trackLoader;
+	private volatile boolean frozen;
 	
 	/**
      * This class constructs a new Album with the specified details.
@@ -55,6 +63,24 @@ public class Album {
         this.year = year;
         this.songs = new ArrayList<>(songs); // Copy the list to avoid external modification
     }
+
+	/**
+     * Constructs a new Album whose songs are loaded on first use. The loader is called at most
+     * once, the first time getSongs() or addSong() is called, and its result is kept.
+     *
+     * @param title - The title of the album.
+     * @param artist - The artist or band of the album.
+     * @param genre - The genre of the album.
+     * @param year - The release year of the album.
+     * @param trackLoader - Supplies the album's songs in track order.
+     */
+    public Album(String title, String artist, String genre, int year, Supplier<List<Song>> trackLoader) {
+        this.title = title;
+        this.artist = artist;
+        this.genre = genre;
+        this.year = year;
+        this.trackLoader = trackLoader;
+    }
     
 	// getter methods
 	public String getTitle() {
@@ -74,7 +100,47 @@ public class Album {
 	}
 	
 	public List<Song> getSongs() {
-		return songs;
+		List<Song> loaded = songs;
+		if (loaded == null) {
+			synchronized (this) {
+				if (songs == null) {
+					List<Song> tracks = new ArrayList<>(trackLoader.get());
+					songs = frozen ? Collections.unmodifiableList(tracks) : tracks;
+					trackLoader = null;
+				}
+				loaded = songs;
+			}
+		}
+		return loaded;
+	}
+	
+	/**
+     * Checks whether the album's songs are in memory, without loading them.
+     *
+     * @return true if the songs have been loaded (always true for albums built with their songs).
+     */
+	public boolean isLoaded() {
+		return songs != null;
+	}
+	
+	/**
+     * Makes the song list read-only. A lazily loaded album stays lazy and its songs are
+     * read-only once loaded. After this, addSong throws UnsupportedOperationException.
+     */
+	public synchronized void freeze() {
+		if (!frozen) {
+			frozen = true;
+			if (songs != null) {
+				songs = Collections.unmodifiableList(songs);
+			}
+		}
+	}
+	
+	/**
+     * @return true if the album has been frozen and its songs can no longer change.
+     */
+	public boolean isFrozen() {
+		return frozen;
 	}
 	
 	/**
@@ -82,8 +148,9 @@ public class Album {
      * The song is appended to the end of the songs list, preserving the track order.
      *
      * @param song The Song object to add to the album.
+     * @throws UnsupportedOperationException If the album is frozen.
      */
 	public void addSong(Song song) {
-		songs.add(song);
+		getSongs().add(song);
 	}
 }
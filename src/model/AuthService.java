@@ -0,0 +1,193 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This class checks logins on a small, bounded pool of threads. Password
+ * hashing is deliberately slow, so checks run on at most 'threads' workers with at most
+ * 'queueCapacity' waiting. Extra logins are refused at once instead of piling up, so a burst of
+ * logins cannot take every core away from users who are already signed in.
+ *
+ * Each login's latency is recorded from submission to result, including time spent waiting in
+ * the queue, so the figures show what a user under concurrent load experiences. The latest
+ * SAMPLES latencies are kept for percentiles.
+ */
+public class AuthService implements AutoCloseable {
+
+    // latencies kept for percentiles; older ones are dropped
+    static final int SAMPLES = 4096;
+
+    private final Map<String, User> users;
+    private final PasswordHasher hasher;
+    private final ThreadPoolExecutor pool;
+    private final long timeoutMillis;
+
+    private final long[] latencies = new long[SAMPLES];
+    private long recorded;
+    private long rejected;
+
+    /**
+     * Creates a service that uses about half the processors for hashing, with a short queue.
+     *
+     * @param users - The registered users by name; read when a login is checked.
+     */
+    public AuthService(Map<String, User> users) {
+        this(users, PasswordHasher.getDefault(),
+                Math.max(1, Runtime.getRuntime().availableProcessors() / 2), 64, 10_000);
+    }
+
+    /**
+     * @param users - The registered users by name; read when a login is checked.
+     * @param hasher - The hasher that checks passwords and upgrades old hashes.
+     * @param threads - The most logins checked at once.
+     * @param queueCapacity - The most logins waiting for a thread.
+     * @param timeoutMillis - How long login waits for a result before giving up.
+     */
+    public AuthService(Map<String, User> users, PasswordHasher hasher, int threads, int queueCapacity,
+            long timeoutMillis) {
+        this.users = users;
+        this.hasher = hasher;
+        this.timeoutMillis = timeoutMillis;
+        AtomicInteger ids = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), task -> {
+                    Thread thread = new Thread(task, "auth-" + ids.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.pool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Checks a login and waits for the result.
+     *
+     * @param userName - The user name.
+     * @param password - The password to check.
+     * @return The user if the password matches, or null if it does not or the user is unknown.
+     * @throws IllegalStateException If the pool is full or the check takes too long.
+     */
+    public User login(String userName, String password) {
+        Future<User> result = submit(userName, password);
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throw new IllegalStateException("Login timed out, try again.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Login interrupted.");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Login failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Queues a login check without waiting for it.
+     *
+     * @param userName - The user name.
+     * @param password - The password to check.
+     * @return The user if the password matches, otherwise null.
+     * @throws IllegalStateException If the pool is full.
+     */
+    public Future<User> submit(String userName, String password) {
+        long start = System.nanoTime();
+        try {
+            return pool.submit(() -> {
+                try {
+                    User user = users.get(userName);
+                    return user != null && user.checkPassword(password, hasher) ? user : null;
+                } finally {
+                    record(System.nanoTime() - start);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                rejected++;
+            }
+            throw new IllegalStateException("Too many logins at once, try again.");
+        }
+    }
+
+    private synchronized void record(long nanos) {
+        latencies[(int) (recorded % SAMPLES)] = nanos;
+        recorded++;
+    }
+
+    /**
+     * @return Latency figures for the logins checked so far.
+     */
+    public synchronized Stats getStats() {
+        int count = (int) Math.min(recorded, SAMPLES);
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return new Stats(recorded, rejected, sorted);
+    }
+
+    /**
+     * Stops the workers; logins already queued still finish.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * A snapshot of login latencies, in milliseconds.
+     */
+    public static class Stats {
+        private final long logins;
+        private final long rejected;
+        private final long[] sorted;
+
+        Stats(long logins, long rejected, long[] sorted) {
+            this.logins = logins;
+            this.rejected = rejected;
+            this.sorted = sorted;
+        }
+
+        /**
+         * @return The number of logins checked.
+         */
+        public long getLogins() {
+            return logins;
+        }
+
+        /**
+         * @return The number of logins refused because the pool was full.
+         */
+        public long getRejected() {
+            return rejected;
+        }
+
+        /**
+         * @param p - A percentile from 0 to 100.
+         * @return The latency at that percentile of the recent logins, or 0 if there are none.
+         */
+        public double percentile(double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p / 100 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d logins, %d rejected, p50 %.1f ms, p95 %.1f ms, p99 %.1f ms",
+                    logins, rejected, percentile(50), percentile(95), percentile(99));
+        }
+    }
+}
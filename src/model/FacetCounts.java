@@ -0,0 +1,116 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This class counts items per facet value, for example albums per genre
+ * or songs per artist. Counts are updated one item at a time as items are added, so showing a
+ * faceted view only walks the facet values and never the items. The store catalog freezes its
+ * counts when a snapshot is built, and a user's library keeps its own counts up to date.
+ */
+public class FacetCounts {
+
+    private final Map<String, Integer> counts = new HashMap<>();
+    private boolean frozen;
+
+    /**
+     * Counts one more item under the given value.
+     *
+     * @param value - The facet value, for example a genre.
+     */
+    public void add(String value) {
+        add(value, 1);
+    }
+
+    /**
+     * Changes the count for a value. A value whose count drops to zero is removed.
+     *
+     * @param value - The facet value.
+     * @param delta - The amount to add, which may be negative.
+     * @throws UnsupportedOperationException If the counts are frozen.
+     */
+    public void add(String value, int delta) {
+        if (frozen) {
+            throw new UnsupportedOperationException("Facet counts are frozen");
+        }
+        int next = counts.getOrDefault(value, 0) + delta;
+        if (next > 0) {
+            counts.put(value, next);
+        } else {
+            counts.remove(value);
+        }
+    }
+
+    /**
+     * @param value - The facet value.
+     * @return The number of items counted under it, or 0.
+     */
+    public int get(String value) {
+        return counts.getOrDefault(value, 0);
+    }
+
+    /**
+     * @return The number of distinct facet values.
+     */
+    public int size() {
+        return counts.size();
+    }
+
+    /**
+     * @return A read-only view of every value and its count.
+     */
+    public Map<String, Integer> asMap() {
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * Returns the values with the highest counts, ties broken alphabetically.
+     *
+     * @param n - The maximum number of values.
+     * @return The top values with their counts, highest first.
+     */
+    public List<Map.Entry<String, Integer>> top(int n) {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(counts.entrySet());
+        entries.sort((a, b) -> {
+            int byCount = Integer.compare(b.getValue(), a.getValue());
+            return byCount != 0 ? byCount : a.getKey().compareTo(b.getKey());
+        });
+        List<Map.Entry<String, Integer>> result = new ArrayList<>();
+        for (int i = 0; i < entries.size() && i < n; i++) {
+            result.add(Map.entry(entries.get(i).getKey(), entries.get(i).getValue()));
+        }
+        return result;
+    }
+
+    /**
+     * Formats the top values for display, for example "Rock (12,430) | Pop (8,002)".
+     *
+     * @param n - The maximum number of values to show.
+     * @return The formatted line, or an empty string if nothing has been counted.
+     */
+    public String format(int n) {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Integer> entry : top(n)) {
+            if (sb.length() > 0) {
+                sb.append(" | ");
+            }
+            sb.append(entry.getKey()).append(" (").append(String.format("%,d", entry.getValue())).append(")");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Makes the counts read-only so they can be shared between threads.
+     */
+    public void freeze() {
+        frozen = true;
+    }
+}
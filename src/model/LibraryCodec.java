@@ -0,0 +1,428 @@
+package model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This class reads and writes a LibraryModel in a compact, versioned
+ * binary format. It is the storage format for user libraries, while the JSON produced by
+ * User.getLibraryData() is still used for import and export.
+ *
+ * Layout (all counts and IDs are unsigned varints):
+ *   magic "MLIB", version
+ *   string table: count, then each string as length + UTF-8 bytes
+ *   songs: count, then title, artist and album string IDs, play count, rating, flags
+ *   albums: count, then title, artist and genre string IDs, year, song ID array
+ *   playlists: count, then name string ID, song ID array
+ *   recent plays: song ID array
+ *   play history (version 2): count, then per event a song ID and the time in epoch seconds
+ *   as a zigzag varint delta from the previous event
+ *   smart playlists (version 3): count, then per playlist its name string ID, a flags byte
+ *   (genre, artist, favorites only), the genre and artist string IDs when flagged, minimum
+ *   rating, minimum plays, sort order, and limit + 1 (0 for none)
+ * Only smart playlists that SmartPlaylist.isSaved accepts are written; others are dropped.
+ * Every string is stored once, and albums, playlists and recent plays refer to songs by
+ * their position in the song section instead of repeating their titles.
+ */
+public final class LibraryCodec {
+
+    // "MLIB" in ASCII
+    public static final int MAGIC = 0x4D4C4942;
+    public static final int VERSION = 3;
+    // older versions, without play history or without smart playlists, are still readable
+    private static final int VERSION_NO_HISTORY = 1;
+    private static final int VERSION_NO_SMART_PLAYLISTS = 2;
+
+    private static final int FLAG_FAVORITE = 1;
+    // smart playlist rule flags
+    private static final int RULE_GENRE = 1;
+    private static final int RULE_ARTIST = 2;
+    private static final int RULE_FAVORITES = 4;
+
+    private LibraryCodec() {
+    }
+
+    /**
+     * Writes the library to the given output in the binary format.
+     *
+     * @param library - The library to write.
+     * @param out - The destination.
+     * @throws IOException If the output cannot be written.
+     */
+    public static void write(LibraryModel library, DataOutput out) throws IOException {
+        // assign song IDs in iteration order and collect every string once
+        Map<Song, Integer> songIds = new HashMap<>();
+        List<Song> songs = new ArrayList<>(library.getSongs());
+        StringTable strings = new StringTable();
+        for (int i = 0; i < songs.size(); i++) {
+            Song song = songs.get(i);
+            songIds.put(song, i);
+            strings.id(song.getTitle());
+            strings.id(song.getArtist());
+            strings.id(song.getAlbumTitle());
+        }
+        for (Album album : library.getAlbums()) {
+            strings.id(album.getTitle());
+            strings.id(album.getArtist());
+            strings.id(album.getGenre());
+        }
+        for (Playlist playlist : library.getAllPlaylists()) {
+            strings.id(playlist.getName());
+        }
+        List<SmartPlaylist> smart = new ArrayList<>();
+        for (SmartPlaylist playlist : library.getSmartPlaylists()) {
+            if (playlist.isSaved()) {
+                smart.add(playlist);
+                strings.id(playlist.getName());
+                if (playlist.getGenre() != null) {
+                    strings.id(playlist.getGenre());
+                }
+                if (playlist.getArtist() != null) {
+                    strings.id(playlist.getArtist());
+                }
+            }
+        }
+
+        out.writeInt(MAGIC);
+        writeVarInt(out, VERSION);
+
+        writeVarInt(out, strings.values.size());
+        for (String value : strings.values) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, bytes.length);
+            out.write(bytes);
+        }
+
+        writeVarInt(out, songs.size());
+        for (Song song : songs) {
+            writeVarInt(out, strings.id(song.getTitle()));
+            writeVarInt(out, strings.id(song.getArtist()));
+            writeVarInt(out, strings.id(song.getAlbumTitle()));
+            writeVarInt(out, song.getPlayCount());
+            out.writeByte(song.getRating());
+            out.writeByte(song.isFavorite() ? FLAG_FAVORITE : 0);
+        }
+
+        writeVarInt(out, library.getAlbums().size());
+        for (Album album : library.getAlbums()) {
+            writeVarInt(out, strings.id(album.getTitle()));
+            writeVarInt(out, strings.id(album.getArtist()));
+            writeVarInt(out, strings.id(album.getGenre()));
+            writeVarInt(out, album.getYear());
+            writeSongIds(out, album.getSongs(), songIds);
+        }
+
+        writeVarInt(out, library.getAllPlaylists().size());
+        for (Playlist playlist : library.getAllPlaylists()) {
+            writeVarInt(out, strings.id(playlist.getName()));
+            writeSongIds(out, playlist.getSongs(), songIds);
+        }
+
+        writeSongIds(out, library.getRecentPlays(), songIds);
+        writeHistory(out, library.getPlayHistory(), songIds);
+        writeSmartPlaylists(out, smart, strings);
+    }
+
+    /**
+     * Reads a library previously written by write(LibraryModel, DataOutput).
+     *
+     * @param in - The source.
+     * @return A new LibraryModel with the decoded songs, albums, playlists, recent plays, play
+     *         history and smart playlists.
+     * @throws IOException If the data is truncated, not in this format or of an unknown version.
+     */
+    public static LibraryModel read(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a library file (bad magic number)");
+        }
+        int version = readVarInt(in);
+        if (version < VERSION_NO_HISTORY || version > VERSION) {
+            throw new IOException("Unsupported library format version: " + version);
+        }
+
+        String[] strings = new String[readVarInt(in)];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[readVarInt(in)];
+            in.readFully(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        LibraryModel library = new LibraryModel();
+        Song[] songs = new Song[readVarInt(in)];
+        for (int i = 0; i < songs.length; i++) {
+            Song song = new Song(string(strings, in), string(strings, in), string(strings, in));
+            song.setPlayCount(readVarInt(in));
+            song.setRating(in.readByte());
+            int flags = in.readByte();
+            // add first, so the favorite is only ever marked on a song in the library
+            library.addSong(song);
+            if ((flags & FLAG_FAVORITE) != 0) {
+                library.markFavorite(song);
+            }
+            songs[i] = song;
+        }
+
+        int albumCount = readVarInt(in);
+        for (int i = 0; i < albumCount; i++) {
+            String title = string(strings, in);
+            String artist = string(strings, in);
+            String genre = string(strings, in);
+            int year = readVarInt(in);
+            library.addAlbum(new Album(title, artist, genre, year, readSongIds(in, songs)));
+        }
+
+        int playlistCount = readVarInt(in);
+        for (int i = 0; i < playlistCount; i++) {
+            String name = string(strings, in);
+            List<Song> playlistSongs = readSongIds(in, songs);
+            library.createPlaylist(name);
+            Playlist playlist = library.getPlaylist(name);
+            for (Song song : playlistSongs) {
+                playlist.addSong(song);
+            }
+        }
+
+        library.setRecentPlays(readSongIds(in, songs));
+        if (version >= VERSION_NO_SMART_PLAYLISTS) {
+            readHistory(in, library.getPlayHistory(), songs);
+        }
+        if (version >= VERSION) {
+            readSmartPlaylists(in, library, strings);
+        }
+        return library;
+    }
+
+    /**
+     * Encodes the library into a byte array.
+     *
+     * @param library - The library to encode.
+     * @return The encoded bytes.
+     */
+    public static byte[] toBytes(LibraryModel library) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            write(library, out);
+        } catch (IOException e) {
+            // ByteArrayOutputStream never throws
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a library from a byte array.
+     *
+     * @param data - The encoded bytes.
+     * @return The decoded library.
+     * @throws IOException If the bytes are not a valid library.
+     */
+    public static LibraryModel fromBytes(byte[] data) throws IOException {
+        return read(new DataInputStream(new ByteArrayInputStream(data)));
+    }
+
+    /**
+     * Writes an unsigned LEB128 varint: 7 bits per byte, high bit set on all but the last byte.
+     */
+    static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Reads an unsigned LEB128 varint written by writeVarInt.
+     */
+    static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * Writes a signed long as a zigzag LEB128 varint, so small negative values stay short.
+     */
+    static void writeVarLong(DataOutput out, long value) throws IOException {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.writeByte((int) (zigzag & 0x7F) | 0x80);
+            zigzag >>>= 7;
+        }
+        out.writeByte((int) zigzag);
+    }
+
+    /**
+     * Reads a signed long written by writeVarLong.
+     */
+    static long readVarLong(DataInput in) throws IOException {
+        long zigzag = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            int b = in.readUnsignedByte();
+            zigzag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    // writes the play events whose songs are in the library, with delta-encoded times
+    private static void writeHistory(DataOutput out, PlayHistory history, Map<Song, Integer> songIds) throws IOException {
+        int count = 0;
+        for (int i = 0; i < history.size(); i++) {
+            if (songIds.containsKey(history.songAt(i))) {
+                count++;
+            }
+        }
+        writeVarInt(out, count);
+        long previous = 0;
+        for (int i = 0; i < history.size(); i++) {
+            Integer id = songIds.get(history.songAt(i));
+            if (id != null) {
+                writeVarInt(out, id);
+                writeVarLong(out, history.timeAt(i) - previous);
+                previous = history.timeAt(i);
+            }
+        }
+    }
+
+    private static void readHistory(DataInput in, PlayHistory history, Song[] songs) throws IOException {
+        int count = readVarInt(in);
+        long time = 0;
+        for (int i = 0; i < count; i++) {
+            int id = readVarInt(in);
+            if (id >= songs.length) {
+                throw new IOException("Song ID out of range: " + id);
+            }
+            time += readVarLong(in);
+            history.record(songs[id], time);
+        }
+    }
+
+    private static void writeSmartPlaylists(DataOutput out, List<SmartPlaylist> playlists, StringTable strings)
+            throws IOException {
+        writeVarInt(out, playlists.size());
+        for (SmartPlaylist playlist : playlists) {
+            writeVarInt(out, strings.id(playlist.getName()));
+            int flags = (playlist.getGenre() != null ? RULE_GENRE : 0)
+                    | (playlist.getArtist() != null ? RULE_ARTIST : 0)
+                    | (playlist.isFavoritesOnly() ? RULE_FAVORITES : 0);
+            out.writeByte(flags);
+            if (playlist.getGenre() != null) {
+                writeVarInt(out, strings.id(playlist.getGenre()));
+            }
+            if (playlist.getArtist() != null) {
+                writeVarInt(out, strings.id(playlist.getArtist()));
+            }
+            writeVarInt(out, playlist.getMinRating());
+            writeVarInt(out, playlist.getMinPlays());
+            out.writeByte(SmartPlaylist.SAVED_ORDERS.indexOf(playlist.getOrder()));
+            writeVarInt(out, playlist.getLimit() + 1);
+        }
+    }
+
+    // rebuilds each smart playlist from its rules; adding it computes its members
+    private static void readSmartPlaylists(DataInput in, LibraryModel library, String[] strings) throws IOException {
+        int count = readVarInt(in);
+        for (int i = 0; i < count; i++) {
+            SmartPlaylist playlist = new SmartPlaylist(string(strings, in));
+            int flags = in.readUnsignedByte();
+            if ((flags & RULE_GENRE) != 0) {
+                playlist.genre(string(strings, in));
+            }
+            if ((flags & RULE_ARTIST) != 0) {
+                playlist.artist(string(strings, in));
+            }
+            if ((flags & RULE_FAVORITES) != 0) {
+                playlist.favorites();
+            }
+            playlist.minRating(readVarInt(in));
+            playlist.minPlays(readVarInt(in));
+            int order = in.readUnsignedByte();
+            if (order >= SmartPlaylist.SAVED_ORDERS.size()) {
+                throw new IOException("Unknown smart playlist order: " + order);
+            }
+            playlist.sortBy(SmartPlaylist.SAVED_ORDERS.get(order));
+            int limit = readVarInt(in) - 1;
+            if (limit >= 0) {
+                playlist.limit(limit);
+            }
+            library.addSmartPlaylist(playlist);
+        }
+    }
+
+    // writes the IDs of the given songs, skipping any song that is not in the library
+    private static void writeSongIds(DataOutput out, List<Song> list, Map<Song, Integer> songIds) throws IOException {
+        List<Integer> ids = new ArrayList<>(list.size());
+        for (Song song : list) {
+            Integer id = songIds.get(song);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        writeVarInt(out, ids.size());
+        for (int id : ids) {
+            writeVarInt(out, id);
+        }
+    }
+
+    private static List<Song> readSongIds(DataInput in, Song[] songs) throws IOException {
+        int count = readVarInt(in);
+        List<Song> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int id = readVarInt(in);
+            if (id >= songs.length) {
+                throw new IOException("Song ID out of range: " + id);
+            }
+            result.add(songs[id]);
+        }
+        return result;
+    }
+
+    private static String string(String[] strings, DataInput in) throws IOException {
+        int id = readVarInt(in);
+        if (id >= strings.length) {
+            throw new IOException("String ID out of range: " + id);
+        }
+        return strings[id];
+    }
+
+    /**
+     * Deduplicating string table: each distinct string gets the next ID on first use.
+     */
+    private static class StringTable {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int id(String value) {
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = values.size();
+                ids.put(value, id);
+                values.add(value);
+            }
+            return id;
+        }
+    }
+}
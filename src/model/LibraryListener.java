@@ -0,0 +1,32 @@
+package model;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This interface is notified when songs in a LibraryModel change, so
+ * derived views such as smart playlists can update themselves one song at a time instead of
+ * rescanning the library. Listeners are called after the change has been applied. Every
+ * method does nothing by default, so a listener only overrides the events it needs.
+ */
+public interface LibraryListener {
+
+    /**
+     * @param song - A song that was just added to the library.
+     */
+    default void songAdded(Song song) {
+    }
+
+    /**
+     * @param song - A song whose rating or favorite flag just changed.
+     */
+    default void songUpdated(Song song) {
+    }
+
+    /**
+     * @param song - A song that was just played. Its play count is already updated.
+     */
+    default void songPlayed(Song song) {
+    }
+}
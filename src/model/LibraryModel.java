@@ -1,6 +1,8 @@
 package model;
 
+import java.time.Clock;
 import java.util.*;
+import java.util.stream.Stream;
 
 /**
  * Author: Asifur Rahman
@@ -15,6 +17,9 @@ import java.util.*;
  * Now it also supports how often each song is played.
  * Two speical lists one for 10 most recently played songs and one for 10 most
  * frequently played song. 
+ * 
+ * Songs per genre, songs per artist and albums per artist are counted as items are added,
+ * so faceted views never need to scan the library.
  */
 public class LibraryModel {
 	
@@ -24,6 +29,27 @@ public class LibraryModel {
 		private Map<String, Playlist> playlists;
 		private Set<Song> favorites;
 		
+		// lookup indexes keyed by lower-case title, artist and album title
+		private Map<String, List<Song>> titleIndex;
+		private Map<String, List<Song>> artistIndex;
+		private Map<String, List<Song>> albumIndex;
+		
+		// facet counts, updated as songs and albums are added
+		private FacetCounts artistSongCounts;
+		private FacetCounts artistAlbumCounts;
+		private FacetCounts genreSongCounts;
+		// genre of each song that came in with an album
+		private Map<Song, String> songGenres;
+		
+		// notified after songs are added, rated, favorited or played
+		private List<LibraryListener> listeners;
+		// rule-based playlists kept up to date through the listeners
+		private Map<String, SmartPlaylist> smartPlaylists;
+		// timestamped log of every play, with hourly and daily rollups
+		private PlayHistory playHistory;
+		// bumped on every change listeners hear about, so caches can tell the library changed
+		private long version;
+		
 		// New fields for play tracking
 	    private LinkedList<Song> recentPlays; // Tracks the most recent plays in order
 	    private static final int MAX_PLAYS = 10; // Maximum number of songs in play lists
@@ -32,18 +58,62 @@ public class LibraryModel {
 	     * Constructs a new, empty LibraryModel.
 	     */
 		public LibraryModel() {
-			songs = new HashSet<>();
-			albums = new HashSet<>();
-			playlists = new HashMap<>();
-			favorites = new HashSet<>();
+			// insertion-ordered so listings and pages keep a stable order
+			songs = new LinkedHashSet<>();
+			albums = new LinkedHashSet<>();
+			playlists = new LinkedHashMap<>();
+			favorites = new LinkedHashSet<>();
 			recentPlays = new LinkedList<>();
+			titleIndex = new HashMap<>();
+			artistIndex = new HashMap<>();
+			albumIndex = new HashMap<>();
+			artistSongCounts = new FacetCounts();
+			artistAlbumCounts = new FacetCounts();
+			genreSongCounts = new FacetCounts();
+			songGenres = new HashMap<>();
+			listeners = new ArrayList<>();
+			smartPlaylists = new LinkedHashMap<>();
+			playHistory = new PlayHistory(Clock.systemUTC());
+			listeners.add(playHistory);
 		}
 		
 		public boolean addSong(Song song) {
 			boolean added = songs.add(song);
+			if (added) {
+				index(titleIndex, song.getTitle(), song);
+				index(artistIndex, song.getArtist(), song);
+				index(albumIndex, song.getAlbumTitle(), song);
+				artistSongCounts.add(song.getArtist());
+				version++;
+				for (LibraryListener listener : listeners) {
+					listener.songAdded(song);
+				}
+			}
 			return added;
 		}
 		
+		private static void index(Map<String, List<Song>> index, String key, Song song) {
+			index.computeIfAbsent(key.toLowerCase(Locale.ROOT), k -> new ArrayList<>(1)).add(song);
+		}
+		
+		private static List<Song> lookup(Map<String, List<Song>> index, String key) {
+			List<Song> hits = index.get(key.toLowerCase(Locale.ROOT));
+			return hits == null ? Collections.emptyList() : Collections.unmodifiableList(hits);
+		}
+		
+		// index lookups used by SongQuery; the lists are read-only views
+		List<Song> songsWithTitle(String title) {
+			return lookup(titleIndex, title);
+		}
+		
+		List<Song> songsByArtist(String artist) {
+			return lookup(artistIndex, artist);
+		}
+		
+		List<Song> songsOnAlbum(String albumTitle) {
+			return lookup(albumIndex, albumTitle);
+		}
+		
 		/**
 	     * This class adds a song to the library.
 	     * 
@@ -53,13 +123,51 @@ public class LibraryModel {
 		public boolean addAlbum(Album album) {
 			boolean addedAlbum = albums.add(album);
 			if (addedAlbum) {
+				artistAlbumCounts.add(album.getArtist());
 				for (Song song : album.getSongs() ) {
+					// the genre is recorded first so listeners can see it
+					if (!songGenres.containsKey(song)) {
+						songGenres.put(song, album.getGenre());
+						genreSongCounts.add(album.getGenre());
+					}
 					addSong(song);
 				}
 			}
 			return addedAlbum;
 		}
 		
+		/**
+	     * Adds many songs in one call, skipping songs already in the library.
+	     * 
+	     * @param batch - The songs to add.
+	     * @return The number of songs added.
+	     */
+		public int addSongs(Collection<Song> batch) {
+			int added = 0;
+			for (Song song : batch) {
+				if (addSong(song)) {
+					added++;
+				}
+			}
+			return added;
+		}
+		
+		/**
+	     * Adds many albums and their songs in one call, skipping albums already in the library.
+	     * 
+	     * @param batch - The albums to add.
+	     * @return The number of albums added.
+	     */
+		public int addAlbums(Collection<Album> batch) {
+			int added = 0;
+			for (Album album : batch) {
+				if (addAlbum(album)) {
+					added++;
+				}
+			}
+			return added;
+		}
+		
 		/**
 	     * This class marks a song as a favorite.
 	     * And adds the song to the favorites collection and sets its favorite flag.
@@ -69,6 +177,10 @@ public class LibraryModel {
 		public void markFavorite(Song song) {
 			favorites.add(song);
 			song.setFavorite(true);
+			version++;
+			for (LibraryListener listener : listeners) {
+				listener.songUpdated(song);
+			}
 		}
 		
 		/**
@@ -81,6 +193,11 @@ public class LibraryModel {
 			song.setRating(rating);
 			if (rating == 5) {
 				markFavorite(song);
+			} else {
+				version++;
+				for (LibraryListener listener : listeners) {
+					listener.songUpdated(song);
+				}
 			}
 		}
 		
@@ -91,13 +208,18 @@ public class LibraryModel {
 	     * @return - A list of Song objects that match the given title.
 	     */
 		public List<Song> searchSongByTitle(String title) {
-			List<Song> result = new ArrayList<>();
-			for (Song song : songs) {
-				if (song.getTitle().equalsIgnoreCase(title)) {
-					result.add(song);
-				}
-			}
-			return result;
+			return new ArrayList<>(songsWithTitle(title));
+		}
+		
+		/**
+	     * Runs a combined song query against the library. The query starts from its most
+	     * selective index and filters lazily (see SongQuery).
+	     * 
+	     * @param query - The query to run.
+	     * @return A lazy stream of matching songs.
+	     */
+		public Stream<Song> query(SongQuery query) {
+			return query.run(this);
 		}
 		
 		/**
@@ -124,6 +246,58 @@ public class LibraryModel {
 			return playlists.get(name);
 		}
 		
+		/**
+	     * Registers a listener for song changes in this library.
+	     * 
+	     * @param listener - The listener to notify.
+	     */
+		public void addListener(LibraryListener listener) {
+			listeners.add(listener);
+		}
+		
+		public void removeListener(LibraryListener listener) {
+			listeners.remove(listener);
+		}
+		
+		/**
+	     * Adds a smart playlist. Its members are computed once from the current songs and
+	     * then kept up to date as songs are added, rated, favorited or played.
+	     * 
+	     * @param playlist - The smart playlist to add.
+	     * @return true if it was added, false if one with that name already exists.
+	     */
+		public boolean addSmartPlaylist(SmartPlaylist playlist) {
+			if (smartPlaylists.containsKey(playlist.getName())) {
+				return false;
+			}
+			playlist.attach(this);
+			smartPlaylists.put(playlist.getName(), playlist);
+			listeners.add(playlist);
+			return true;
+		}
+		
+		public SmartPlaylist getSmartPlaylist(String name) {
+			return smartPlaylists.get(name);
+		}
+		
+		public Collection<SmartPlaylist> getSmartPlaylists() {
+			return Collections.unmodifiableCollection(smartPlaylists.values());
+		}
+		
+		/**
+	     * @return A counter that changes whenever a song is added, rated, favorited or played.
+	     */
+		public long getVersion() {
+			return version;
+		}
+		
+		/**
+	     * @return The timestamped log of this library's plays.
+	     */
+		public PlayHistory getPlayHistory() {
+			return playHistory;
+		}
+		
 		public Set<Song> getSongs() {
 			return songs;
 		}
@@ -140,6 +314,70 @@ public class LibraryModel {
 			return favorites;
 		}
 		
+		/**
+	     * Returns the genre of a song, taken from the album it was added with.
+	     * 
+	     * @param song - A song in the library.
+	     * @return The genre, or null if the song was not added as part of an album.
+	     */
+		public String getGenre(Song song) {
+			return songGenres.get(song);
+		}
+		
+		/**
+	     * @return The number of songs per genre, for songs added as part of an album.
+	     */
+		public FacetCounts getGenreCounts() {
+			return genreSongCounts;
+		}
+		
+		/**
+	     * @return The number of songs per artist.
+	     */
+		public FacetCounts getArtistCounts() {
+			return artistSongCounts;
+		}
+		
+		/**
+	     * @return The number of albums per artist.
+	     */
+		public FacetCounts getArtistAlbumCounts() {
+			return artistAlbumCounts;
+		}
+		
+		/**
+	     * Streams a window of the library's songs in the order they were added.
+	     * 
+	     * @param offset - The number of songs to skip.
+	     * @param limit - The maximum number of songs to return.
+	     * @return A lazy stream over the requested songs.
+	     */
+		public Stream<Song> streamSongs(long offset, long limit) {
+			return songs.stream().skip(offset).limit(limit);
+		}
+		
+		/**
+	     * Streams a window of the library's albums in the order they were added.
+	     * 
+	     * @param offset - The number of albums to skip.
+	     * @param limit - The maximum number of albums to return.
+	     * @return A lazy stream over the requested albums.
+	     */
+		public Stream<Album> streamAlbums(long offset, long limit) {
+			return albums.stream().skip(offset).limit(limit);
+		}
+		
+		/**
+	     * Returns one page of the library's songs in the order they were added.
+	     * 
+	     * @param offset - The number of songs to skip.
+	     * @param size - The page size.
+	     * @return The page.
+	     */
+		public Page<Song> getSongPage(long offset, int size) {
+			return Page.of(songs.stream(), offset, size);
+		}
+		
 	    /**
 	     * Simulates playing a song by incrementing its play count and updating the recent plays list.
 	     * @param song - The Song object to play.
@@ -148,6 +386,10 @@ public class LibraryModel {
 	        if (song != null && songs.contains(song)) {
 	            song.incrementPlayCount();
 	            updateRecentPlays(song);
+	            version++;
+	            for (LibraryListener listener : listeners) {
+	                listener.songPlayed(song);
+	            }
 	        }
 	    }
 
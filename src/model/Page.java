@@ -0,0 +1,73 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This class is one page of search or listing results: the items, the
+ * offset of the first item, and whether more results follow. A page is cut from a lazy
+ * stream, so only the items on the page (plus one to detect a next page) are pulled from
+ * the source, however large the full result is. Sources must have a stable order for
+ * consecutive pages to line up. The library and the catalog both do.
+ */
+public final class Page<T> {
+
+    private final List<T> items;
+    private final long offset;
+    private final boolean hasMore;
+
+    private Page(List<T> items, long offset, boolean hasMore) {
+        this.items = Collections.unmodifiableList(items);
+        this.offset = offset;
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Cuts one page out of an ordered stream of results.
+     *
+     * @param results - The full, ordered results.
+     * @param offset - The number of results to skip.
+     * @param size - The maximum number of items on the page.
+     * @return The page.
+     */
+    public static <T> Page<T> of(Stream<T> results, long offset, int size) {
+        if (offset < 0 || size < 1) {
+            throw new IllegalArgumentException("offset must be >= 0 and size >= 1");
+        }
+        Iterator<T> cursor = results.skip(offset).iterator();
+        List<T> items = new ArrayList<>(Math.min(size, 64));
+        while (items.size() < size && cursor.hasNext()) {
+            items.add(cursor.next());
+        }
+        return new Page<>(items, offset, cursor.hasNext());
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return true if at least one more result follows this page.
+     */
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    /**
+     * @return The offset to request for the next page.
+     */
+    public long nextOffset() {
+        return offset + items.size();
+    }
+}
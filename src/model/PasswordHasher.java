@@ -0,0 +1,224 @@
+package model;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Arrays;
+import java.util.Base64;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This class hashes and checks passwords with PBKDF2 (HMAC-SHA256). The
+ * work factor is the iteration count. It is stored in each hash, so it can be raised later
+ * without breaking existing accounts:
+ *
+ *   pbkdf2$<iterations>$<64 hex digits>
+ *
+ * Hashes from older versions, a bare 64-digit hex SHA-256 of password + salt, are still
+ * accepted. needsRehash reports them, and those with a lower work factor, so that they can be
+ * upgraded after a successful login.
+ *
+ * Every thread keeps its own SecretKeyFactory and MessageDigest, so a login never looks up a
+ * provider. One SecureRandom is shared for salts. Hex digits come from a lookup table, and a
+ * check compares the derived bytes with the stored hex digits in place, in constant time,
+ * without decoding the stored hash.
+ */
+public class PasswordHasher {
+
+    // iterations for new hashes unless configured otherwise
+    public static final int DEFAULT_ITERATIONS = 100_000;
+
+    // system property that overrides the default work factor
+    public static final String ITERATIONS_PROPERTY = "musiclibrary.pbkdf2.iterations";
+
+    static final String PREFIX = "pbkdf2$";
+
+    private static final int SALT_BYTES = 16;
+    private static final int KEY_BITS = 256;
+    private static final int LEGACY_LENGTH = 64;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final ThreadLocal<SecretKeyFactory> KDF = ThreadLocal.withInitial(() -> {
+        try {
+            return SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("PBKDF2 is not available", e);
+        }
+    });
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private static final PasswordHasher DEFAULT = new PasswordHasher(configuredIterations());
+
+    private final int iterations;
+
+    /**
+     * @param iterations - The PBKDF2 iteration count for new hashes.
+     */
+    public PasswordHasher(int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Iterations must be positive: " + iterations);
+        }
+        this.iterations = iterations;
+    }
+
+    /**
+     * @return The shared hasher, using DEFAULT_ITERATIONS or the ITERATIONS_PROPERTY setting.
+     */
+    public static PasswordHasher getDefault() {
+        return DEFAULT;
+    }
+
+    private static int configuredIterations() {
+        try {
+            return Math.max(1, Integer.parseInt(System.getProperty(ITERATIONS_PROPERTY, "")));
+        } catch (NumberFormatException e) {
+            return DEFAULT_ITERATIONS;
+        }
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * @return A new random salt, Base64 encoded.
+     */
+    public static String newSalt() {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        return Base64.getEncoder().encodeToString(salt);
+    }
+
+    /**
+     * Hashes a password with this hasher's work factor.
+     *
+     * @param password - The password.
+     * @param salt - The user's salt.
+     * @return The hash in the pbkdf2$ format.
+     */
+    public String hash(String password, String salt) {
+        byte[] key = derive(password, salt, iterations);
+        String digits = Integer.toString(iterations);
+        char[] out = new char[PREFIX.length() + digits.length() + 1 + key.length * 2];
+        PREFIX.getChars(0, PREFIX.length(), out, 0);
+        int at = PREFIX.length();
+        digits.getChars(0, digits.length(), out, at);
+        at += digits.length();
+        out[at++] = '$';
+        for (byte b : key) {
+            out[at++] = HEX[(b >> 4) & 0xf];
+            out[at++] = HEX[b & 0xf];
+        }
+        return new String(out);
+    }
+
+    /**
+     * Checks a password against a stored hash in either format.
+     *
+     * @param password - The password to check.
+     * @param salt - The user's salt.
+     * @param stored - The stored hash.
+     * @return true if the password matches.
+     */
+    public boolean verify(String password, String salt, String stored) {
+        if (stored == null) {
+            return false;
+        }
+        if (stored.startsWith(PREFIX)) {
+            int split = stored.indexOf('$', PREFIX.length());
+            int storedIterations = parseIterations(stored, split);
+            if (storedIterations < 1) {
+                return false;
+            }
+            return matches(derive(password, salt, storedIterations), stored, split + 1);
+        }
+        if (stored.length() == LEGACY_LENGTH) {
+            MessageDigest digest = SHA256.get();
+            byte[] hash = digest.digest((password + salt).getBytes());
+            return matches(hash, stored, 0);
+        }
+        return false;
+    }
+
+    /**
+     * @param stored - A stored hash.
+     * @return true if the hash uses the old format or fewer iterations than this hasher.
+     */
+    public boolean needsRehash(String stored) {
+        if (stored == null || !stored.startsWith(PREFIX)) {
+            return true;
+        }
+        return parseIterations(stored, stored.indexOf('$', PREFIX.length())) < iterations;
+    }
+
+    private static int parseIterations(String stored, int split) {
+        if (split < 0) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = PREFIX.length(); i < split; i++) {
+            char c = stored.charAt(i);
+            if (c < '0' || c > '9' || value > (Integer.MAX_VALUE - 9) / 10) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static byte[] derive(String password, String salt, int iterations) {
+        char[] chars = password.toCharArray();
+        PBEKeySpec spec = new PBEKeySpec(chars, salt.getBytes(StandardCharsets.UTF_8), iterations, KEY_BITS);
+        try {
+            return KDF.get().generateSecret(spec).getEncoded();
+        } catch (InvalidKeySpecException e) {
+            throw new IllegalStateException("Could not hash password", e);
+        } finally {
+            spec.clearPassword();
+            Arrays.fill(chars, '\0');
+        }
+    }
+
+    // compares bytes with lower- or upper-case hex digits starting at 'from', in constant time
+    private static boolean matches(byte[] hash, String stored, int from) {
+        if (stored.length() - from != hash.length * 2) {
+            return false;
+        }
+        int diff = 0;
+        for (int i = 0; i < hash.length; i++) {
+            diff |= (hash[i] & 0xff) ^ ((hexValue(stored.charAt(from + 2 * i)) << 4)
+                    | hexValue(stored.charAt(from + 2 * i + 1)));
+        }
+        return diff == 0;
+    }
+
+    // value of a hex digit, or a value no byte can match
+    private static int hexValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return 0x100;
+    }
+}
@@ -0,0 +1,236 @@
+package model;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This class is an append-only log of play events for one library. Each
+ * event is a track ID and a time in epoch seconds, stored in two growing primitive arrays. The
+ * track ID is the song's position in this log's own track table.
+ *
+ * Every event is also added to hourly and daily rollups, which count plays per track in each
+ * UTC hour and day. Windowed questions such as "top songs this week" or "listening time today"
+ * are answered from the rollups. Whole days use the daily buckets and the ragged ends use
+ * hourly ones, so a query never rescans the raw events. Windows are widened to whole hours.
+ *
+ * Songs carry no duration, so listening time is estimated as plays times
+ * NOMINAL_TRACK_SECONDS. The history listens to its library's playSong events, and
+ * LibraryCodec persists the raw events with the library. The rollups are rebuilt on load.
+ */
+public class PlayHistory implements LibraryListener {
+
+    // assumed length of one play, since songs carry no duration
+    public static final int NOMINAL_TRACK_SECONDS = 210;
+
+    private static final long HOUR = 3600;
+    private static final long HOURS_PER_DAY = 24;
+
+    private final Clock clock;
+
+    // track table: ID -> song, song -> ID
+    private final List<Song> tracks = new ArrayList<>();
+    private final Map<Song, Integer> trackIds = new HashMap<>();
+
+    // the raw events, in the order they were recorded
+    private int[] eventTracks = new int[64];
+    private long[] eventTimes = new long[64];
+    private int size;
+
+    // plays per track, by UTC hour and by UTC day since the epoch
+    private final Map<Long, Rollup> hourly = new HashMap<>();
+    private final Map<Long, Rollup> daily = new HashMap<>();
+
+    /**
+     * Creates an empty history that timestamps plays with the given clock.
+     *
+     * @param clock - The clock for plays recorded without an explicit time.
+     */
+    public PlayHistory(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public void songPlayed(Song song) {
+        record(song);
+    }
+
+    /**
+     * Records a play of a song now.
+     *
+     * @param song - The song that was played.
+     */
+    public void record(Song song) {
+        record(song, clock.instant().getEpochSecond());
+    }
+
+    /**
+     * Records a play of a song at a given time.
+     *
+     * @param song - The song that was played.
+     * @param epochSeconds - When it was played, in seconds since the epoch.
+     */
+    public void record(Song song, long epochSeconds) {
+        Integer id = trackIds.get(song);
+        if (id == null) {
+            id = tracks.size();
+            tracks.add(song);
+            trackIds.put(song, id);
+        }
+        if (size == eventTracks.length) {
+            eventTracks = Arrays.copyOf(eventTracks, size * 2);
+            eventTimes = Arrays.copyOf(eventTimes, size * 2);
+        }
+        eventTracks[size] = id;
+        eventTimes[size] = epochSeconds;
+        size++;
+
+        long hour = Math.floorDiv(epochSeconds, HOUR);
+        hourly.computeIfAbsent(hour, h -> new Rollup()).add(id);
+        daily.computeIfAbsent(Math.floorDiv(hour, HOURS_PER_DAY), d -> new Rollup()).add(id);
+    }
+
+    /**
+     * @return The number of recorded plays.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index - An event position, from 0 to size() - 1.
+     * @return The song played in that event.
+     */
+    public Song songAt(int index) {
+        checkIndex(index);
+        return tracks.get(eventTracks[index]);
+    }
+
+    /**
+     * @param index - An event position, from 0 to size() - 1.
+     * @return When that event happened, in seconds since the epoch.
+     */
+    public long timeAt(int index) {
+        checkIndex(index);
+        return eventTimes[index];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Event " + index + " of " + size);
+        }
+    }
+
+    /**
+     * Finds the most played songs in a time window.
+     *
+     * @param from - Start of the window in epoch seconds, rounded down to the hour.
+     * @param to - End of the window in epoch seconds, exclusive, rounded up to the hour.
+     * @param k - The maximum number of songs.
+     * @return Up to k songs with their play counts in the window, most played first.
+     */
+    public List<Map.Entry<Song, Integer>> topSongs(long from, long to, int k) {
+        Map<Integer, Integer> plays = new HashMap<>();
+        for (Rollup rollup : rollups(from, to)) {
+            for (Map.Entry<Integer, Integer> entry : rollup.plays.entrySet()) {
+                plays.merge(entry.getKey(), entry.getValue(), Integer::sum);
+            }
+        }
+        List<Map.Entry<Integer, Integer>> ranked = new ArrayList<>(plays.entrySet());
+        // most plays first; ties go to the song first played earliest
+        ranked.sort((a, b) -> {
+            int byPlays = Integer.compare(b.getValue(), a.getValue());
+            return byPlays != 0 ? byPlays : Integer.compare(a.getKey(), b.getKey());
+        });
+        List<Map.Entry<Song, Integer>> result = new ArrayList<>();
+        for (int i = 0; i < ranked.size() && i < k; i++) {
+            result.add(Map.entry(tracks.get(ranked.get(i).getKey()), ranked.get(i).getValue()));
+        }
+        return result;
+    }
+
+    /**
+     * Finds the most played songs over a recent period, for example the last seven days.
+     *
+     * @param window - How far back to look from now.
+     * @param k - The maximum number of songs.
+     * @return Up to k songs with their play counts, most played first.
+     */
+    public List<Map.Entry<Song, Integer>> topSongs(Duration window, int k) {
+        long now = clock.instant().getEpochSecond();
+        return topSongs(now - window.getSeconds(), now + 1, k);
+    }
+
+    /**
+     * @param from - Start of the window in epoch seconds, rounded down to the hour.
+     * @param to - End of the window in epoch seconds, exclusive, rounded up to the hour.
+     * @return The number of plays in the window.
+     */
+    public int playCount(long from, long to) {
+        int total = 0;
+        for (Rollup rollup : rollups(from, to)) {
+            total += rollup.total;
+        }
+        return total;
+    }
+
+    /**
+     * @param from - Start of the window in epoch seconds, rounded down to the hour.
+     * @param to - End of the window in epoch seconds, exclusive, rounded up to the hour.
+     * @return The estimated listening time in the window, in seconds.
+     */
+    public long listeningSeconds(long from, long to) {
+        return (long) playCount(from, to) * NOMINAL_TRACK_SECONDS;
+    }
+
+    /**
+     * @param window - How far back to look from now.
+     * @return The estimated listening time over that period, in seconds.
+     */
+    public long listeningSeconds(Duration window) {
+        long now = clock.instant().getEpochSecond();
+        return listeningSeconds(now - window.getSeconds(), now + 1);
+    }
+
+    // the buckets covering a window: whole days from the daily rollup, edges from the hourly one
+    private List<Rollup> rollups(long from, long to) {
+        List<Rollup> buckets = new ArrayList<>();
+        long hour = Math.floorDiv(from, HOUR);
+        long end = -Math.floorDiv(-to, HOUR);
+        while (hour < end) {
+            Rollup bucket;
+            if (Math.floorMod(hour, HOURS_PER_DAY) == 0 && hour + HOURS_PER_DAY <= end) {
+                bucket = daily.get(hour / HOURS_PER_DAY);
+                hour += HOURS_PER_DAY;
+            } else {
+                bucket = hourly.get(hour);
+                hour++;
+            }
+            if (bucket != null) {
+                buckets.add(bucket);
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Plays per track within one hour or one day.
+     */
+    private static class Rollup {
+        private final Map<Integer, Integer> plays = new HashMap<>();
+        private int total;
+
+        void add(int track) {
+            plays.merge(track, 1, Integer::sum);
+            total++;
+        }
+    }
+}
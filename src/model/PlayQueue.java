@@ -0,0 +1,326 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This class is a play queue over a playlist, an album or the whole
+ * library, with in-order, shuffled and weighted playback and three repeat modes. Every song the
+ * queue plays goes through LibraryModel.playSong, so play counts, recent plays and library
+ * listeners stay up to date.
+ *
+ * The queue never copies its source. Shuffle is a lazy Fisher-Yates shuffle. Each call to next
+ * draws one more position and records the swap in a sparse map, so starting a shuffle costs
+ * O(1) and each song costs O(1), even for a huge playlist. Weighted shuffle, by rating or by
+ * play count, builds an alias table once in O(n). After that, each draw is O(1) and a song's
+ * chance is proportional to its weight; unlike the plain shuffle, a song may come up again.
+ * Played positions are kept in a history array, so previous and replayed next calls are O(1).
+ *
+ * The source is read by position when each song is drawn. If it shrinks while the queue
+ * runs, positions past its end are skipped. With repeat all, each new round reads the
+ * source's size again; call restart to pick up a changed source right away.
+ */
+public final class PlayQueue {
+
+    /**
+     * How the next song is chosen.
+     */
+    public enum Mode {
+        IN_ORDER, SHUFFLE, BY_RATING, BY_PLAYS
+    }
+
+    /**
+     * What happens after the last song: stop, start over, or play the current song again.
+     */
+    public enum Repeat {
+        OFF, ALL, ONE
+    }
+
+    // draws before giving up on avoiding an immediate repeat in weighted mode
+    private static final int REDRAWS = 3;
+
+    private final LibraryModel library;
+    private final List<Song> source;
+    private final Mode mode;
+    private final Random random;
+    private Repeat repeat;
+
+    private int size;
+    // positions drawn in the current round, and whether any of them was played
+    private int drawn;
+    private boolean playedThisRound;
+    // lazy Fisher-Yates: slot -> position, only for slots that were swapped
+    private final Map<Integer, Integer> swaps = new HashMap<>();
+    // alias table for the weighted modes
+    private double[] chance;
+    private int[] alias;
+
+    // positions played so far, and the cursor into them
+    private int[] history = new int[16];
+    private int historySize;
+    private int cursor = -1;
+
+    /**
+     * Creates a queue with repeat off.
+     *
+     * @param library - The library whose play accounting is updated.
+     * @param source - The songs to play, for example Playlist.getSongs() or Album.getSongs().
+     * @param mode - How the next song is chosen.
+     */
+    public PlayQueue(LibraryModel library, List<Song> source, Mode mode) {
+        this(library, source, mode, Repeat.OFF, new Random());
+    }
+
+    /**
+     * Creates a queue.
+     *
+     * @param library - The library whose play accounting is updated.
+     * @param source - The songs to play.
+     * @param mode - How the next song is chosen.
+     * @param repeat - What happens after the last song.
+     * @param random - The random source for shuffles.
+     */
+    public PlayQueue(LibraryModel library, List<Song> source, Mode mode, Repeat repeat, Random random) {
+        this.library = library;
+        this.source = source;
+        this.mode = mode;
+        this.repeat = repeat;
+        this.random = random;
+        restart();
+    }
+
+    /**
+     * Creates an in-order queue over every song in the library. The library's songs are kept
+     * in a set, so this is the one source that is copied, once, into a list of references.
+     *
+     * @param library - The library to play.
+     * @param mode - How the next song is chosen.
+     * @return The queue.
+     */
+    public static PlayQueue forLibrary(LibraryModel library, Mode mode) {
+        return new PlayQueue(library, new ArrayList<>(library.getSongs()), mode);
+    }
+
+    /**
+     * Starts the queue over from the beginning of the source, reading its current size.
+     */
+    public void restart() {
+        size = source.size();
+        drawn = 0;
+        playedThisRound = false;
+        swaps.clear();
+        historySize = 0;
+        cursor = -1;
+        if (mode == Mode.BY_RATING || mode == Mode.BY_PLAYS) {
+            buildAliasTable();
+        }
+    }
+
+    public void setRepeat(Repeat repeat) {
+        this.repeat = repeat;
+    }
+
+    public Repeat getRepeat() {
+        return repeat;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return The song that was played last, or null if nothing has been played.
+     */
+    public Song current() {
+        return cursor < 0 ? null : songAt(history[cursor]);
+    }
+
+    /**
+     * @return true if next would play a song.
+     */
+    public boolean hasNext() {
+        if (size == 0 || source.isEmpty()) {
+            return false;
+        }
+        if (repeat != Repeat.OFF && cursor >= 0) {
+            return true;
+        }
+        return cursor + 1 < historySize || drawn < size;
+    }
+
+    /**
+     * Plays the next song.
+     *
+     * @return The song played, or null at the end of the queue.
+     */
+    public Song next() {
+        if (repeat == Repeat.ONE && cursor >= 0) {
+            return play(history[cursor]);
+        }
+        if (cursor + 1 < historySize) {
+            cursor++;
+            return play(history[cursor]);
+        }
+        while (true) {
+            if (drawn == size) {
+                // a round in which every position was gone would repeat forever
+                if (repeat != Repeat.ALL || size == 0 || !playedThisRound) {
+                    return null;
+                }
+                startRound();
+                if (size == 0) {
+                    return null;
+                }
+            }
+            int position = draw();
+            // a source that shrank no longer has this position
+            if (position < source.size()) {
+                playedThisRound = true;
+                record(position);
+                return play(position);
+            }
+        }
+    }
+
+    // starts the next repeat round over the source as it is now
+    private void startRound() {
+        int current = source.size();
+        if (current != size) {
+            size = current;
+            if (mode == Mode.BY_RATING || mode == Mode.BY_PLAYS) {
+                buildAliasTable();
+            }
+        }
+        drawn = 0;
+        playedThisRound = false;
+        swaps.clear();
+    }
+
+    /**
+     * Plays the song before the current one again.
+     *
+     * @return The song played, or null if the current song is the first.
+     */
+    public Song previous() {
+        if (cursor <= 0) {
+            return null;
+        }
+        cursor--;
+        return play(history[cursor]);
+    }
+
+    // picks the next position for the current mode
+    private int draw() {
+        int position;
+        if (mode == Mode.IN_ORDER) {
+            position = drawn;
+        } else if (mode == Mode.SHUFFLE) {
+            // swap a random remaining slot into slot 'drawn' without touching the others
+            int pick = drawn + random.nextInt(size - drawn);
+            position = slot(pick);
+            swaps.put(pick, slot(drawn));
+        } else {
+            position = sample();
+            int last = cursor >= 0 ? history[cursor] : -1;
+            for (int i = 0; i < REDRAWS && position == last && size > 1; i++) {
+                position = sample();
+            }
+        }
+        drawn++;
+        return position;
+    }
+
+    private int slot(int index) {
+        Integer swapped = swaps.get(index);
+        return swapped == null ? index : swapped;
+    }
+
+    private int sample() {
+        int column = random.nextInt(size);
+        return random.nextDouble() < chance[column] ? column : alias[column];
+    }
+
+    // Vose's alias method: every column holds its own share and one other position's rest
+    private void buildAliasTable() {
+        chance = new double[size];
+        alias = new int[size];
+        double[] scaled = new double[size];
+        double total = 0;
+        Iterator<Song> songs = source.iterator();
+        for (int i = 0; i < size && songs.hasNext(); i++) {
+            scaled[i] = weight(songs.next());
+            total += scaled[i];
+        }
+        if (total <= 0) {
+            Arrays.fill(chance, 1.0);
+            return;
+        }
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < size; i++) {
+            scaled[i] = scaled[i] * size / total;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            chance[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        while (largeCount > 0) {
+            chance[large[--largeCount]] = 1.0;
+        }
+        while (smallCount > 0) {
+            chance[small[--smallCount]] = 1.0;
+        }
+    }
+
+    // unrated songs count as an average rating; every song keeps some chance
+    private double weight(Song song) {
+        if (mode == Mode.BY_RATING) {
+            return song.getRating() == 0 ? 3 : song.getRating();
+        }
+        return 1 + song.getPlayCount();
+    }
+
+    private void record(int position) {
+        if (historySize == history.length) {
+            history = Arrays.copyOf(history, historySize * 2);
+        }
+        history[historySize++] = position;
+        cursor = historySize - 1;
+    }
+
+    private Song songAt(int position) {
+        return position < source.size() ? source.get(position) : null;
+    }
+
+    private Song play(int position) {
+        Song song = songAt(position);
+        if (song != null) {
+            library.playSong(song);
+        }
+        return song;
+    }
+}
@@ -1,33 +1,61 @@
 package model;
 
+import java.util.AbstractList;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
 
 
 /**
  * Author: Asifur Rahman
  * Date: February 28, 2025
  * Course: CSc 335
- * 
+ *
  * Program Description: This class represents a user-created playlist in the music library.
  * Playlist has a name and an ordered list of songs. Songs can be added or removed,
  * allowing the user to customize their playlist.
+ *
+ * A song appears in a playlist at most once. The songs are kept in an implicit treap, a
+ * balanced tree ordered by position where each node knows the size of its subtree, and a
+ * map from each song to its node. Membership checks take O(1). Inserting, removing or moving
+ * a song by position, and finding a song's position, take O(log n) expected, so very long
+ * playlists stay quick to edit. Bulk adds build the new part of the tree in linear time
+ * before joining it on.
  */
 
 public class Playlist {
     // private fields
     private String name;
-    private List<Song> songs;
+    // root of the treap; an in-order walk gives the playlist order
+    private Node root;
+    // node of each song, for O(1) membership and O(log n) position lookups
+    private final Map<Song, Node> nodes;
+    private final Random random;
+    private final SongList view;
+    // bumped on every change so iterators can detect concurrent edits
+    private int edits;
 
     /**
      * This constructs a new Playlist with the specified name.
-     * and initializes the songs list as an empty ArrayList.
-     * 
+     * and starts with no songs.
+     *
      * @param name - The name of the playlist.
      */
     public Playlist(String name) {
         this.name = name;
-        this.songs = new ArrayList<>();
+        this.nodes = new HashMap<>();
+        this.random = new Random();
+        this.view = new SongList();
     }
 
     // getter methods
@@ -35,15 +63,412 @@ public class Playlist {
         return name;
     }
 
+    /**
+     * @return A counter that changes whenever a song is added, removed or moved.
+     */
+    public int getEdits() {
+        return edits;
+    }
+
+    /**
+     * @return The songs in order, as a read-only view. get(i) takes O(log n) and iterating
+     *         takes O(n).
+     */
     public List<Song> getSongs() {
-        return songs;
+        return view;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * @param song - The song to look for.
+     * @return true if the song is in the playlist.
+     */
+    public boolean contains(Song song) {
+        return nodes.containsKey(song);
+    }
+
+    /**
+     * @param song - The song to look for.
+     * @return The song's position, or -1 if it is not in the playlist.
+     */
+    public int indexOf(Song song) {
+        Node node = nodes.get(song);
+        return node == null ? -1 : position(node);
+    }
+
+    /**
+     * Adds a song to the end of the playlist.
+     *
+     * @param song - The song to add.
+     * @return true if it was added, false if it was already in the playlist.
+     */
+    public boolean addSong(Song song) {
+        return insertSong(size(), song);
+    }
+
+    /**
+     * Inserts a song at a position, shifting later songs back.
+     *
+     * @param index - The position, from 0 to size().
+     * @param song - The song to insert.
+     * @return true if it was inserted, false if it was already in the playlist.
+     */
+    public boolean insertSong(int index, Song song) {
+        checkPosition(index, size());
+        if (nodes.containsKey(song)) {
+            return false;
+        }
+        Node node = new Node(song, random.nextInt());
+        nodes.put(song, node);
+        insertNode(index, node);
+        return true;
+    }
+
+    /**
+     * Adds songs to the end of the playlist in the given order, skipping songs that are
+     * already in it.
+     *
+     * @param songs - The songs to add.
+     * @return The number of songs added.
+     */
+    public int addSongs(Collection<Song> songs) {
+        List<Node> added = new ArrayList<>(songs.size());
+        for (Song song : songs) {
+            if (!nodes.containsKey(song)) {
+                Node node = new Node(song, random.nextInt());
+                nodes.put(song, node);
+                added.add(node);
+            }
+        }
+        if (!added.isEmpty()) {
+            setRoot(merge(root, build(added)));
+            edits++;
+        }
+        return added.size();
+    }
+
+    /**
+     * Removes a song from the playlist.
+     *
+     * @param song - The song to remove.
+     * @return true if it was removed, false if it was not in the playlist.
+     */
+    public boolean removeSong(Song song) {
+        Node node = nodes.get(song);
+        if (node == null) {
+            return false;
+        }
+        removeAt(position(node));
+        return true;
+    }
+
+    /**
+     * Removes the song at a position.
+     *
+     * @param index - The position, from 0 to size() - 1.
+     * @return The removed song.
+     */
+    public Song removeAt(int index) {
+        checkPosition(index, size() - 1);
+        Node node = removeNode(index);
+        nodes.remove(node.song);
+        return node.song;
     }
 
-    public void addSong(Song song) {
-        songs.add(song);
+    /**
+     * Removes many songs. Large batches rebuild the tree once instead of removing the songs
+     * one at a time.
+     *
+     * @param songs - The songs to remove.
+     * @return The number of songs removed.
+     */
+    public int removeSongs(Collection<Song> songs) {
+        Set<Song> present = new HashSet<>();
+        for (Song song : songs) {
+            if (nodes.containsKey(song)) {
+                present.add(song);
+            }
+        }
+        if (present.size() <= size() / 16) {
+            for (Song song : present) {
+                removeSong(song);
+            }
+        } else if (!present.isEmpty()) {
+            List<Node> kept = new ArrayList<>(size() - present.size());
+            for (Song song : view) {
+                if (!present.contains(song)) {
+                    kept.add(nodes.get(song));
+                }
+            }
+            for (Node node : kept) {
+                node.left = null;
+                node.right = null;
+            }
+            for (Song song : present) {
+                nodes.remove(song);
+            }
+            setRoot(build(kept));
+            edits++;
+        }
+        return present.size();
     }
 
-    public void removeSong(Song song) {
-        songs.remove(song);
+    /**
+     * Moves the song at one position to another. Songs in between shift by one.
+     *
+     * @param from - The current position.
+     * @param to - The new position, counted after the song is taken out.
+     */
+    public void moveSong(int from, int to) {
+        checkPosition(from, size() - 1);
+        checkPosition(to, size() - 1);
+        insertNode(to, removeNode(from));
+    }
+
+    /**
+     * Moves a song to a new position.
+     *
+     * @param song - The song to move.
+     * @param to - The new position, counted after the song is taken out.
+     * @return true if the song was moved, false if it is not in the playlist.
+     */
+    public boolean moveSong(Song song, int to) {
+        Node node = nodes.get(song);
+        if (node == null) {
+            return false;
+        }
+        moveSong(position(node), to);
+        return true;
+    }
+
+    private static void checkPosition(int index, int max) {
+        if (index < 0 || index > max) {
+            throw new IndexOutOfBoundsException("Position " + index + " is outside 0.." + max);
+        }
+    }
+
+    private void insertNode(int index, Node node) {
+        Node[] parts = split(root, index);
+        setRoot(merge(merge(parts[0], node), parts[1]));
+        edits++;
+    }
+
+    // detaches the node at a position and returns it ready to be inserted again
+    private Node removeNode(int index) {
+        Node[] left = split(root, index);
+        Node[] right = split(left[1], 1);
+        Node node = right[0];
+        node.left = null;
+        node.right = null;
+        node.parent = null;
+        node.size = 1;
+        setRoot(merge(left[0], right[1]));
+        edits++;
+        return node;
+    }
+
+    private void setRoot(Node node) {
+        root = node;
+        if (node != null) {
+            node.parent = null;
+        }
+    }
+
+    // counts the nodes before this one by walking up to the root
+    private static int position(Node node) {
+        int index = size(node.left);
+        while (node.parent != null) {
+            if (node == node.parent.right) {
+                index += size(node.parent.left) + 1;
+            }
+            node = node.parent;
+        }
+        return index;
+    }
+
+    private Node nodeAt(int index) {
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    // recomputes the size and relinks the children after the node's children changed
+    private static Node update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        if (node.left != null) {
+            node.left.parent = node;
+        }
+        if (node.right != null) {
+            node.right.parent = node;
+        }
+        return node;
+    }
+
+    // joins two trees, every node of a before every node of b
+    private static Node merge(Node a, Node b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            return update(a);
+        }
+        b.left = merge(a, b.left);
+        return update(b);
+    }
+
+    // splits a tree into its first k nodes and the rest
+    private static Node[] split(Node node, int k) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (size(node.left) >= k) {
+            Node[] parts = split(node.left, k);
+            node.left = parts[1];
+            parts[1] = update(node);
+            return parts;
+        }
+        Node[] parts = split(node.right, k - size(node.left) - 1);
+        node.right = parts[0];
+        parts[0] = update(node);
+        return parts;
+    }
+
+    // builds a treap over nodes in order in linear time, using a stack of the right spine
+    private static Node build(List<Node> ordered) {
+        Deque<Node> spine = new ArrayDeque<>();
+        for (Node node : ordered) {
+            Node last = null;
+            while (!spine.isEmpty() && spine.peek().priority < node.priority) {
+                last = spine.pop();
+            }
+            node.left = last;
+            if (!spine.isEmpty()) {
+                spine.peek().right = node;
+            }
+            spine.push(node);
+        }
+        Node top = spine.peekLast();
+        if (top != null) {
+            fixSizes(top);
+        }
+        return top;
+    }
+
+    private static void fixSizes(Node node) {
+        if (node.left != null) {
+            fixSizes(node.left);
+        }
+        if (node.right != null) {
+            fixSizes(node.right);
+        }
+        update(node);
+    }
+
+    /**
+     * One song in the treap. Nodes are ordered by position and heap-ordered by priority.
+     */
+    private static final class Node {
+        private final Song song;
+        private final int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+        private Node parent;
+
+        Node(Song song, int priority) {
+            this.song = song;
+            this.priority = priority;
+        }
+    }
+
+    /**
+     * Read-only list view of the songs in playlist order.
+     */
+    private final class SongList extends AbstractList<Song> {
+
+        @Override
+        public Song get(int index) {
+            checkPosition(index, Playlist.this.size() - 1);
+            return nodeAt(index).song;
+        }
+
+        @Override
+        public int size() {
+            return Playlist.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return nodes.containsKey(o);
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            Node node = nodes.get(o);
+            return node == null ? -1 : position(node);
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            return indexOf(o);
+        }
+
+        // in-order walk with an explicit stack
+        @Override
+        public Iterator<Song> iterator() {
+            return new Iterator<Song>() {
+                private final Deque<Node> stack = new ArrayDeque<>();
+                private final int expected = edits;
+
+                {
+                    pushLeft(root);
+                }
+
+                private void pushLeft(Node node) {
+                    while (node != null) {
+                        stack.push(node);
+                        node = node.left;
+                    }
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return !stack.isEmpty();
+                }
+
+                @Override
+                public Song next() {
+                    if (edits != expected) {
+                        throw new ConcurrentModificationException();
+                    }
+                    if (stack.isEmpty()) {
+                        throw new NoSuchElementException();
+                    }
+                    Node node = stack.pop();
+                    pushLeft(node.right);
+                    return node.song;
+                }
+            };
+        }
     }
 }
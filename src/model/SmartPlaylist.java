@@ -0,0 +1,311 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This class is a rule-based playlist, for example "rating 4 or higher
+ * and genre Rock" or "played more than 10 times", with an optional sort order and size limit.
+ * The rule is built with chained calls and the playlist is then added to a library with
+ * LibraryModel.addSmartPlaylist.
+ *
+ * Membership is computed once when the playlist is added. After that it is kept up to date
+ * as a LibraryListener. When a song is added, rated, favorited or played, only that song is
+ * checked against the rule and moved in or out of the sorted member set. Viewing the playlist
+ * reads the first entries of that set and never scans the library.
+ *
+ * Songs change in place, so each member is stored with a copy of the song as it was when it
+ * was last sorted. The copy keeps the member's position in the set valid until the song is
+ * re-checked.
+ *
+ * LibraryCodec saves the genre, artist, favorites, rating and play rules, the limit, and a
+ * sort order from SAVED_ORDERS. A playlist with a where condition or any other order cannot
+ * be saved and lasts only for the session; isSaved tells which kind a playlist is.
+ */
+public class SmartPlaylist implements LibraryListener {
+
+    // the sort orders LibraryCodec can save, by their position in this list
+    static final List<Comparator<Song>> SAVED_ORDERS = List.of(SongQuery.BY_TITLE, SongQuery.BY_PLAYS,
+            SongQuery.BY_RATING);
+
+    private final String name;
+    private String genre;
+    private String artist;
+    private boolean favoritesOnly;
+    private int minRating;
+    private int minPlays;
+    private final List<Predicate<Song>> filters = new ArrayList<>();
+    private Comparator<Song> order = SongQuery.BY_TITLE;
+    private int limit = -1;
+
+    private LibraryModel library;
+    // members sorted by their copies; seq breaks ties between equal copies
+    private TreeSet<Member> members;
+    private final Map<Song, Member> memberOf = new HashMap<>();
+    private long nextSeq;
+
+    /**
+     * Creates a smart playlist with no rules, which matches every song.
+     *
+     * @param name - The name of the playlist.
+     */
+    public SmartPlaylist(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param genre - Match songs added with an album of this genre, ignoring case.
+     * @return This playlist.
+     */
+    public SmartPlaylist genre(String genre) {
+        checkNotAttached();
+        this.genre = genre;
+        return this;
+    }
+
+    /**
+     * @param artist - Match songs by this artist, ignoring case.
+     * @return This playlist.
+     */
+    public SmartPlaylist artist(String artist) {
+        checkNotAttached();
+        this.artist = artist;
+        return this;
+    }
+
+    /**
+     * Restricts the playlist to favorite songs.
+     *
+     * @return This playlist.
+     */
+    public SmartPlaylist favorites() {
+        checkNotAttached();
+        this.favoritesOnly = true;
+        return this;
+    }
+
+    /**
+     * @param minRating - Match songs rated at least this value.
+     * @return This playlist.
+     */
+    public SmartPlaylist minRating(int minRating) {
+        checkNotAttached();
+        this.minRating = minRating;
+        return this;
+    }
+
+    /**
+     * @param minPlays - Match songs played at least this many times.
+     * @return This playlist.
+     */
+    public SmartPlaylist minPlays(int minPlays) {
+        checkNotAttached();
+        this.minPlays = minPlays;
+        return this;
+    }
+
+    /**
+     * Adds a custom condition. It must depend only on the song's own fields, or the
+     * playlist will not notice when it changes.
+     *
+     * @param filter - The condition.
+     * @return This playlist.
+     */
+    public SmartPlaylist where(Predicate<Song> filter) {
+        checkNotAttached();
+        filters.add(filter);
+        return this;
+    }
+
+    /**
+     * @param order - Sort order of the playlist, for example SongQuery.BY_PLAYS. Defaults to
+     *                title order.
+     * @return This playlist.
+     */
+    public SmartPlaylist sortBy(Comparator<Song> order) {
+        checkNotAttached();
+        this.order = order;
+        return this;
+    }
+
+    /**
+     * @param limit - The maximum number of songs shown, taken from the start of the order.
+     * @return This playlist.
+     */
+    public SmartPlaylist limit(int limit) {
+        checkNotAttached();
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * @return true if the playlist can be saved with its library: it has no where condition
+     *         and sorts by title, plays or rating.
+     */
+    public boolean isSaved() {
+        return filters.isEmpty() && SAVED_ORDERS.contains(order);
+    }
+
+    // the rules, for LibraryCodec
+    String getGenre() {
+        return genre;
+    }
+
+    String getArtist() {
+        return artist;
+    }
+
+    boolean isFavoritesOnly() {
+        return favoritesOnly;
+    }
+
+    int getMinRating() {
+        return minRating;
+    }
+
+    int getMinPlays() {
+        return minPlays;
+    }
+
+    Comparator<Song> getOrder() {
+        return order;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    private void checkNotAttached() {
+        if (library != null) {
+            throw new IllegalStateException("Rules cannot change after the playlist is added to a library");
+        }
+    }
+
+    // called once by LibraryModel.addSmartPlaylist
+    void attach(LibraryModel library) {
+        if (this.library != null) {
+            throw new IllegalStateException("Smart playlist is already in a library");
+        }
+        this.library = library;
+        Comparator<Member> byCopy = (a, b) -> order.compare(a.copy, b.copy);
+        this.members = new TreeSet<>(byCopy.thenComparingLong(member -> member.seq));
+        for (Song song : library.getSongs()) {
+            recheck(song);
+        }
+    }
+
+    /**
+     * @return The songs in the playlist, in order and cut to the limit.
+     */
+    public List<Song> getSongs() {
+        if (members == null) {
+            return Collections.emptyList();
+        }
+        int size = limit < 0 ? members.size() : Math.min(limit, members.size());
+        List<Song> result = new ArrayList<>(size);
+        for (Member member : members) {
+            if (result.size() == size) {
+                break;
+            }
+            result.add(member.song);
+        }
+        return result;
+    }
+
+    /**
+     * @return The number of songs in the playlist, after the limit.
+     */
+    public int size() {
+        return members == null ? 0 : limit < 0 ? members.size() : Math.min(limit, members.size());
+    }
+
+    @Override
+    public void songAdded(Song song) {
+        recheck(song);
+    }
+
+    @Override
+    public void songUpdated(Song song) {
+        recheck(song);
+    }
+
+    @Override
+    public void songPlayed(Song song) {
+        recheck(song);
+    }
+
+    // moves one song into, out of, or within the member set
+    private void recheck(Song song) {
+        Member old = memberOf.remove(song);
+        if (old != null) {
+            members.remove(old);
+        }
+        if (matches(song)) {
+            Member member = new Member(song, copyOf(song), nextSeq++);
+            members.add(member);
+            memberOf.put(song, member);
+        }
+    }
+
+    private boolean matches(Song song) {
+        if (genre != null && !genre.equalsIgnoreCase(library.getGenre(song))) {
+            return false;
+        }
+        if (artist != null && !song.getArtist().equalsIgnoreCase(artist)) {
+            return false;
+        }
+        if (favoritesOnly && !song.isFavorite()) {
+            return false;
+        }
+        if (song.getRating() < minRating || song.getPlayCount() < minPlays) {
+            return false;
+        }
+        for (Predicate<Song> filter : filters) {
+            if (!filter.test(song)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // a detached copy that keeps the fields the order may read
+    private static Song copyOf(Song song) {
+        Song copy = new Song(song.getTitle(), song.getArtist(), song.getAlbumTitle());
+        copy.setRating(song.getRating());
+        copy.setFavorite(song.isFavorite());
+        copy.setPlayCount(song.getPlayCount());
+        return copy;
+    }
+
+    /**
+     * One member: the song, its copy at the time it was sorted, and an insertion number.
+     */
+    private static class Member {
+        private final Song song;
+        private final Song copy;
+        private final long seq;
+
+        Member(Song song, Song copy, long seq) {
+            this.song = song;
+            this.copy = copy;
+            this.seq = seq;
+        }
+    }
+}
@@ -96,4 +96,13 @@ public class Song {
 	public int getPlayCount() {
 		return playCount;
 	}
+
+	/**
+     * Restores a saved play count when a library is read back from storage.
+     *
+     * @param playCount The play count to restore.
+     */
+	void setPlayCount(int playCount) {
+		this.playCount = playCount;
+	}
 }
@@ -0,0 +1,236 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This class describes a combined search over a user's library, such as
+ * "favorites by a given artist rated 4 or higher", with optional sorting and a result limit.
+ * It is built with chained calls and run through LibraryModel.query.
+ *
+ * Like AlbumQuery for the store, the planner starts from the smallest source the query can
+ * use: the title, artist or album index, or the favorites set. It checks the remaining
+ * conditions as lazy filters, so a query does not scan the whole library once per condition.
+ */
+public class SongQuery {
+
+    public static final Comparator<Song> BY_TITLE = Comparator
+            .comparing(Song::getTitle, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(Song::getArtist, String.CASE_INSENSITIVE_ORDER);
+    public static final Comparator<Song> BY_PLAYS = Comparator
+            .comparingInt(Song::getPlayCount).reversed()
+            .thenComparing(BY_TITLE);
+    public static final Comparator<Song> BY_RATING = Comparator
+            .comparingInt(Song::getRating).reversed()
+            .thenComparing(BY_TITLE);
+
+    private String title;
+    private String artist;
+    private String albumTitle;
+    private boolean favoritesOnly;
+    private int minRating;
+    private int minPlays;
+    private final List<Predicate<Song>> filters = new ArrayList<>();
+    private Comparator<Song> order;
+    private long offset;
+    private long limit = -1;
+
+    /**
+     * @param title - Match songs with exactly this title, ignoring case.
+     * @return This query.
+     */
+    public SongQuery title(String title) {
+        this.title = title;
+        return this;
+    }
+
+    /**
+     * @param artist - Match songs by exactly this artist, ignoring case.
+     * @return This query.
+     */
+    public SongQuery artist(String artist) {
+        this.artist = artist;
+        return this;
+    }
+
+    /**
+     * @param albumTitle - Match songs from the album with exactly this title, ignoring case.
+     * @return This query.
+     */
+    public SongQuery album(String albumTitle) {
+        this.albumTitle = albumTitle;
+        return this;
+    }
+
+    /**
+     * Restricts the query to songs in the favorites collection.
+     *
+     * @return This query.
+     */
+    public SongQuery favorites() {
+        this.favoritesOnly = true;
+        return this;
+    }
+
+    /**
+     * @param minRating - Match songs rated at least this value.
+     * @return This query.
+     */
+    public SongQuery minRating(int minRating) {
+        this.minRating = minRating;
+        return this;
+    }
+
+    /**
+     * @param minPlays - Match songs played at least this many times.
+     * @return This query.
+     */
+    public SongQuery minPlays(int minPlays) {
+        this.minPlays = minPlays;
+        return this;
+    }
+
+    /**
+     * Adds a condition that no index can answer. It is checked on each candidate.
+     *
+     * @param filter - The condition.
+     * @return This query.
+     */
+    public SongQuery where(Predicate<Song> filter) {
+        filters.add(filter);
+        return this;
+    }
+
+    /**
+     * @param order - Sort order for the results, for example BY_PLAYS.
+     * @return This query.
+     */
+    public SongQuery sortBy(Comparator<Song> order) {
+        this.order = order;
+        return this;
+    }
+
+    /**
+     * @param offset - The number of results to skip, for fetching later pages.
+     * @return This query.
+     */
+    public SongQuery offset(long offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset must not be negative");
+        }
+        this.offset = offset;
+        return this;
+    }
+
+    /**
+     * @param limit - The maximum number of results.
+     * @return This query.
+     */
+    public SongQuery limit(long limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Runs the query against a library.
+     *
+     * @param library - The library to search.
+     * @return A lazy stream of the matching songs.
+     */
+    public Stream<Song> run(LibraryModel library) {
+        Set<Song> favorites = library.getFavorites();
+        Stream<Song> results = plan(library).songs.stream().filter(song -> matches(song, favorites));
+        if (order != null) {
+            results = results.sorted(order);
+        }
+        if (offset > 0) {
+            results = results.skip(offset);
+        }
+        if (limit >= 0) {
+            results = results.limit(limit);
+        }
+        return results;
+    }
+
+    /**
+     * Describes the plan the query would use, for example "artist index (3 candidates)".
+     *
+     * @param library - The library to plan against.
+     * @return A short description of the chosen access path.
+     */
+    public String explain(LibraryModel library) {
+        Plan plan = plan(library);
+        return plan.name + " (" + plan.songs.size() + " candidates)";
+    }
+
+    // picks the smallest source of candidates
+    private Plan plan(LibraryModel library) {
+        Plan best = new Plan("full scan", library.getSongs());
+        if (favoritesOnly) {
+            best = best.orSmaller("favorites", library.getFavorites());
+        }
+        if (title != null) {
+            best = best.orSmaller("title index", library.songsWithTitle(title));
+        }
+        if (artist != null) {
+            best = best.orSmaller("artist index", library.songsByArtist(artist));
+        }
+        if (albumTitle != null) {
+            best = best.orSmaller("album index", library.songsOnAlbum(albumTitle));
+        }
+        return best;
+    }
+
+    private boolean matches(Song song, Set<Song> favorites) {
+        if (title != null && !song.getTitle().equalsIgnoreCase(title)) {
+            return false;
+        }
+        if (artist != null && !song.getArtist().equalsIgnoreCase(artist)) {
+            return false;
+        }
+        if (albumTitle != null && !song.getAlbumTitle().equalsIgnoreCase(albumTitle)) {
+            return false;
+        }
+        if (favoritesOnly && !favorites.contains(song)) {
+            return false;
+        }
+        if (song.getRating() < minRating || song.getPlayCount() < minPlays) {
+            return false;
+        }
+        for (Predicate<Song> filter : filters) {
+            if (!filter.test(song)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * One access path: a name for explain() and its candidate songs.
+     */
+    private static class Plan {
+        private final String name;
+        private final Collection<Song> songs;
+
+        Plan(String name, Collection<Song> songs) {
+            this.name = name;
+            this.songs = songs;
+        }
+
+        Plan orSmaller(String otherName, Collection<Song> other) {
+            return other.size() < songs.size() ? new Plan(otherName, other) : this;
+        }
+    }
+}
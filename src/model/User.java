@@ -1,9 +1,8 @@
 package model;
 
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
-import java.util.Base64;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Set;
 import java.util.List;
@@ -48,36 +47,19 @@ public class User {
      * @return A Base64 encoded string representing the salt.
      */
 	public String generateSalt() {
-		SecureRandom randomSalt = new SecureRandom();	// construction
-		byte[] saltBytes = new byte[16];	// 16 bytes = 128 bits
-		randomSalt.nextBytes(saltBytes);	// Fill with random bytes
-		return Base64.getEncoder().encodeToString(saltBytes);	// converts to readable string
+		return PasswordHasher.newSalt();	// 16 bytes from one shared SecureRandom
 	}
 	
 	
 	/**
-     * Hashes the user's password with the given salt using SHA-256.
+     * Hashes the user's password with the given salt using PBKDF2.
      *
      * @param password The user's password.
      * @param salt The salt to use for hashing.
-     * @return The hashed password as a hexadecimal string, or the plain password if an error occurs.
+     * @return The hash, with its work factor, in PasswordHasher's format.
      */
 	private String hashPassword(String password, String salt) {
-		try {
-			MessageDigest mD = MessageDigest.getInstance("SHA-256");
-			// combine password and salt (password + salt)
-			String saltedPassword = password + salt;
-			
-			byte[] hashedBytes = mD.digest(saltedPassword.getBytes());
-			StringBuilder strBuilder =  new StringBuilder();
-			for (byte b : hashedBytes) {
-				strBuilder.append(String.format("%02x", b));
-			}
-			return strBuilder.toString();
-		} catch (NoSuchAlgorithmException e) {
-			System.out.println("Error hashing password. Using plain text (not secured)!");
-			return password;
-		}
+		return PasswordHasher.getDefault().hash(password, salt);
 	}
 	
 	/**
@@ -367,6 +349,26 @@ public class User {
         return sb.toString();
     }
 	
+	/**
+     * Writes the user's library in the compact binary format (see LibraryCodec).
+     *
+     * @param out The destination.
+     * @throws IOException If the output cannot be written.
+     */
+	public void writeLibrary(DataOutput out) throws IOException {
+		LibraryCodec.write(library, out);
+	}
+
+	/**
+     * Replaces the user's library with one read from the binary format.
+     *
+     * @param in The source.
+     * @throws IOException If the data is not a valid binary library.
+     */
+	public void readLibrary(DataInput in) throws IOException {
+		this.library = LibraryCodec.read(in);
+	}
+
 	// getter method for getting the userName
 	public String getUserName() {
 		return userName;
@@ -379,8 +381,25 @@ public class User {
 	
 	// check if a password matches the stored hash
 	public boolean checkPassword(String password) {
-		String hashedInput = hashPassword(password, this.salt);		// salt last
-		return hashedPassword.equals(hashedInput);
+		return checkPassword(password, PasswordHasher.getDefault());
+	}
+	
+	/**
+     * Checks a password, and on success upgrades an old or weaker hash to the hasher's
+     * current work factor. The caller saves the users afterwards.
+     *
+     * @param password The password to check.
+     * @param hasher The hasher to check with.
+     * @return true if the password matches.
+     */
+	public synchronized boolean checkPassword(String password, PasswordHasher hasher) {
+		if (!hasher.verify(password, salt, hashedPassword)) {
+			return false;
+		}
+		if (hasher.needsRehash(hashedPassword)) {
+			hashedPassword = hasher.hash(password, salt);
+		}
+		return true;
 	}
 	
 	// getter method for user's library
@@ -389,7 +408,7 @@ public class User {
 	}
 	
 	// for debugging: to see the hashedPassword
-	public String getHashedPassword() {
+	public synchronized String getHashedPassword() {
 		return hashedPassword;
 	}
 }
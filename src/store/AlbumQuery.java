@@ -0,0 +1,232 @@
+package store;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import model.Album;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This class describes a combined album search, such as "Rock albums
+ * from 2005 to 2010 by a given artist", with optional sorting and a result limit. It is built
+ * with chained calls and run against a Catalog snapshot, usually through MusicStore.query.
+ *
+ * When the query runs, the planner reads the size of each catalog index the query can use
+ * (title, artist, genre or year range) and starts from the smallest one. Every other condition
+ * is then checked as a filter on that candidate list. Results are streamed lazily, so a
+ * combined query costs about as much as its most selective condition and does not scan the
+ * catalog once per condition. Results come in catalog order unless a sort order is given.
+ * When the chosen source is already in the requested order (a year range sorted BY_YEAR, or a
+ * full scan sorted BY_ARTIST read from the artist-sorted array), no sort step is added.
+ */
+public class AlbumQuery {
+
+    public static final Comparator<Album> BY_TITLE = Catalog.ORDER;
+    public static final Comparator<Album> BY_ARTIST = Catalog.ARTIST_ORDER;
+    public static final Comparator<Album> BY_YEAR = Catalog.YEAR_ORDER;
+
+    private String title;
+    private String artist;
+    private String genre;
+    private int fromYear = Integer.MIN_VALUE;
+    private int toYear = Integer.MAX_VALUE;
+    private final List<Predicate<Album>> filters = new ArrayList<>();
+    private Comparator<Album> order;
+    private long offset;
+    private long limit = -1;
+
+    /**
+     * @param title - Match albums with exactly this title, ignoring case.
+     * @return This query.
+     */
+    public AlbumQuery title(String title) {
+        this.title = title;
+        return this;
+    }
+
+    /**
+     * @param artist - Match albums by exactly this artist, ignoring case.
+     * @return This query.
+     */
+    public AlbumQuery artist(String artist) {
+        this.artist = artist;
+        return this;
+    }
+
+    /**
+     * @param genre - Match albums of exactly this genre, ignoring case.
+     * @return This query.
+     */
+    public AlbumQuery genre(String genre) {
+        this.genre = genre;
+        return this;
+    }
+
+    /**
+     * @param year - Match albums released in this year.
+     * @return This query.
+     */
+    public AlbumQuery year(int year) {
+        return years(year, year);
+    }
+
+    /**
+     * @param from - First release year to match, inclusive.
+     * @param to - Last release year to match, inclusive.
+     * @return This query.
+     */
+    public AlbumQuery years(int from, int to) {
+        this.fromYear = from;
+        this.toYear = to;
+        return this;
+    }
+
+    /**
+     * Adds a condition that no index can answer. It is checked on each candidate.
+     *
+     * @param filter - The condition.
+     * @return This query.
+     */
+    public AlbumQuery where(Predicate<Album> filter) {
+        filters.add(filter);
+        return this;
+    }
+
+    /**
+     * @param order - Sort order for the results, for example BY_YEAR.
+     * @return This query.
+     */
+    public AlbumQuery sortBy(Comparator<Album> order) {
+        this.order = order;
+        return this;
+    }
+
+    /**
+     * @param offset - The number of results to skip, for fetching later pages.
+     * @return This query.
+     */
+    public AlbumQuery offset(long offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset must not be negative");
+        }
+        this.offset = offset;
+        return this;
+    }
+
+    /**
+     * @param limit - The maximum number of results.
+     * @return This query.
+     */
+    public AlbumQuery limit(long limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Runs the query against a catalog snapshot.
+     *
+     * @param catalog - The snapshot to search.
+     * @return A lazy stream of the matching albums.
+     */
+    public Stream<Album> run(Catalog catalog) {
+        Plan plan = plan(catalog);
+        Stream<Album> results = plan.candidates.stream().filter(this::matches);
+        if (order != null && order != plan.order) {
+            results = results.sorted(order);
+        }
+        if (offset > 0) {
+            results = results.skip(offset);
+        }
+        if (limit >= 0) {
+            results = results.limit(limit);
+        }
+        return results;
+    }
+
+    /**
+     * Describes the plan the query would use, for example "artist index (2 candidates)".
+     *
+     * @param catalog - The snapshot to plan against.
+     * @return A short description of the chosen access path.
+     */
+    public String explain(Catalog catalog) {
+        Plan plan = plan(catalog);
+        return plan.name + " (" + plan.candidates.size() + " candidates)";
+    }
+
+    // picks the access path with the fewest candidates
+    private Plan plan(Catalog catalog) {
+        Plan best = new Plan("full scan", catalog.getAlbums(), Catalog.ORDER);
+        // a full scan can read whichever presorted copy matches the requested order
+        if (order == BY_YEAR) {
+            best = new Plan("full scan", catalog.getAlbumsByYear(), BY_YEAR);
+        } else if (order == BY_ARTIST) {
+            best = new Plan("full scan", catalog.getAlbumsByArtist(), BY_ARTIST);
+        }
+        if (title != null) {
+            best = best.orSmaller("title index", catalog.findByTitle(title), Catalog.ORDER);
+        }
+        if (artist != null) {
+            best = best.orSmaller("artist index", catalog.findByArtist(artist), Catalog.ORDER);
+        }
+        if (genre != null) {
+            best = best.orSmaller("genre index", catalog.findByGenre(genre), Catalog.ORDER);
+        }
+        if (hasYearRange()) {
+            best = best.orSmaller("year index", catalog.findByYearRange(fromYear, toYear), BY_YEAR);
+        }
+        return best;
+    }
+
+    private boolean hasYearRange() {
+        return fromYear != Integer.MIN_VALUE || toYear != Integer.MAX_VALUE;
+    }
+
+    private boolean matches(Album album) {
+        if (title != null && !album.getTitle().equalsIgnoreCase(title)) {
+            return false;
+        }
+        if (artist != null && !album.getArtist().equalsIgnoreCase(artist)) {
+            return false;
+        }
+        if (genre != null && !album.getGenre().equalsIgnoreCase(genre)) {
+            return false;
+        }
+        if (album.getYear() < fromYear || album.getYear() > toYear) {
+            return false;
+        }
+        for (Predicate<Album> filter : filters) {
+            if (!filter.test(album)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * One access path: a name for explain(), its candidates, and the order they come in.
+     */
+    private static class Plan {
+        private final String name;
+        private final List<Album> candidates;
+        private final Comparator<Album> order;
+
+        Plan(String name, List<Album> candidates, Comparator<Album> order) {
+            this.name = name;
+            this.candidates = candidates;
+            this.order = order;
+        }
+
+        Plan orSmaller(String otherName, List<Album> other, Comparator<Album> otherOrder) {
+            return other.size() < candidates.size() ? new Plan(otherName, other, otherOrder) : this;
+        }
+    }
+}
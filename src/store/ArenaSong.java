@@ -0,0 +1,51 @@
+package store;
+
+import model.Song;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This class is a catalog song whose title, artist and album title live
+ * in a StringArena instead of as String fields. The song holds three int handles, and each
+ * String is decoded the first time it is read and reused after that, so indexes, comparators
+ * and keys that call the getters over and over do not allocate. The artist and album title
+ * are shared by the whole album. Ratings, favorites and play counts work as for any Song.
+ */
+public class ArenaSong extends Song {
+
+    private final StringArena arena;
+    private final int title;
+    private final int artist;
+    private final int albumTitle;
+
+    /**
+     * @param arena - The arena holding the text.
+     * @param title - The handle of the song title.
+     * @param artist - The handle of the artist.
+     * @param albumTitle - The handle of the album title.
+     */
+    public ArenaSong(StringArena arena, int title, int artist, int albumTitle) {
+        super(null, null, null);
+        this.arena = arena;
+        this.title = title;
+        this.artist = artist;
+        this.albumTitle = albumTitle;
+    }
+
+    @Override
+    public String getTitle() {
+        return arena.shared(title);
+    }
+
+    @Override
+    public String getArtist() {
+        return arena.shared(artist);
+    }
+
+    @Override
+    public String getAlbumTitle() {
+        return arena.shared(albumTitle);
+    }
+}
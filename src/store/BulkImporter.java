@@ -0,0 +1,259 @@
+package store;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import model.Album;
+import model.LibraryModel;
+import model.Song;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This class adds many store songs and albums to a library in one batch.
+ * The input is either an import file or an artist name ("every album by this artist").
+ *
+ * Each line of an import file is one of:
+ *   Album Title,Artist                  - the whole album, as in albums.txt
+ *   Song Title,Artist,Album Title       - one song; the title may itself contain commas
+ * Blank lines and lines starting with # are skipped.
+ *
+ * Every entry is resolved against one catalog snapshot through its title and artist indexes.
+ * The tracks of each album are indexed by title once. The existing library is read once into
+ * a set of keys, so duplicates (already owned, or repeated in the batch) are dropped in the
+ * same pass. The remaining albums and songs are then applied with LibraryModel.addAlbums and
+ * addSongs. Entries that do not match anything in the store are reported back, not added.
+ */
+public class BulkImporter {
+
+    private final MusicStore store;
+
+    /**
+     * @param store - The store that entries are resolved against.
+     */
+    public BulkImporter(MusicStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Imports every entry in a file.
+     *
+     * @param file - The import file.
+     * @param library - The library to add to.
+     * @return What was added, skipped and not found.
+     * @throws IOException If the file cannot be read.
+     */
+    public Result importFile(Path file, LibraryModel library) throws IOException {
+        MappedAlbumFile lines = MappedAlbumFile.open(file);
+        List<String> entries = new ArrayList<>(lines.lineCount());
+        for (int i = 0; i < lines.lineCount(); i++) {
+            if (!lines.isBlank(i)) {
+                entries.add(lines.line(i));
+            }
+        }
+        return importLines(entries, library);
+    }
+
+    /**
+     * Imports entries given as lines in the import file format.
+     *
+     * @param lines - The entries.
+     * @param library - The library to add to.
+     * @return What was added, skipped and not found.
+     */
+    public Result importLines(Iterable<String> lines, LibraryModel library) {
+        Batch batch = new Batch(store.getCatalog(), library);
+        for (String line : lines) {
+            String entry = line.trim();
+            if (entry.isEmpty() || entry.startsWith("#")) {
+                continue;
+            }
+            int last = entry.lastIndexOf(',');
+            if (last < 0) {
+                batch.unresolved.add(entry);
+                continue;
+            }
+            int middle = entry.lastIndexOf(',', last - 1);
+            if (middle < 0) {
+                batch.album(entry.substring(0, last).trim(), entry.substring(last + 1).trim(), entry);
+            } else {
+                batch.song(entry.substring(0, middle).trim(), entry.substring(middle + 1, last).trim(),
+                        entry.substring(last + 1).trim(), entry);
+            }
+        }
+        return batch.apply();
+    }
+
+    /**
+     * Imports every store album by an artist.
+     *
+     * @param artist - The artist name, ignoring case.
+     * @param library - The library to add to.
+     * @return What was added, skipped and not found.
+     */
+    public Result importArtist(String artist, LibraryModel library) {
+        Batch batch = new Batch(store.getCatalog(), library);
+        List<Album> albums = batch.catalog.findByArtist(artist);
+        if (albums.isEmpty()) {
+            batch.unresolved.add(artist);
+        }
+        for (Album album : albums) {
+            batch.addAlbum(album);
+        }
+        return batch.apply();
+    }
+
+    private static String key(String title, String artist) {
+        return title.toLowerCase(Locale.ROOT) + '\n' + artist.toLowerCase(Locale.ROOT);
+    }
+
+    private static String songKey(Song song) {
+        return key(song.getTitle(), song.getArtist()) + '\n' + song.getAlbumTitle().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * One import: the snapshot, what the library already has, and what will be added.
+     */
+    private static class Batch {
+        private final Catalog catalog;
+        private final LibraryModel library;
+        private final Set<String> ownedSongs = new HashSet<>();
+        private final Set<String> ownedAlbums = new HashSet<>();
+        // tracks of each resolved album, by lower-case title
+        private final Map<Album, Map<String, Song>> tracks = new HashMap<>();
+        private final Set<Album> albums = new LinkedHashSet<>();
+        private final List<Song> songs = new ArrayList<>();
+        private final List<String> unresolved = new ArrayList<>();
+        private int duplicates;
+
+        Batch(Catalog catalog, LibraryModel library) {
+            this.catalog = catalog;
+            this.library = library;
+            for (Song song : library.getSongs()) {
+                ownedSongs.add(songKey(song));
+            }
+            for (Album album : library.getAlbums()) {
+                ownedAlbums.add(key(album.getTitle(), album.getArtist()));
+            }
+        }
+
+        private Album findAlbum(String title, String artist) {
+            for (Album album : catalog.findByTitle(title)) {
+                if (album.getArtist().equalsIgnoreCase(artist)) {
+                    return album;
+                }
+            }
+            return null;
+        }
+
+        void album(String title, String artist, String entry) {
+            Album album = findAlbum(title, artist);
+            if (album == null) {
+                unresolved.add(entry);
+            } else {
+                addAlbum(album);
+            }
+        }
+
+        void addAlbum(Album album) {
+            if (!ownedAlbums.add(key(album.getTitle(), album.getArtist()))) {
+                duplicates++;
+                return;
+            }
+            albums.add(album);
+            for (Song song : album.getSongs()) {
+                ownedSongs.add(songKey(song));
+            }
+        }
+
+        void song(String title, String artist, String albumTitle, String entry) {
+            Album album = findAlbum(albumTitle, artist);
+            Song song = album == null ? null : tracksOf(album).get(title.toLowerCase(Locale.ROOT));
+            if (song == null) {
+                unresolved.add(entry);
+            } else if (!ownedSongs.add(songKey(song))) {
+                duplicates++;
+            } else {
+                songs.add(song);
+            }
+        }
+
+        private Map<String, Song> tracksOf(Album album) {
+            return tracks.computeIfAbsent(album, a -> {
+                Map<String, Song> byTitle = new HashMap<>();
+                for (Song song : a.getSongs()) {
+                    byTitle.putIfAbsent(song.getTitle().toLowerCase(Locale.ROOT), song);
+                }
+                return byTitle;
+            });
+        }
+
+        Result apply() {
+            int songsBefore = library.getSongs().size();
+            int albumsAdded = library.addAlbums(albums);
+            library.addSongs(songs);
+            return new Result(albumsAdded, library.getSongs().size() - songsBefore, duplicates, unresolved);
+        }
+    }
+
+    /**
+     * The outcome of one import.
+     */
+    public static class Result {
+        private final int albumsAdded;
+        private final int songsAdded;
+        private final int duplicates;
+        private final List<String> unresolved;
+
+        Result(int albumsAdded, int songsAdded, int duplicates, List<String> unresolved) {
+            this.albumsAdded = albumsAdded;
+            this.songsAdded = songsAdded;
+            this.duplicates = duplicates;
+            this.unresolved = Collections.unmodifiableList(unresolved);
+        }
+
+        /**
+         * @return The number of albums added.
+         */
+        public int getAlbumsAdded() {
+            return albumsAdded;
+        }
+
+        /**
+         * @return The number of songs added, including the songs of added albums.
+         */
+        public int getSongsAdded() {
+            return songsAdded;
+        }
+
+        /**
+         * @return The number of entries skipped because the library already had them.
+         */
+        public int getDuplicates() {
+            return duplicates;
+        }
+
+        /**
+         * @return The entries that matched nothing in the store.
+         */
+        public List<String> getUnresolved() {
+            return unresolved;
+        }
+
+        @Override
+        public String toString() {
+            return "Added " + albumsAdded + " albums and " + songsAdded + " songs, skipped "
+                    + duplicates + " duplicates, " + unresolved.size() + " not found in the store.";
+        }
+    }
+}
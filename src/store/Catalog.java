@@ -0,0 +1,405 @@
+package store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import model.Album;
+import model.FacetCounts;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This class is one immutable version of the store catalog. MusicStore
+ * keeps the current version in an atomic reference. Readers take one snapshot and use it for
+ * a whole search, so they never see a half-applied reload. A reload builds a new Catalog from
+ * the old one plus the changed album files and swaps the reference.
+ *
+ * A snapshot is frozen when it is built. Its albums are frozen and kept in one array, sorted
+ * by title and then artist. The title, artist, genre and year indexes are computed up front.
+ * Every list it returns is a read-only view of that precomputed data, so any number of threads
+ * can share a snapshot with no locks and no defensive copies.
+ *
+ * Two more copies of the album array are kept, sorted by year and by artist. Range queries
+ * ("1990-1999", artists from "A" to "C") binary-search those arrays and return a sublist,
+ * so browsing costs O(log n + k) and never sorts the catalog. Album counts per genre and per
+ * artist are also computed at build time for faceted views.
+ *
+ * The orders and indexes can also be restored from a file saved by CatalogIndexFile, so a
+ * startup with an unchanged catalog skips the sorting and grouping.
+ */
+public final class Catalog {
+
+    static final Catalog EMPTY = build(0, new HashMap<>(), new HashMap<>(), new HashSet<>());
+
+    // stable catalog order: title, then artist, ignoring case
+    static final Comparator<Album> ORDER = Comparator
+            .comparing(Album::getTitle, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(Album::getArtist, String.CASE_INSENSITIVE_ORDER);
+    // year order, catalog order within a year
+    static final Comparator<Album> YEAR_ORDER = Comparator
+            .comparingInt(Album::getYear)
+            .thenComparing(ORDER);
+    // artist order, catalog order within an artist
+    static final Comparator<Album> ARTIST_ORDER = Comparator
+            .comparing(Album::getArtist, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(ORDER);
+
+    private final long version;
+    // albums keyed by "AlbumTitle_Artist", kept to build the next version
+    private final Map<String, Album> albumsByKey;
+    // album file name -> key of the album loaded from it
+    private final Map<String, String> fileKeys;
+    // album files named by the master list, loaded or not
+    private final Set<String> listedFiles;
+
+    private final Album[] sorted;
+    private final Album[] sortedByYear;
+    private final Album[] sortedByArtist;
+    private final List<Album> albums;
+    private final List<Album> albumsByYear;
+    private final List<Album> albumsByArtist;
+    private final Map<String, List<Album>> byTitle;
+    private final Map<String, List<Album>> byArtist;
+    private final Map<String, List<Album>> byGenre;
+    private final Map<Integer, List<Album>> byYear;
+    private final FacetCounts genreCounts;
+    private final FacetCounts artistCounts;
+
+    private Catalog(long version, Map<String, Album> albumsByKey, Map<String, String> fileKeys, Set<String> listedFiles,
+            Album[] sorted, Album[] sortedByYear, Album[] sortedByArtist,
+            Map<String, List<Album>> byTitle, Map<String, List<Album>> byArtist,
+            Map<String, List<Album>> byGenre, Map<Integer, List<Album>> byYear) {
+        this.version = version;
+        this.albumsByKey = albumsByKey;
+        this.fileKeys = fileKeys;
+        this.listedFiles = Collections.unmodifiableSet(listedFiles);
+        this.sorted = sorted;
+        this.sortedByYear = sortedByYear;
+        this.sortedByArtist = sortedByArtist;
+        this.albums = Collections.unmodifiableList(Arrays.asList(sorted));
+        this.albumsByYear = Collections.unmodifiableList(Arrays.asList(sortedByYear));
+        this.albumsByArtist = Collections.unmodifiableList(Arrays.asList(sortedByArtist));
+        this.byTitle = byTitle;
+        this.byArtist = byArtist;
+        this.byGenre = byGenre;
+        this.byYear = byYear;
+        this.genreCounts = new FacetCounts();
+        this.artistCounts = new FacetCounts();
+        for (Album album : sorted) {
+            genreCounts.add(album.getGenre());
+            artistCounts.add(album.getArtist());
+        }
+        genreCounts.freeze();
+        artistCounts.freeze();
+    }
+
+    // sorts and indexes a set of albums from scratch
+    private static Catalog build(long version, Map<String, Album> albumsByKey, Map<String, String> fileKeys, Set<String> listedFiles) {
+        Album[] sorted = albumsByKey.values().toArray(new Album[0]);
+        for (Album album : sorted) {
+            album.freeze();
+        }
+        Arrays.sort(sorted, ORDER);
+        Album[] sortedByYear = sorted.clone();
+        Arrays.sort(sortedByYear, YEAR_ORDER);
+        Album[] sortedByArtist = sorted.clone();
+        Arrays.sort(sortedByArtist, ARTIST_ORDER);
+        return new Catalog(version, albumsByKey, fileKeys, listedFiles, sorted, sortedByYear, sortedByArtist,
+                index(sorted, album -> normalize(album.getTitle())),
+                index(sorted, album -> normalize(album.getArtist())),
+                index(sorted, album -> normalize(album.getGenre())),
+                index(sorted, Album::getYear));
+    }
+
+    /**
+     * Rebuilds a snapshot from orders and postings saved by CatalogIndexFile. Albums are named
+     * by their position in catalog order. Nothing is sorted, normalized or grouped again.
+     *
+     * @param version - The version number of the snapshot.
+     * @param sorted - The albums in catalog order.
+     * @param yearOrder - Positions of the albums in year order.
+     * @param artistOrder - Positions of the albums in artist order.
+     * @param titles - Normalized title to positions, in catalog order.
+     * @param artists - Normalized artist to positions, in catalog order.
+     * @param genres - Normalized genre to positions, in catalog order.
+     * @param years - Year to positions, in catalog order.
+     * @param fileIds - Album file name to the position of the album loaded from it.
+     * @param listedFiles - Files the master list names.
+     * @return The snapshot.
+     */
+    static Catalog restore(long version, Album[] sorted, int[] yearOrder, int[] artistOrder,
+            Map<String, int[]> titles, Map<String, int[]> artists, Map<String, int[]> genres,
+            Map<Integer, int[]> years, Map<String, Integer> fileIds, Set<String> listedFiles) {
+        Map<String, Album> albumsByKey = new HashMap<>();
+        for (Album album : sorted) {
+            album.freeze();
+            albumsByKey.put(album.getTitle() + "_" + album.getArtist(), album);
+        }
+        Map<String, String> fileKeys = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : fileIds.entrySet()) {
+            Album album = sorted[entry.getValue()];
+            fileKeys.put(entry.getKey(), album.getTitle() + "_" + album.getArtist());
+        }
+        return new Catalog(version, albumsByKey, fileKeys, listedFiles, sorted,
+                permute(sorted, yearOrder), permute(sorted, artistOrder),
+                postings(sorted, titles), postings(sorted, artists), postings(sorted, genres), postings(sorted, years));
+    }
+
+    private static Album[] permute(Album[] sorted, int[] order) {
+        Album[] result = new Album[order.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = sorted[order[i]];
+        }
+        return result;
+    }
+
+    private static <K> Map<K, List<Album>> postings(Album[] sorted, Map<K, int[]> ids) {
+        Map<K, List<Album>> groups = new HashMap<>(ids.size() * 2);
+        for (Map.Entry<K, int[]> entry : ids.entrySet()) {
+            groups.put(entry.getKey(), Collections.unmodifiableList(Arrays.asList(permute(sorted, entry.getValue()))));
+        }
+        return groups;
+    }
+
+    // groups the sorted albums by key; each group keeps catalog order
+    private static <K> Map<K, List<Album>> index(Album[] sorted, Function<Album, K> key) {
+        Map<K, List<Album>> groups = new HashMap<>();
+        for (Album album : sorted) {
+            groups.computeIfAbsent(key.apply(album), k -> new ArrayList<>(1)).add(album);
+        }
+        for (Map.Entry<K, List<Album>> entry : groups.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(Arrays.asList(entry.getValue().toArray(new Album[0]))));
+        }
+        return groups;
+    }
+
+    // index key for case-insensitive lookups
+    static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return The version number of this snapshot.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return All albums in catalog order, as a read-only view.
+     */
+    public List<Album> getAlbums() {
+        return albums;
+    }
+
+    /**
+     * @param title - The album title, ignoring case.
+     * @return The matching albums in catalog order, as a read-only view.
+     */
+    public List<Album> findByTitle(String title) {
+        return lookup(byTitle, normalize(title));
+    }
+
+    /**
+     * @param artist - The artist name, ignoring case.
+     * @return The matching albums in catalog order, as a read-only view.
+     */
+    public List<Album> findByArtist(String artist) {
+        return lookup(byArtist, normalize(artist));
+    }
+
+    /**
+     * @param genre - The genre, ignoring case.
+     * @return The matching albums in catalog order, as a read-only view.
+     */
+    public List<Album> findByGenre(String genre) {
+        return lookup(byGenre, normalize(genre));
+    }
+
+    /**
+     * @param year - The release year.
+     * @return The matching albums in catalog order, as a read-only view.
+     */
+    public List<Album> findByYear(int year) {
+        return lookup(byYear, year);
+    }
+
+    /**
+     * @return The number of albums per genre, computed when this snapshot was built.
+     */
+    public FacetCounts getGenreCounts() {
+        return genreCounts;
+    }
+
+    /**
+     * @return The number of albums per artist, computed when this snapshot was built.
+     */
+    public FacetCounts getArtistCounts() {
+        return artistCounts;
+    }
+
+    /**
+     * @return All albums sorted by year (catalog order within a year), as a read-only view.
+     */
+    public List<Album> getAlbumsByYear() {
+        return albumsByYear;
+    }
+
+    /**
+     * @return All albums sorted by artist (catalog order within an artist), as a read-only view.
+     */
+    public List<Album> getAlbumsByArtist() {
+        return albumsByArtist;
+    }
+
+    /**
+     * Finds the albums released in a range of years with two binary searches.
+     *
+     * @param from - First year, inclusive.
+     * @param to - Last year, inclusive.
+     * @return The matching albums in year order, as a read-only view.
+     */
+    public List<Album> findByYearRange(int from, int to) {
+        if (from > to) {
+            return Collections.emptyList();
+        }
+        int start = yearBound(from, false);
+        int end = to == Integer.MAX_VALUE ? sortedByYear.length : yearBound(to, true);
+        return albumsByYear.subList(start, end);
+    }
+
+    /**
+     * Finds the albums whose artist falls in a range, ignoring case. For example, the range
+     * "A" to "C" holds every artist starting with A or B.
+     *
+     * @param from - First artist name, inclusive, or null to start at the beginning.
+     * @param to - Artist name to stop before, exclusive, or null to run to the end.
+     * @return The matching albums in artist order, as a read-only view.
+     */
+    public List<Album> findByArtistRange(String from, String to) {
+        return range(sortedByArtist, albumsByArtist, Album::getArtist, from, to);
+    }
+
+    /**
+     * Finds the albums whose title falls in a range, ignoring case.
+     *
+     * @param from - First title, inclusive, or null to start at the beginning.
+     * @param to - Title to stop before, exclusive, or null to run to the end.
+     * @return The matching albums in catalog (title) order, as a read-only view.
+     */
+    public List<Album> findByTitleRange(String from, String to) {
+        return range(sorted, albums, Album::getTitle, from, to);
+    }
+
+    // first index whose year is >= year (or > year when after is true)
+    private int yearBound(int year, boolean after) {
+        int low = 0;
+        int high = sortedByYear.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int midYear = sortedByYear[mid].getYear();
+            if (midYear < year || (after && midYear == year)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static List<Album> range(Album[] array, List<Album> view, Function<Album, String> key, String from, String to) {
+        int start = from == null ? 0 : lowerBound(array, key, from);
+        int end = to == null ? array.length : lowerBound(array, key, to);
+        return start >= end ? Collections.emptyList() : view.subList(start, end);
+    }
+
+    // first index whose key is >= value, ignoring case
+    private static int lowerBound(Album[] array, Function<Album, String> key, String value) {
+        int low = 0;
+        int high = array.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (String.CASE_INSENSITIVE_ORDER.compare(key.apply(array[mid]), value) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static <K> List<Album> lookup(Map<K, List<Album>> index, K key) {
+        List<Album> hits = index.get(key);
+        return hits == null ? Collections.emptyList() : hits;
+    }
+
+    Set<String> listedFiles() {
+        return listedFiles;
+    }
+
+    // album file name -> "AlbumTitle_Artist" key, for CatalogIndexFile
+    Map<String, String> fileKeys() {
+        return Collections.unmodifiableMap(fileKeys);
+    }
+
+    Map<String, List<Album>> titleIndex() {
+        return byTitle;
+    }
+
+    Map<String, List<Album>> artistIndex() {
+        return byArtist;
+    }
+
+    Map<String, List<Album>> genreIndex() {
+        return byGenre;
+    }
+
+    Map<Integer, List<Album>> yearIndex() {
+        return byYear;
+    }
+
+    boolean isListed(String fileName) {
+        return listedFiles.contains(fileName);
+    }
+
+    /**
+     * Builds the next version: the given files are (re)loaded or dropped, and every other
+     * album is shared with this version unchanged.
+     *
+     * @param loaded - Album files that were parsed, mapped to their albums.
+     * @param removed - Album files whose albums should be dropped.
+     * @param listed - Files the master list now names.
+     * @return The new catalog version.
+     */
+    Catalog withChanges(Map<String, Album> loaded, Set<String> removed, Set<String> listed) {
+        Map<String, Album> nextAlbums = new HashMap<>(albumsByKey);
+        Map<String, String> nextFileKeys = new HashMap<>(fileKeys);
+        for (String fileName : removed) {
+            String key = nextFileKeys.remove(fileName);
+            if (key != null) {
+                nextAlbums.remove(key);
+            }
+        }
+        for (Map.Entry<String, Album> entry : loaded.entrySet()) {
+            String oldKey = nextFileKeys.remove(entry.getKey());
+            if (oldKey != null) {
+                nextAlbums.remove(oldKey);
+            }
+            Album album = entry.getValue();
+            String key = album.getTitle() + "_" + album.getArtist();
+            nextAlbums.put(key, album);
+            nextFileKeys.put(entry.getKey(), key);
+        }
+        return build(version + 1, nextAlbums, nextFileKeys, new HashSet<>(listed));
+    }
+}
@@ -0,0 +1,295 @@
+package store;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import model.Album;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This class saves a Catalog's search indexes next to the album files
+ * and maps them back in on the next start, so an unchanged catalog is neither re-read album
+ * by album nor sorted and grouped again.
+ *
+ * The file holds every album's header (title, artist, genre, year and the file it came
+ * from), the year and artist orders, the title, artist, genre and year postings, and which
+ * album each listed file holds. Albums are named by their position in catalog order.
+ *
+ * The header carries a format number and a fingerprint of the catalog: the bytes of the
+ * master list plus the name, size and modification time of every album file it names. If
+ * any of these change, the fingerprint no longer matches and the file is ignored. A
+ * truncated or damaged file is reported as an IOException so the caller can rebuild it.
+ * Files are written to a temporary name and moved into place, so a reader never sees half
+ * of one.
+ */
+public final class CatalogIndexFile {
+
+    // "MLIX", at the start and the end of the file
+    static final int MAGIC = 0x4d4c4958;
+    // bumped whenever the layout changes, so old files are rebuilt
+    static final int FORMAT = 1;
+    // smallest album record: four string lengths and a year; smallest file record
+    private static final int ALBUM_RECORD = 5 * Integer.BYTES;
+    private static final int FILE_RECORD = 2 * Integer.BYTES;
+
+    /**
+     * Makes an album from its saved header. Its songs are read from the album file.
+     */
+    public interface AlbumFactory {
+        Album create(String title, String artist, String genre, int year, String fileName);
+    }
+
+    private CatalogIndexFile() {
+    }
+
+    /**
+     * Fingerprints a catalog without opening its album files: the master list's bytes plus the
+     * name, size and modification time of each listed file. A missing file counts too.
+     *
+     * @param listFile - The master albums file.
+     * @param fileNames - The album files it names.
+     * @return The fingerprint.
+     * @throws IOException If the master file cannot be read.
+     */
+    public static long fingerprint(Path listFile, Collection<String> fileNames) throws IOException {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : Files.readAllBytes(listFile)) {
+            h = (h ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        for (String fileName : fileNames) {
+            h = CountMinSketch.mix(h ^ CountMinSketch.hash(fileName));
+            long size = -1;
+            long modified = -1;
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(Paths.get(fileName), BasicFileAttributes.class);
+                size = attributes.size();
+                modified = attributes.lastModifiedTime().toMillis();
+            } catch (NoSuchFileException e) {
+                // a missing file is part of the fingerprint
+            }
+            h = CountMinSketch.mix(h ^ size);
+            h = CountMinSketch.mix(h ^ modified);
+        }
+        return h;
+    }
+
+    /**
+     * Saves a catalog's albums and indexes.
+     *
+     * @param path - The index file.
+     * @param catalog - The catalog to save.
+     * @param fingerprint - The fingerprint of the files the catalog was loaded from.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(Path path, Catalog catalog, long fingerprint) throws IOException {
+        List<Album> albums = catalog.getAlbums();
+        Map<Album, Integer> ids = new IdentityHashMap<>();
+        for (int i = 0; i < albums.size(); i++) {
+            ids.put(albums.get(i), i);
+        }
+        // the file each album was loaded from, for its track loader
+        Map<String, Album> byKey = new HashMap<>();
+        for (Album album : albums) {
+            byKey.put(album.getTitle() + "_" + album.getArtist(), album);
+        }
+        Map<String, Integer> fileIds = new HashMap<>();
+        String[] sources = new String[albums.size()];
+        for (Map.Entry<String, String> entry : catalog.fileKeys().entrySet()) {
+            Album album = byKey.get(entry.getValue());
+            if (album != null) {
+                int id = ids.get(album);
+                fileIds.put(entry.getKey(), id);
+                sources[id] = entry.getKey();
+            }
+        }
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            out.writeLong(fingerprint);
+            out.writeInt(albums.size());
+            for (int i = 0; i < albums.size(); i++) {
+                Album album = albums.get(i);
+                writeString(out, album.getTitle());
+                writeString(out, album.getArtist());
+                writeString(out, album.getGenre());
+                out.writeInt(album.getYear());
+                writeString(out, sources[i] == null ? "" : sources[i]);
+            }
+            writeOrder(out, catalog.getAlbumsByYear(), ids);
+            writeOrder(out, catalog.getAlbumsByArtist(), ids);
+            writePostings(out, catalog.titleIndex(), ids);
+            writePostings(out, catalog.artistIndex(), ids);
+            writePostings(out, catalog.genreIndex(), ids);
+            out.writeInt(catalog.yearIndex().size());
+            for (Map.Entry<Integer, List<Album>> entry : catalog.yearIndex().entrySet()) {
+                out.writeInt(entry.getKey());
+                writeOrder(out, entry.getValue(), ids);
+            }
+            out.writeInt(fileIds.size());
+            for (Map.Entry<String, Integer> entry : fileIds.entrySet()) {
+                writeString(out, entry.getKey());
+                out.writeInt(entry.getValue());
+            }
+            out.writeInt(MAGIC);
+        }
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static void writeOrder(DataOutputStream out, List<Album> albums, Map<Album, Integer> ids) throws IOException {
+        out.writeInt(albums.size());
+        for (Album album : albums) {
+            out.writeInt(ids.get(album));
+        }
+    }
+
+    private static void writePostings(DataOutputStream out, Map<String, List<Album>> index, Map<Album, Integer> ids) throws IOException {
+        out.writeInt(index.size());
+        for (Map.Entry<String, List<Album>> entry : index.entrySet()) {
+            writeString(out, entry.getKey());
+            writeOrder(out, entry.getValue(), ids);
+        }
+    }
+
+    /**
+     * Maps a saved index back into a catalog snapshot.
+     *
+     * @param path - The index file.
+     * @param fingerprint - The fingerprint of the catalog as it is now.
+     * @param version - The version number to give the snapshot.
+     * @param listedFiles - The files the master list names.
+     * @param factory - Makes each album from its saved header.
+     * @return The snapshot, or null if there is no file or it was saved for another catalog.
+     * @throws IOException If the file cannot be read or is damaged.
+     */
+    public static Catalog read(Path path, long fingerprint, long version, Set<String> listedFiles,
+            AlbumFactory factory) throws IOException {
+        ByteBuffer data;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        try {
+            if (data.getInt() != MAGIC || data.getInt() != FORMAT || data.getLong() != fingerprint) {
+                return null;
+            }
+            int count = checkCount(data.getInt(), data.remaining() / ALBUM_RECORD);
+            Album[] sorted = new Album[count];
+            for (int i = 0; i < count; i++) {
+                String title = readString(data);
+                String artist = readString(data);
+                String genre = readString(data);
+                int year = data.getInt();
+                sorted[i] = factory.create(title, artist, genre, year, readString(data));
+            }
+            int[] yearOrder = readIds(data, count);
+            int[] artistOrder = readIds(data, count);
+            Map<String, int[]> titles = readPostings(data, count);
+            Map<String, int[]> artists = readPostings(data, count);
+            Map<String, int[]> genres = readPostings(data, count);
+            int yearKeys = checkCount(data.getInt(), count);
+            Map<Integer, int[]> years = new HashMap<>(yearKeys * 2);
+            for (int i = 0; i < yearKeys; i++) {
+                int year = data.getInt();
+                years.put(year, readIds(data, count));
+            }
+            int files = checkCount(data.getInt(), data.remaining() / FILE_RECORD);
+            Map<String, Integer> fileIds = new HashMap<>(files * 2);
+            for (int i = 0; i < files; i++) {
+                String fileName = readString(data);
+                fileIds.put(fileName, checkId(data.getInt(), count));
+            }
+            if (yearOrder.length != count || artistOrder.length != count || data.getInt() != MAGIC) {
+                throw new IOException("Damaged catalog index " + path);
+            }
+            return Catalog.restore(version, sorted, yearOrder, artistOrder, titles, artists, genres, years, fileIds,
+                    new HashSet<>(listedFiles));
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Damaged catalog index " + path, e);
+        }
+    }
+
+    private static String readString(ByteBuffer data) {
+        int length = data.getInt();
+        if (length < 0 || length > data.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] utf8 = new byte[length];
+        data.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static int[] readIds(ByteBuffer data, int count) {
+        int length = data.getInt();
+        if (length < 0 || length > count) {
+            throw new IllegalArgumentException("Bad posting length " + length);
+        }
+        int[] ids = new int[length];
+        for (int i = 0; i < length; i++) {
+            ids[i] = checkId(data.getInt(), count);
+        }
+        return ids;
+    }
+
+    // a count read from the file, before anything is allocated for it
+    private static int checkCount(int count, int max) {
+        if (count < 0 || count > max) {
+            throw new IllegalArgumentException("Bad count " + count);
+        }
+        return count;
+    }
+
+    private static int checkId(int id, int count) {
+        if (id < 0 || id >= count) {
+            throw new IllegalArgumentException("Bad album id " + id);
+        }
+        return id;
+    }
+
+    private static Map<String, int[]> readPostings(ByteBuffer data, int count) {
+        int keys = data.getInt();
+        if (keys < 0 || keys > count) {
+            throw new IllegalArgumentException("Bad posting count " + keys);
+        }
+        Map<String, int[]> postings = new HashMap<>(keys * 2);
+        for (int i = 0; i < keys; i++) {
+            String key = readString(data);
+            postings.put(key, readIds(data, count));
+        }
+        return postings;
+    }
+}
@@ -0,0 +1,120 @@
+package store;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This class watches the album folder with a WatchService on a
+ * background daemon thread and tells the MusicStore what changed. An edited album file is
+ * re-parsed on its own, and a change to the master list adds or drops the albums it names.
+ * Events that arrive close together are collected into one reload, so an editor that writes
+ * a file in several steps produces one new catalog version rather than several.
+ */
+public class CatalogWatcher implements AutoCloseable {
+
+    // how long to wait for more events before applying a batch
+    private static final long SETTLE_MILLIS = 200;
+
+    private final MusicStore store;
+    private final String albumsListFile;
+    private final Path listFileName;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    /**
+     * Registers the folder and starts the watcher thread.
+     *
+     * @param store - The store to reload.
+     * @param directory - The folder that holds the album files.
+     * @param albumsListFile - The relative path to the master albums file.
+     * @throws IOException If the folder cannot be watched.
+     */
+    CatalogWatcher(MusicStore store, Path directory, String albumsListFile) throws IOException {
+        this.store = store;
+        this.albumsListFile = albumsListFile;
+        this.listFileName = Paths.get(albumsListFile).getFileName();
+        this.watchService = FileSystems.getDefault().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        this.thread = new Thread(this::run, "catalog-watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Set<String> changedFiles = new LinkedHashSet<>();
+                boolean listChanged = collect(key, changedFiles);
+                // let a burst of writes settle before reloading
+                while ((key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    listChanged |= collect(key, changedFiles);
+                }
+                apply(listChanged, changedFiles);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed: stop watching
+        }
+    }
+
+    // records the album files named by the key's events; returns true if the list changed
+    private boolean collect(WatchKey key, Set<String> changedFiles) {
+        boolean listChanged = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // events were lost, so re-check the list as well
+                listChanged = true;
+                continue;
+            }
+            Path name = (Path) event.context();
+            if (name.equals(listFileName)) {
+                listChanged = true;
+            } else if (name.toString().endsWith(".txt")) {
+                changedFiles.add(MusicStore.ALBUM_DIR + name);
+            }
+        }
+        key.reset();
+        return listChanged;
+    }
+
+    private void apply(boolean listChanged, Set<String> changedFiles) {
+        if (listChanged) {
+            try {
+                store.reloadAlbumList(albumsListFile);
+            } catch (IOException e) {
+                System.out.println("Could not reload album list: " + e.getMessage());
+            }
+        }
+        if (!changedFiles.isEmpty()) {
+            store.reloadAlbumFiles(changedFiles);
+        }
+    }
+
+    /**
+     * Stops watching. The catalog keeps its current version.
+     */
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            System.out.println("Error closing catalog watcher: " + e.getMessage());
+        }
+        thread.interrupt();
+    }
+}
@@ -0,0 +1,133 @@
+package store;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This class is a Count-Min sketch: approximate counts for any number of
+ * keys in a fixed table of depth x width counters. Each key is hashed to one counter per row,
+ * an add increments those counters, and an estimate is the smallest of them. Estimates never
+ * undercount, and with withError(epsilon, delta) they overcount by more than epsilon times the
+ * total only with probability delta.
+ *
+ * Counters are updated with atomic adds, so many threads can add at once without locks. Two
+ * sketches of the same shape can be merged by adding their counters.
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final AtomicLongArray counters;
+    private final AtomicLong total = new AtomicLong();
+
+    /**
+     * @param depth - The number of rows; more rows make large errors rarer.
+     * @param width - The counters per row; wider rows make errors smaller.
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || width < 1) {
+            throw new IllegalArgumentException("Depth and width must be positive");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counters = new AtomicLongArray(depth * width);
+    }
+
+    /**
+     * Sizes a sketch so that an estimate exceeds the true count by more than epsilon times
+     * the total with probability at most delta.
+     *
+     * @param epsilon - The relative error, for example 0.001.
+     * @param delta - The chance of a larger error, for example 0.01.
+     * @return The sketch.
+     */
+    public static CountMinSketch withError(double epsilon, double delta) {
+        int width = (int) Math.ceil(Math.E / epsilon);
+        int depth = (int) Math.ceil(Math.log(1 / delta));
+        return new CountMinSketch(depth, width);
+    }
+
+    /**
+     * A 64-bit hash of a string, for the sketches in this package.
+     *
+     * @param key - The key.
+     * @return Its hash.
+     */
+    public static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    // the MurmurHash3 finalizer, so every bit of the input affects every bit of the output
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    // column of a hash in one row, from two halves of the hash (Kirsch-Mitzenmacher)
+    static int column(long hash, int row, int width) {
+        int combined = (int) hash + row * (int) (hash >>> 32);
+        return (combined & Integer.MAX_VALUE) % width;
+    }
+
+    /**
+     * @param hash - The key's hash, from hash(String).
+     * @param count - How much to add.
+     */
+    public void add(long hash, long count) {
+        for (int row = 0; row < depth; row++) {
+            counters.addAndGet(row * width + column(hash, row, width), count);
+        }
+        total.addAndGet(count);
+    }
+
+    /**
+     * @param hash - The key's hash, from hash(String).
+     * @return An estimate of the key's count that is never too low.
+     */
+    public long estimate(long hash) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.get(row * width + column(hash, row, width)));
+        }
+        return min;
+    }
+
+    /**
+     * @return The sum of every count added.
+     */
+    public long total() {
+        return total.get();
+    }
+
+    /**
+     * Adds another sketch's counts to this one.
+     *
+     * @param other - A sketch with the same depth and width.
+     * @throws IllegalArgumentException If the shapes differ.
+     */
+    public void merge(CountMinSketch other) {
+        if (other.depth != depth || other.width != width) {
+            throw new IllegalArgumentException("Cannot merge sketches of different shapes");
+        }
+        for (int i = 0; i < counters.length(); i++) {
+            long count = other.counters.get(i);
+            if (count != 0) {
+                counters.addAndGet(i, count);
+            }
+        }
+        total.addAndGet(other.total());
+    }
+}
@@ -0,0 +1,380 @@
+package store;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import model.LibraryModel;
+import model.Song;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This class ranks songs, albums, artists and genres across every user's
+ * library, by total plays or by average rating. Copies of the same store song in different
+ * libraries count as one song.
+ *
+ * Each library is summarized once into a partial: four maps of totals, one per kind of
+ * chart. The first build splits the libraries into ranges on a fork-join pool. Each task
+ * summarizes its own range into its own maps, and the maps are merged as the tasks join, so
+ * threads never share a map. The partial of every library is kept with the library's version.
+ * After that, refresh summarizes only the libraries whose version changed, subtracts their old
+ * partial from the totals and adds the new one. A chart query reads the totals only; it checks
+ * each library's version counter but never rescans a library that did not change.
+ */
+public class GlobalCharts {
+
+    /**
+     * What a chart ranks.
+     */
+    public enum Kind {
+        SONGS, ALBUMS, ARTISTS, GENRES
+    }
+
+    /**
+     * How a chart is ordered.
+     */
+    public enum Order {
+        PLAYS, RATING
+    }
+
+    // libraries summarized by one task without splitting further
+    static final int LEAF_LIBRARIES = 4;
+
+    private final ForkJoinPool pool;
+    // the libraries in the charts, with the partial and version each last contributed
+    private final Map<LibraryModel, Contribution> libraries = new IdentityHashMap<>();
+    private final Partial totals = new Partial();
+
+    /**
+     * Creates empty charts that summarize libraries on the common fork-join pool.
+     */
+    public GlobalCharts() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool - The pool used to summarize libraries in parallel.
+     */
+    public GlobalCharts(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Replaces every library in the charts with the given ones and summarizes them in parallel.
+     *
+     * @param all - All users' libraries.
+     */
+    public synchronized void rebuild(Collection<LibraryModel> all) {
+        libraries.clear();
+        totals.clear();
+        List<LibraryModel> list = new ArrayList<>(all);
+        List<Partial> partials = new ArrayList<>(Collections.nCopies(list.size(), (Partial) null));
+        long[] versions = new long[list.size()];
+        for (int i = 0; i < list.size(); i++) {
+            versions[i] = list.get(i).getVersion();
+        }
+        totals.merge(pool.invoke(new Summarize(list, partials, 0, list.size())), 1);
+        for (int i = 0; i < list.size(); i++) {
+            libraries.put(list.get(i), new Contribution(partials.get(i), versions[i]));
+        }
+    }
+
+    /**
+     * Adds a library to the charts, for example a newly registered user's.
+     *
+     * @param library - The library.
+     */
+    public synchronized void add(LibraryModel library) {
+        if (!libraries.containsKey(library)) {
+            Partial partial = Partial.of(library);
+            libraries.put(library, new Contribution(partial, library.getVersion()));
+            totals.merge(partial, 1);
+        }
+    }
+
+    /**
+     * Brings the totals up to date with every library that changed since it was last
+     * summarized. Changed libraries are summarized in parallel.
+     */
+    public synchronized void refresh() {
+        List<LibraryModel> changed = new ArrayList<>();
+        for (Map.Entry<LibraryModel, Contribution> entry : libraries.entrySet()) {
+            if (entry.getKey().getVersion() != entry.getValue().version) {
+                changed.add(entry.getKey());
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        List<Partial> partials = new ArrayList<>(Collections.nCopies(changed.size(), (Partial) null));
+        long[] versions = new long[changed.size()];
+        for (int i = 0; i < changed.size(); i++) {
+            versions[i] = changed.get(i).getVersion();
+        }
+        if (changed.size() > LEAF_LIBRARIES) {
+            pool.invoke(new Summarize(changed, partials, 0, changed.size()));
+        } else {
+            for (int i = 0; i < changed.size(); i++) {
+                partials.set(i, Partial.of(changed.get(i)));
+            }
+        }
+        for (int i = 0; i < changed.size(); i++) {
+            LibraryModel library = changed.get(i);
+            totals.merge(libraries.get(library).partial, -1);
+            totals.merge(partials.get(i), 1);
+            libraries.put(library, new Contribution(partials.get(i), versions[i]));
+        }
+    }
+
+    /**
+     * Ranks one kind of chart, after picking up changed libraries.
+     *
+     * @param kind - Songs, albums, artists or genres.
+     * @param order - By total plays, or by average rating of rated songs.
+     * @param k - The maximum number of entries.
+     * @return Up to k entries, best first.
+     */
+    public synchronized List<Entry> top(Kind kind, Order order, int k) {
+        refresh();
+        List<Tally> ranked = new ArrayList<>();
+        for (Tally tally : totals.of(kind).values()) {
+            if (order == Order.PLAYS ? tally.plays > 0 : tally.ratings > 0) {
+                ranked.add(tally);
+            }
+        }
+        ranked.sort((a, b) -> {
+            int result = order == Order.PLAYS ? Long.compare(b.plays, a.plays)
+                    : Double.compare(b.average(), a.average());
+            if (result == 0) {
+                result = Integer.compare(b.listeners, a.listeners);
+            }
+            return result != 0 ? result : a.label.compareToIgnoreCase(b.label);
+        });
+        List<Entry> result = new ArrayList<>();
+        for (int i = 0; i < ranked.size() && i < k; i++) {
+            Tally tally = ranked.get(i);
+            result.add(new Entry(tally.label, tally.plays, tally.average(), tally.listeners));
+        }
+        return result;
+    }
+
+    /**
+     * @return The number of libraries in the charts.
+     */
+    public synchronized int size() {
+        return libraries.size();
+    }
+
+    private static String fold(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Summarizes a range of libraries into a new partial, storing each library's own partial
+     * at its position. Halves are summarized in parallel and merged as they join.
+     */
+    private static class Summarize extends RecursiveTask<Partial> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<LibraryModel> libraries;
+        private final List<Partial> each;
+        private final int from;
+        private final int to;
+
+        Summarize(List<LibraryModel> libraries, List<Partial> each, int from, int to) {
+            this.libraries = libraries;
+            this.each = each;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from <= LEAF_LIBRARIES) {
+                Partial sum = new Partial();
+                for (int i = from; i < to; i++) {
+                    Partial partial = Partial.of(libraries.get(i));
+                    each.set(i, partial);
+                    sum.merge(partial, 1);
+                }
+                return sum;
+            }
+            int middle = (from + to) >>> 1;
+            Summarize left = new Summarize(libraries, each, from, middle);
+            left.fork();
+            Partial right = new Summarize(libraries, each, middle, to).compute();
+            Partial sum = left.join();
+            sum.merge(right, 1);
+            return sum;
+        }
+    }
+
+    /**
+     * Totals for every kind of chart, either for one library or summed over many.
+     */
+    private static class Partial {
+        private final Map<String, Tally> songs = new HashMap<>();
+        private final Map<String, Tally> albums = new HashMap<>();
+        private final Map<String, Tally> artists = new HashMap<>();
+        private final Map<String, Tally> genres = new HashMap<>();
+
+        // one library's totals; each key counts the library as one listener
+        static Partial of(LibraryModel library) {
+            Partial partial = new Partial();
+            for (Song song : library.getSongs()) {
+                String artist = fold(song.getArtist());
+                String album = fold(song.getAlbumTitle()) + '\n' + artist;
+                partial.count(partial.songs, fold(song.getTitle()) + '\n' + album,
+                        song.getTitle() + " - " + song.getArtist(), song);
+                partial.count(partial.albums, album, song.getAlbumTitle() + " - " + song.getArtist(), song);
+                partial.count(partial.artists, artist, song.getArtist(), song);
+                String genre = library.getGenre(song);
+                if (genre != null) {
+                    partial.count(partial.genres, fold(genre), genre, song);
+                }
+            }
+            return partial;
+        }
+
+        private void count(Map<String, Tally> map, String key, String label, Song song) {
+            Tally tally = map.get(key);
+            if (tally == null) {
+                tally = new Tally(label);
+                tally.listeners = 1;
+                map.put(key, tally);
+            }
+            tally.plays += song.getPlayCount();
+            if (song.getRating() > 0) {
+                tally.ratingSum += song.getRating();
+                tally.ratings++;
+            }
+        }
+
+        Map<String, Tally> of(Kind kind) {
+            switch (kind) {
+                case SONGS:
+                    return songs;
+                case ALBUMS:
+                    return albums;
+                case ARTISTS:
+                    return artists;
+                default:
+                    return genres;
+            }
+        }
+
+        void clear() {
+            for (Kind kind : Kind.values()) {
+                of(kind).clear();
+            }
+        }
+
+        // adds (sign 1) or subtracts (sign -1) another partial's totals
+        void merge(Partial other, int sign) {
+            for (Kind kind : Kind.values()) {
+                Map<String, Tally> into = of(kind);
+                for (Map.Entry<String, Tally> entry : other.of(kind).entrySet()) {
+                    Tally add = entry.getValue();
+                    Tally tally = into.get(entry.getKey());
+                    if (tally == null) {
+                        tally = new Tally(add.label);
+                        into.put(entry.getKey(), tally);
+                    }
+                    tally.plays += sign * add.plays;
+                    tally.ratingSum += sign * add.ratingSum;
+                    tally.ratings += sign * add.ratings;
+                    tally.listeners += sign * add.listeners;
+                    if (tally.listeners <= 0) {
+                        into.remove(entry.getKey());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Running totals for one song, album, artist or genre.
+     */
+    private static class Tally {
+        private final String label;
+        private long plays;
+        private long ratingSum;
+        private int ratings;
+        private int listeners;
+
+        Tally(String label) {
+            this.label = label;
+        }
+
+        double average() {
+            return ratings == 0 ? 0 : (double) ratingSum / ratings;
+        }
+    }
+
+    /**
+     * The previous partial of one library, and the version it was taken at.
+     */
+    private static class Contribution {
+        private final Partial partial;
+        private final long version;
+
+        Contribution(Partial partial, long version) {
+            this.partial = partial;
+            this.version = version;
+        }
+    }
+
+    /**
+     * One line of a chart.
+     */
+    public static class Entry {
+        private final String name;
+        private final long plays;
+        private final double averageRating;
+        private final int listeners;
+
+        Entry(String name, long plays, double averageRating, int listeners) {
+            this.name = name;
+            this.plays = plays;
+            this.averageRating = averageRating;
+            this.listeners = listeners;
+        }
+
+        /**
+         * @return The display name, such as "Title - Artist" for a song.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return Total plays across all libraries.
+         */
+        public long getPlays() {
+            return plays;
+        }
+
+        /**
+         * @return The average rating of rated songs, or 0 if none are rated.
+         */
+        public double getAverageRating() {
+            return averageRating;
+        }
+
+        /**
+         * @return The number of libraries that hold this entry.
+         */
+        public int getListeners() {
+            return listeners;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package store;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This class is a HyperLogLog counter: an estimate of how many distinct
+ * keys were added, in 2^precision one-byte registers no matter how many keys there are. The
+ * standard error is about 1.04 / sqrt(2^precision), so precision 14 (16 KB) is within about
+ * 1% and precision 8 (256 bytes) within about 7%.
+ *
+ * Four registers are packed into each int of an atomic array. A register only ever grows, so
+ * an add is a compare-and-set loop on one int and needs no lock. Two counters of the same
+ * precision merge by taking the larger of each register.
+ */
+public class HyperLogLog {
+
+    private final int precision;
+    private final int registers;
+    private final AtomicIntegerArray packed;
+
+    /**
+     * @param precision - The log2 of the register count, from 4 to 16.
+     */
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("Precision must be 4 to 16: " + precision);
+        }
+        this.precision = precision;
+        this.registers = 1 << precision;
+        this.packed = new AtomicIntegerArray(registers / 4);
+    }
+
+    /**
+     * @param hash - A well-mixed 64-bit hash of the key, such as CountMinSketch.hash.
+     */
+    public void add(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // leading zeros of the remaining bits, plus one; the sentinel bit caps the rank
+        int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+        raise(index, rank);
+    }
+
+    private void raise(int index, int rank) {
+        int slot = index >>> 2;
+        int shift = (index & 3) * 8;
+        while (true) {
+            int word = packed.get(slot);
+            if (((word >>> shift) & 0xff) >= rank) {
+                return;
+            }
+            int updated = (word & ~(0xff << shift)) | (rank << shift);
+            if (packed.compareAndSet(slot, word, updated)) {
+                return;
+            }
+        }
+    }
+
+    private int register(int index) {
+        return (packed.get(index >>> 2) >>> ((index & 3) * 8)) & 0xff;
+    }
+
+    /**
+     * @return The estimated number of distinct keys added.
+     */
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (int i = 0; i < registers; i++) {
+            int value = register(i);
+            sum += 1.0 / (1L << value);
+            if (value == 0) {
+                zeros++;
+            }
+        }
+        double alpha = registers == 16 ? 0.673 : registers == 32 ? 0.697
+                : registers == 64 ? 0.709 : 0.7213 / (1 + 1.079 / registers);
+        double estimate = alpha * registers * registers / sum;
+        // small counts are more accurate from the share of empty registers
+        if (estimate <= 2.5 * registers && zeros > 0) {
+            estimate = registers * Math.log((double) registers / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Adds every key counted by another counter to this one.
+     *
+     * @param other - A counter with the same precision.
+     * @throws IllegalArgumentException If the precisions differ.
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge counters of different precision");
+        }
+        for (int i = 0; i < registers; i++) {
+            int rank = other.register(i);
+            if (rank > 0) {
+                raise(i, rank);
+            }
+        }
+    }
+}
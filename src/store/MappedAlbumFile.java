@@ -0,0 +1,255 @@
+package store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This class gives read access to a catalog text file (the master
+ * albums list or a single album file) by memory-mapping it. Opening the file makes a
+ * single pass over the UTF-8 bytes to record where each line starts and ends, with
+ * surrounding whitespace already trimmed. No String is created until a caller reads a line
+ * or a comma-separated field, and then only that field is decoded.
+ *
+ * Instances are not thread-safe. They reuse one scratch buffer for decoding.
+ */
+public class MappedAlbumFile {
+
+    private final ByteBuffer data;
+    // trimmed [start, end) byte range of every line
+    private int[] lineStart;
+    private int[] lineEnd;
+    private int lineCount;
+    private byte[] scratch = new byte[128];
+
+    private MappedAlbumFile(ByteBuffer data, int maxLines) {
+        this.data = data;
+        this.lineStart = new int[Math.min(maxLines, 64)];
+        this.lineEnd = new int[Math.min(maxLines, 64)];
+        indexLines(maxLines);
+    }
+
+    /**
+     * Memory-maps the given file read-only and indexes its lines.
+     *
+     * @param path - The file to open.
+     * @return The mapped file.
+     * @throws IOException If the file cannot be opened or mapped.
+     */
+    public static MappedAlbumFile open(Path path) throws IOException {
+        return open(path, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Memory-maps the given file read-only and indexes at most its first maxLines lines.
+     * Reading only the header of an album file this way touches just the first page.
+     *
+     * @param path - The file to open.
+     * @param maxLines - The number of lines to index.
+     * @return The mapped file.
+     * @throws IOException If the file cannot be opened or mapped.
+     */
+    public static MappedAlbumFile open(Path path, int maxLines) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            return new MappedAlbumFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), maxLines);
+        }
+    }
+
+    /**
+     * Wraps bytes that are already in memory, for example a section of a larger file.
+     *
+     * @param data - The UTF-8 text, from its position to its limit.
+     * @return The indexed file.
+     */
+    public static MappedAlbumFile wrap(ByteBuffer data) {
+        return new MappedAlbumFile(data.slice(), Integer.MAX_VALUE);
+    }
+
+    // one pass over the bytes: record line bounds, trimming ASCII whitespace and '\r'
+    private void indexLines(int maxLines) {
+        int limit = data.limit();
+        int pos = 0;
+        // skip a UTF-8 byte order mark
+        if (limit >= 3 && (data.get(0) & 0xFF) == 0xEF && (data.get(1) & 0xFF) == 0xBB && (data.get(2) & 0xFF) == 0xBF) {
+            pos = 3;
+        }
+        while (pos < limit && lineCount < maxLines) {
+            int end = pos;
+            while (end < limit && data.get(end) != '\n') {
+                end++;
+            }
+            addLine(pos, end);
+            pos = end + 1;
+        }
+    }
+
+    private void addLine(int start, int end) {
+        while (start < end && isSpace(data.get(start))) {
+            start++;
+        }
+        while (end > start && isSpace(data.get(end - 1))) {
+            end--;
+        }
+        if (lineCount == lineStart.length) {
+            lineStart = Arrays.copyOf(lineStart, lineCount * 2);
+            lineEnd = Arrays.copyOf(lineEnd, lineCount * 2);
+        }
+        lineStart[lineCount] = start;
+        lineEnd[lineCount] = end;
+        lineCount++;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\f';
+    }
+
+    /**
+     * @return The number of lines in the file, including blank lines.
+     */
+    public int lineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Checks whether a line is empty after trimming, without decoding it.
+     *
+     * @param line - The zero-based line number.
+     * @return true if the line has no content.
+     */
+    public boolean isBlank(int line) {
+        return lineStart[line] == lineEnd[line];
+    }
+
+    /**
+     * Decodes a whole trimmed line.
+     *
+     * @param line - The zero-based line number.
+     * @return The line's text.
+     */
+    public String line(int line) {
+        return decode(lineStart[line], lineEnd[line]);
+    }
+
+    /**
+     * Copies a whole trimmed line into a string arena without decoding it.
+     *
+     * @param line - The zero-based line number.
+     * @param arena - The arena to store the line in.
+     * @return The line's handle in the arena.
+     */
+    public int internLine(int line, StringArena arena) {
+        return arena.intern(data, lineStart[line], lineEnd[line] - lineStart[line]);
+    }
+
+    /**
+     * Counts the comma-separated fields on a line without decoding it.
+     *
+     * @param line - The zero-based line number.
+     * @return The number of fields (1 plus the number of commas).
+     */
+    public int fieldCount(int line) {
+        int count = 1;
+        for (int i = lineStart[line]; i < lineEnd[line]; i++) {
+            if (data.get(i) == ',') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Decodes one trimmed comma-separated field of a line.
+     *
+     * @param line - The zero-based line number.
+     * @param index - The zero-based field index.
+     * @return The field's text, or null if the line has fewer fields.
+     */
+    public String field(int line, int index) {
+        long bounds = fieldBounds(line, index);
+        if (bounds < 0) {
+            return null;
+        }
+        return decode((int) (bounds >>> 32), (int) bounds);
+    }
+
+    /**
+     * Parses one field as a decimal integer straight from the bytes.
+     *
+     * @param line - The zero-based line number.
+     * @param index - The zero-based field index.
+     * @return The parsed value.
+     * @throws NumberFormatException If the field is missing or not a number.
+     */
+    public int intField(int line, int index) {
+        long bounds = fieldBounds(line, index);
+        if (bounds < 0) {
+            throw new NumberFormatException("Missing field " + index + " on line " + (line + 1));
+        }
+        int start = (int) (bounds >>> 32);
+        int end = (int) bounds;
+        boolean negative = start < end && data.get(start) == '-';
+        int pos = negative ? start + 1 : start;
+        if (pos == end || end - pos > 9) {
+            throw new NumberFormatException("For input string: \"" + decode(start, end) + "\"");
+        }
+        int value = 0;
+        for (; pos < end; pos++) {
+            int digit = data.get(pos) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("For input string: \"" + decode(start, end) + "\"");
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    // trimmed [start, end) of a field packed as start << 32 | end, or -1 if it does not exist
+    private long fieldBounds(int line, int index) {
+        int start = lineStart[line];
+        int end = lineEnd[line];
+        for (int i = 0; i < index; i++) {
+            while (start < end && data.get(start) != ',') {
+                start++;
+            }
+            if (start == end) {
+                return -1;
+            }
+            start++;
+        }
+        int fieldEnd = start;
+        while (fieldEnd < end && data.get(fieldEnd) != ',') {
+            fieldEnd++;
+        }
+        while (start < fieldEnd && isSpace(data.get(start))) {
+            start++;
+        }
+        while (fieldEnd > start && isSpace(data.get(fieldEnd - 1))) {
+            fieldEnd--;
+        }
+        return ((long) start << 32) | fieldEnd;
+    }
+
+    private String decode(int start, int end) {
+        int length = end - start;
+        if (length == 0) {
+            return "";
+        }
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        // absolute bulk get without moving the shared buffer's position
+        ByteBuffer view = data.duplicate();
+        view.position(start);
+        view.get(scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+}
@@ -1,7 +1,15 @@
 package store;
 
 import java.io.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 import model.Album;
 import model.Song;
 
@@ -15,16 +23,58 @@ import model.Song;
  * AlbumTitle,Artist. For each line, the corresponding album file is expected to be in the
  * "albums" folder, with a name formatted as: AlbumTitle_Artist.txt
  * The album file's first line should be: Album Title,Artist,Genre,Year
+ * In lazy mode only that header line is read at load time, and each album's track list is
+ * read from its file the first time the album's songs are needed.
+ * The catalog can also be loaded on a background thread; a search made before it is ready
+ * waits for it.
  */
 public class MusicStore {
-    // private field
-    private Map<String, Album> albums;
+    // folder that holds the album files named by the master list
+    static final String ALBUM_DIR = "albums/";
+    // search results kept in the cache
+    static final int SEARCH_CACHE_SIZE = 256;
+
+    // current catalog version; readers take one snapshot per call, reloads swap it
+    private final AtomicReference<Catalog> catalog;
+    // the load started by loadAlbumsInBackground; searches wait for it
+    private volatile CompletableFuture<Boolean> pending;
+    // serializes reloads so two writers never build from the same version
+    private final Object writeLock = new Object();
+    // when true, album track lists are loaded on first use instead of at startup
+    private boolean lazy;
+    // recent search results for the current catalog version
+    private final SearchCache searchCache = new SearchCache(SEARCH_CACHE_SIZE);
+    // off-heap storage for song text, or null to keep it in String fields
+    private final StringArena arena;
 
     /**
      * This constructs a new MusicStore with an empty album collection.
      */
     public MusicStore() {
-        albums = new HashMap<>();
+        this(false);
+    }
+
+    /**
+     * This constructs a new MusicStore with an empty album collection.
+     *
+     * @param lazy - true to read only album headers at load time and load each album's
+     *               songs the first time they are needed
+     */
+    public MusicStore(boolean lazy) {
+        this(lazy, null);
+    }
+
+    /**
+     * This constructs a new MusicStore whose songs keep their title, artist and album title
+     * in an off-heap string arena (see ArenaSong).
+     *
+     * @param lazy - true to load each album's songs the first time they are needed
+     * @param arena - the arena for song text, or null to use ordinary Songs
+     */
+    public MusicStore(boolean lazy, StringArena arena) {
+        catalog = new AtomicReference<>(Catalog.EMPTY);
+        this.lazy = lazy;
+        this.arena = arena;
     }
 
     /**
@@ -36,69 +86,353 @@ public class MusicStore {
      * @throws IOException If an I/O error occurs while reading the file
      */
     public void loadAlbums(String albumsListFile) throws IOException {
-        BufferedReader br = new BufferedReader(new FileReader(albumsListFile));
-        String line;
-        while ((line = br.readLine()) != null) {
-            // Split the line into album title and artist.
-            String[] parts = line.split(",");
-            if (parts.length != 2) {
+        Set<String> listed = readAlbumList(albumsListFile);
+        synchronized (writeLock) {
+            loadListed(listed);
+        }
+    }
+
+    /**
+     * Loads albums like loadAlbums(String), but keeps the catalog's indexes in a file next to
+     * the catalog (see CatalogIndexFile). If the file was saved for the same master list and
+     * album files, the catalog is mapped from it and no album file is opened until its songs
+     * are needed. Otherwise the albums are loaded as usual and the file is saved again.
+     * The index file is only used when the store is still empty.
+     *
+     * @param albumsListFile The relative path to the master albums file
+     * @param indexFile The index file, for example "albums/albums.idx"
+     * @return true if the catalog was restored from the index file
+     * @throws IOException If an I/O error occurs while reading the master file
+     */
+    public boolean loadAlbums(String albumsListFile, String indexFile) throws IOException {
+        Set<String> listed = readAlbumList(albumsListFile);
+        Path index = Paths.get(indexFile);
+        synchronized (writeLock) {
+            Catalog current = catalog.get();
+            if (!current.listedFiles().isEmpty()) {
+                loadListed(listed);
+                return false;
+            }
+            long fingerprint = CatalogIndexFile.fingerprint(Paths.get(albumsListFile), listed);
+            try {
+                Catalog restored = CatalogIndexFile.read(index, fingerprint, current.getVersion() + 1, listed, this::headerAlbum);
+                if (restored != null) {
+                    catalog.set(restored);
+                    return true;
+                }
+            } catch (IOException e) {
+                // a damaged index is rebuilt below
+            }
+            loadListed(listed);
+            try {
+                CatalogIndexFile.write(index, catalog.get(), fingerprint);
+            } catch (IOException e) {
+                System.out.println("Could not save catalog index " + indexFile + ": " + e.getMessage());
+            }
+            return false;
+        }
+    }
+
+    // loads the listed album files into the next catalog version; the caller holds writeLock
+    private void loadListed(Set<String> listed) throws IOException {
+        Catalog current = catalog.get();
+        Map<String, Album> loaded = new LinkedHashMap<>();
+        for (String fileName : listed) {
+            Album album = loadAlbum(fileName);
+            if (album != null) {
+                loaded.put(fileName, album);
+            }
+        }
+        Set<String> allListed = new HashSet<>(current.listedFiles());
+        allListed.addAll(listed);
+        catalog.set(current.withChanges(loaded, Collections.emptySet(), allListed));
+    }
+
+    /**
+     * Starts loadAlbums(String, String) on a background thread and returns at once, so the
+     * application can show its first prompt while the catalog loads. A search made before
+     * the load is done waits for it, so it never sees a half-empty catalog.
+     *
+     * @param albumsListFile The relative path to the master albums file
+     * @param indexFile The index file, for example "albums/albums.idx"
+     * @return Completes with true if the catalog was restored from the index file, or with
+     *         the error that stopped the load
+     */
+    public CompletableFuture<Boolean> loadAlbumsInBackground(String albumsListFile, String indexFile) {
+        CompletableFuture<Boolean> loading = new CompletableFuture<>();
+        pending = loading;
+        Thread thread = new Thread(() -> {
+            try {
+                loading.complete(loadAlbums(albumsListFile, indexFile));
+            } catch (IOException | RuntimeException e) {
+                loading.completeExceptionally(e);
+            }
+        }, "catalog-loader");
+        thread.setDaemon(true);
+        thread.start();
+        return loading;
+    }
+
+    /**
+     * Checks whether a background load is still running, without waiting for it.
+     *
+     * @return true if searches would run now without waiting.
+     */
+    public boolean isCatalogReady() {
+        CompletableFuture<Boolean> loading = pending;
+        return loading == null || loading.isDone();
+    }
+
+    // the current snapshot, once any background load has finished
+    private Catalog snapshot() {
+        CompletableFuture<Boolean> loading = pending;
+        if (loading != null && !loading.isDone()) {
+            try {
+                loading.join();
+            } catch (CompletionException | CancellationException e) {
+                // the error goes to whoever started the load; searches see what was loaded
+            }
+        }
+        return catalog.get();
+    }
+
+    /**
+     * Reads the master albums file and returns the album file names it lists, in order.
+     *
+     * @param albumsListFile The relative path to the master albums file
+     * @return The album file names, for example "albums/19_Adele.txt"
+     * @throws IOException If an I/O error occurs while reading the file
+     */
+    private Set<String> readAlbumList(String albumsListFile) throws IOException {
+        MappedAlbumFile list = MappedAlbumFile.open(Paths.get(albumsListFile));
+        Set<String> fileNames = new LinkedHashSet<>();
+        for (int line = 0; line < list.lineCount(); line++) {
+            // Each line holds the album title and artist.
+            if (list.fieldCount(line) != 2) {
                 continue; // Skip malformed lines.
             }
-            String albumTitle = parts[0].trim();
-            String artist = parts[1].trim();
+            String albumTitle = list.field(line, 0);
+            String artist = list.field(line, 1);
             // Construct the filename: for example, "albums/19_Adele.txt"
-            String fileName = "albums/" + albumTitle + "_" + artist + ".txt";
-            loadAlbum(fileName);
+            fileNames.add(ALBUM_DIR + albumTitle + "_" + artist + ".txt");
+        }
+        return fileNames;
+    }
+
+    /**
+     * Re-reads the master albums file. Albums that were added to the list are loaded, albums
+     * that were taken off it are dropped, and all other albums are kept as they are.
+     *
+     * @param albumsListFile The relative path to the master albums file
+     * @throws IOException If the master file cannot be read
+     */
+    public void reloadAlbumList(String albumsListFile) throws IOException {
+        Set<String> listed = readAlbumList(albumsListFile);
+        synchronized (writeLock) {
+            Catalog current = catalog.get();
+            Map<String, Album> loaded = new LinkedHashMap<>();
+            for (String fileName : listed) {
+                if (!current.isListed(fileName)) {
+                    Album album = loadAlbumQuietly(fileName);
+                    if (album != null) {
+                        loaded.put(fileName, album);
+                    }
+                }
+            }
+            Set<String> removed = new HashSet<>(current.listedFiles());
+            removed.removeAll(listed);
+            catalog.set(current.withChanges(loaded, removed, listed));
+        }
+    }
+
+    /**
+     * Re-parses only the given album files and publishes a new catalog version. Files that
+     * are not on the master list are ignored, and a deleted file drops its album. A file that
+     * cannot be parsed keeps its previous album, so a half-written edit never empties it.
+     *
+     * @param fileNames Album file names as listed, for example "albums/19_Adele.txt"
+     */
+    public void reloadAlbumFiles(Collection<String> fileNames) {
+        synchronized (writeLock) {
+            Catalog current = catalog.get();
+            Map<String, Album> loaded = new LinkedHashMap<>();
+            Set<String> removed = new HashSet<>();
+            for (String fileName : fileNames) {
+                if (!current.isListed(fileName)) {
+                    continue;
+                }
+                if (!new File(fileName).exists()) {
+                    removed.add(fileName);
+                    continue;
+                }
+                Album album = loadAlbumQuietly(fileName);
+                if (album != null) {
+                    loaded.put(fileName, album);
+                }
+            }
+            if (!loaded.isEmpty() || !removed.isEmpty()) {
+                catalog.set(current.withChanges(loaded, removed, current.listedFiles()));
+            }
+        }
+    }
+
+    /**
+     * Starts watching the album folder and reloads changed album files (or the master list)
+     * as they change. Searches keep running against the previous version until the new one
+     * is published.
+     *
+     * @param albumsListFile The relative path to the master albums file
+     * @return The running watcher, which should be closed when no longer needed
+     * @throws IOException If the folder cannot be watched
+     */
+    public CatalogWatcher watchCatalog(String albumsListFile) throws IOException {
+        return new CatalogWatcher(this, Paths.get(ALBUM_DIR), albumsListFile);
+    }
+
+    /**
+     * Returns the version number of the current catalog. It increases every time albums are
+     * loaded or reloaded.
+     *
+     * @return The current catalog version.
+     */
+    public long getCatalogVersion() {
+        return snapshot().getVersion();
+    }
+
+    // loads an album during a reload, keeping the old version if the file is unreadable
+    private Album loadAlbumQuietly(String fileName) {
+        try {
+            return loadAlbum(fileName);
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Could not reload album " + fileName + ": " + e.getMessage());
+            return null;
         }
-        br.close();
     }
 
     /**
      * Loads a single album from its file. The album file should have:
      * The first line, header in the format of Album Title,Artist,Genre,Year.
      * Rest of the lines containing the song titles, in the order they appear on the album
+     * The file is memory-mapped and read as UTF-8, and only the fields that are used
+     * get decoded into strings (see MappedAlbumFile).
      *
      * @param fileName The relative file path to the album file
+     * @return The album, or null if the file is missing or has no valid header
      * @throws IOException If an I/O error occurs while reading the file
      */
-    private void loadAlbum(String fileName) throws IOException {
+    private Album loadAlbum(String fileName) throws IOException {
         File file = new File(fileName);
         if (!file.exists()) {
             System.out.println("Could not load albums: " + fileName + " (No such file or directory)");
-            return;
-        }
-        BufferedReader br = new BufferedReader(new FileReader(file));
-        String header = br.readLine();
-        if (header == null) {
-            br.close();
-            return;
+            return null;
         }
+        // in lazy mode only the header line is indexed
+        MappedAlbumFile albumFile = MappedAlbumFile.open(file.toPath(), lazy ? 1 : Integer.MAX_VALUE);
         // parse the header Album Title,Artist,Genre,Year
-        String[] headerParts = header.split(",");
-        if (headerParts.length != 4) {
-            br.close();
-            return;
+        if (albumFile.lineCount() == 0 || albumFile.fieldCount(0) != 4) {
+            return null;
         }
-        String albumTitle = headerParts[0].trim();
-        String artist = headerParts[1].trim();
-        String genre = headerParts[2].trim();
-        int year = Integer.parseInt(headerParts[3].trim());
+        String albumTitle = albumFile.field(0, 0);
+        String artist = albumFile.field(0, 1);
+        String genre = albumFile.field(0, 2);
+        int year = albumFile.intField(0, 3);
         // creates a new Album object
-        Album album = new Album(albumTitle, artist, genre, year);
-        // read and add songs to the album
-        String songTitle;
-        while ((songTitle = br.readLine()) != null) {
-            songTitle = songTitle.trim();
-            if (songTitle.isEmpty()) {
+        Album album;
+        if (lazy) {
+            album = new Album(albumTitle, artist, genre, year, () -> loadTracks(file, artist, albumTitle));
+        } else {
+            album = new Album(albumTitle, artist, genre, year, readTracks(albumFile, artist, albumTitle));
+        }
+        return album;
+    }
+
+    /**
+     * Makes an album from a header saved in the catalog index, without opening its file.
+     * Its songs are read from the file when first needed, or right away when not lazy.
+     */
+    private Album headerAlbum(String albumTitle, String artist, String genre, int year, String fileName) {
+        File file = new File(fileName);
+        if (lazy) {
+            return new Album(albumTitle, artist, genre, year, () -> loadTracks(file, artist, albumTitle));
+        }
+        return new Album(albumTitle, artist, genre, year, loadTracks(file, artist, albumTitle));
+    }
+
+    /**
+     * Reads the song titles that follow the header line of an album file.
+     *
+     * @param albumFile The mapped album file
+     * @param artist The album's artist
+     * @param albumTitle The album's title
+     * @return The songs in track order
+     */
+    private List<Song> readTracks(MappedAlbumFile albumFile, String artist, String albumTitle) {
+        List<Song> songs = new ArrayList<>();
+        // with an arena, titles are copied from the mapped bytes and never decoded here
+        int artistHandle = arena == null ? 0 : arena.intern(artist);
+        int albumHandle = arena == null ? 0 : arena.intern(albumTitle);
+        for (int line = 1; line < albumFile.lineCount(); line++) {
+            if (albumFile.isBlank(line)) {
                 continue;
             }
-            Song song = new Song(songTitle, artist, albumTitle);
-            album.addSong(song);
+            if (arena == null) {
+                songs.add(new Song(albumFile.line(line), artist, albumTitle));
+            } else {
+                songs.add(new ArenaSong(arena, albumFile.internLine(line, arena), artistHandle, albumHandle));
+            }
+        }
+        return songs;
+    }
+
+    /**
+     * Track loader for lazily loaded albums: maps the album file again and reads its songs.
+     * If the file can no longer be read the album is left without songs.
+     */
+    private List<Song> loadTracks(File file, String artist, String albumTitle) {
+        try {
+            return readTracks(MappedAlbumFile.open(file.toPath()), artist, albumTitle);
+        } catch (IOException e) {
+            System.out.println("Could not load songs for " + albumTitle + ": " + e.getMessage());
+            return new ArrayList<>();
         }
-        br.close();
-        // store the album in the map
-        String key = albumTitle + "_" + artist;
-        albums.put(key, album);
+    }
+
+    /**
+     * Returns the current catalog snapshot. The snapshot never changes, so it can be handed
+     * to any number of threads and read without locking, even while a reload is running.
+     *
+     * @return The current Catalog.
+     */
+    public Catalog getCatalog() {
+        return snapshot();
+    }
+
+    /**
+     * Runs a combined album query against the current catalog snapshot. The query starts
+     * from its most selective index and filters lazily (see AlbumQuery).
+     *
+     * @param query - The query to run
+     * @return A lazy stream of matching albums
+     */
+    public Stream<Album> query(AlbumQuery query) {
+        return query.run(snapshot());
+    }
+
+    /**
+     * Streams a window of the catalog in catalog order (title, then artist). The order is
+     * stable, so consecutive windows page through the catalog without gaps or repeats as
+     * long as the catalog is not reloaded in between.
+     *
+     * @param offset - The number of albums to skip
+     * @param limit - The maximum number of albums to return
+     * @return A lazy stream over the requested albums
+     */
+    public Stream<Album> streamAlbums(long offset, long limit) {
+        List<Album> albums = snapshot().getAlbums();
+        int from = (int) Math.min(Math.max(offset, 0), albums.size());
+        int to = (int) Math.min(from + Math.max(limit, 0), albums.size());
+        // the catalog is an array-backed view, so a window is a sublist, not a skip
+        return albums.subList(from, to).stream();
     }
 
     /**
@@ -108,13 +442,8 @@ public class MusicStore {
      * @return list of Album objects matching the title
      */
     public List<Album> searchAlbumByTitle(String title) {
-        List<Album> result = new ArrayList<>();
-        for (Album album : albums.values()) {
-            if (album.getTitle().equalsIgnoreCase(title)) {
-                result.add(album);
-            }
-        }
-        return result;
+        Catalog snapshot = snapshot();
+        return new ArrayList<>(cached(snapshot, "title", title, () -> snapshot.findByTitle(title)));
     }
 
     /**
@@ -124,13 +453,8 @@ public class MusicStore {
      * @return list of Album objects matching the artist
      */
     public List<Album> searchAlbumByArtist(String artist) {
-        List<Album> result = new ArrayList<>();
-        for (Album album : albums.values()) {
-            if (album.getArtist().equalsIgnoreCase(artist)) {
-                result.add(album);
-            }
-        }
-        return result;
+        Catalog snapshot = snapshot();
+        return new ArrayList<>(cached(snapshot, "artist", artist, () -> snapshot.findByArtist(artist)));
     }
 
     /**
@@ -140,13 +464,8 @@ public class MusicStore {
      * @return list of Album objects matching the genre
      */
     public List<Album> searchAlbumByGenre(String genre) {
-        List<Album> result = new ArrayList<>();
-        for (Album album : albums.values()) {
-            if (album.getGenre().equalsIgnoreCase(genre)) {
-                result.add(album);
-            }
-        }
-        return result;
+        Catalog snapshot = snapshot();
+        return new ArrayList<>(cached(snapshot, "genre", genre, () -> snapshot.findByGenre(genre)));
     }
 
     /**
@@ -156,15 +475,34 @@ public class MusicStore {
      * @return list of Album objects released in that year
      */
     public List<Album> searchAlbumByYear(int year) {
-        List<Album> result = new ArrayList<>();
-        for (Album album : albums.values()) {
-            if (album.getYear() == year) {
-                result.add(album);
-            }
-        }
-        return result;
+        return new ArrayList<>(snapshot().findByYear(year));
     }
     
+    /**
+     * This class searches for albums released in a range of years, using the catalog's
+     * year-sorted index
+     *
+     * @param from - The first release year, inclusive
+     * @param to - The last release year, inclusive
+     * @return list of Album objects in that range, sorted by year
+     */
+    public List<Album> searchAlbumByYearRange(int from, int to) {
+        return new ArrayList<>(snapshot().findByYearRange(from, to));
+    }
+
+    /**
+     * This class lists the albums whose artist falls in a range (case-insensitive), in
+     * artist order, for browsing alphabetically. For example "A" to "C" covers artists
+     * starting with A or B. Either bound may be null to leave that end open.
+     *
+     * @param from - The first artist name, inclusive
+     * @param to - The artist name to stop before, exclusive
+     * @return list of Album objects in that range, sorted by artist
+     */
+    public List<Album> browseAlbumsByArtist(String from, String to) {
+        return new ArrayList<>(snapshot().findByArtistRange(from, to));
+    }
+
     /**
      * This class searches for songs by artist across all albums
      *
@@ -172,24 +510,48 @@ public class MusicStore {
      * @return list of Song objects by the specified artist
      */
     public List<Song> searchSongsByArtist(String artist) {
-        List<Song> result = new ArrayList<>();
-        for (Album album : albums.values()) {
-            for (Song song : album.getSongs()) {
-                if (song.getArtist().equalsIgnoreCase(artist)) {
-                    result.add(song);
-                }
+        Catalog snapshot = snapshot();
+        return new ArrayList<>(cached(snapshot, "songs", artist, () -> {
+            List<Song> result = new ArrayList<>();
+            // store songs carry their album's artist, so only that artist's albums are read
+            for (Album album : snapshot.findByArtist(artist)) {
+                result.addAll(album.getSongs());
             }
-        }
-        return result;
+            return Collections.unmodifiableList(result);
+        }));
+    }
+    
+    // looks a search up in the cache for the snapshot's version; the cached list is shared
+    // and read-only, so every public search still returns the caller's own copy
+    private <T> List<T> cached(Catalog snapshot, String kind, String query, Supplier<List<T>> search) {
+        return searchCache.get(snapshot.getVersion(), kind + '\n' + Catalog.normalize(query), search);
     }
     
     /**
-     * This class returns a list of all albums loaded in the MusicStore.
+     * Returns the store's search cache, for its hit, miss and eviction counts.
+     *
+     * @return The search cache.
+     */
+    public SearchCache getSearchCache() {
+        return searchCache;
+    }
+    
+    /**
+     * Returns the arena holding song text, for its size.
+     *
+     * @return The arena, or null if songs keep their text in String fields.
+     */
+    public StringArena getStringArena() {
+        return arena;
+    }
+    
+    /**
+     * This class returns all albums loaded in the MusicStore, in catalog order. The list is a
+     * read-only view of the current snapshot and is not copied.
      *
      * @return List of all Album objects.
      */
     public List<Album> getAllAlbums() {
-        return new ArrayList<>(albums.values());
+        return snapshot().getAlbums();
     }
 }
-
@@ -0,0 +1,471 @@
+package store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import model.Album;
+import model.LibraryModel;
+import model.Playlist;
+import model.Song;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This class recommends store songs to a user. It combines two signals.
+ * The first is the user's affinity for artists and genres. Each song in the library adds a
+ * weight based on its play count, rating and favorite flag. The second is co-occurrence:
+ * how often two store songs appear in the same playlist or favorites list, across every
+ * user's library.
+ *
+ * Libraries are added in a batch with rebuild, or one at a time with update. An update
+ * replaces only that library's contribution to the counts. The counts are kept as sparse
+ * maps. After each change a table of the top NEIGHBORS songs for every affected song is
+ * recomputed. Each contribution is stamped with the library's version and its playlists' edit
+ * counts, and keeps the user's affinity profile, so a recommendation for an unchanged library
+ * recounts and rescans nothing. It reads only the neighbors of the songs the user owns and
+ * the albums of their favorite artists, never the whole catalog. Songs get ids only when
+ * their album is first needed, so building the engine loads no album. Songs the user already
+ * owns are never recommended.
+ *
+ * The engine is tied to one catalog snapshot. When the store reloads, build a new engine.
+ */
+public class RecommendationEngine {
+
+    // neighbors kept per song
+    static final int NEIGHBORS = 20;
+    // songs per list counted for co-occurrence; bounds the quadratic pair count
+    static final int MAX_LIST = 200;
+    // artists and genres from the user's profile used to find candidates
+    private static final int TOP_ARTISTS = 5;
+    private static final int TOP_GENRES = 2;
+    // how much each signal contributes to a candidate's score
+    private static final double CO_WEIGHT = 1.0;
+    private static final double ARTIST_WEIGHT = 0.5;
+    private static final double GENRE_WEIGHT = 0.25;
+
+    private final Catalog catalog;
+    // store songs by id, in the order their albums were first needed
+    private final List<Song> songs = new ArrayList<>();
+    private final List<String> genres = new ArrayList<>();
+    private final Map<String, Integer> ids = new HashMap<>();
+    // albums whose songs have ids; only these albums' songs have been loaded
+    private final Set<Album> registered = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    // song id -> (other song id -> number of lists holding both)
+    private final Map<Integer, Map<Integer, Integer>> coCounts = new HashMap<>();
+    // song id -> number of lists holding it
+    private final Map<Integer, Integer> listCounts = new HashMap<>();
+    // what each library contributed, so an update can subtract it
+    private final Map<LibraryModel, Contribution> contributions = new HashMap<>();
+    // songs whose neighbor rows are out of date
+    private final Set<Integer> dirty = new HashSet<>();
+    // precomputed top-K neighbor table
+    private final Map<Integer, Neighbors> neighbors = new HashMap<>();
+
+    /**
+     * Creates an engine over the songs of a catalog snapshot. No album is read here: a song
+     * gets an id when its album first shows up in a user's list or among the candidates, so
+     * lazily loaded albums stay unloaded until a recommendation needs them.
+     *
+     * @param catalog - The store catalog.
+     */
+    public RecommendationEngine(Catalog catalog) {
+        this.catalog = catalog;
+    }
+
+    // gives every song of an album an id, loading its songs if needed
+    private void register(Album album) {
+        if (!registered.add(album)) {
+            return;
+        }
+        for (Song song : album.getSongs()) {
+            if (ids.putIfAbsent(key(song), songs.size()) == null) {
+                songs.add(song);
+                genres.add(album.getGenre());
+            }
+        }
+    }
+
+    // the id of a store song, registering its album; null if the song is not in the store
+    private Integer idOf(Song song) {
+        Integer id = ids.get(key(song));
+        if (id != null) {
+            return id;
+        }
+        boolean found = false;
+        for (Album album : catalog.findByTitle(song.getAlbumTitle())) {
+            if (album.getArtist().equalsIgnoreCase(song.getArtist()) && !registered.contains(album)) {
+                register(album);
+                found = true;
+            }
+        }
+        return found ? ids.get(key(song)) : null;
+    }
+
+    // identity of a song across libraries, where copies of a store song may be separate objects
+    static String key(Song song) {
+        return song.getTitle().toLowerCase(Locale.ROOT) + '\n'
+                + song.getArtist().toLowerCase(Locale.ROOT) + '\n'
+                + song.getAlbumTitle().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Replaces every library's contribution with the given libraries, in one batch.
+     *
+     * @param libraries - All users' libraries.
+     */
+    public synchronized void rebuild(Collection<LibraryModel> libraries) {
+        coCounts.clear();
+        listCounts.clear();
+        contributions.clear();
+        neighbors.clear();
+        dirty.clear();
+        for (LibraryModel library : libraries) {
+            addLists(library);
+        }
+        refresh();
+    }
+
+    /**
+     * Adds a library, or replaces what it contributed before, and refreshes the neighbor
+     * rows of the songs whose counts changed.
+     *
+     * @param library - A user's library.
+     */
+    public synchronized void update(LibraryModel library) {
+        Contribution old = contributions.remove(library);
+        if (old != null) {
+            for (int[] list : old.lists) {
+                count(list, -1);
+            }
+        }
+        addLists(library);
+        refresh();
+    }
+
+    private void addLists(LibraryModel library) {
+        long[] stamp = stamp(library);
+        List<int[]> lists = new ArrayList<>();
+        for (Playlist playlist : library.getAllPlaylists()) {
+            addList(lists, playlist.getSongs());
+        }
+        addList(lists, library.getFavorites());
+        for (int[] list : lists) {
+            count(list, 1);
+        }
+        contributions.put(library, new Contribution(stamp, lists));
+    }
+
+    // the library's version and each playlist's edit count; equal stamps mean nothing changed
+    private static long[] stamp(LibraryModel library) {
+        Collection<Playlist> playlists = library.getAllPlaylists();
+        long[] stamp = new long[playlists.size() + 1];
+        stamp[0] = library.getVersion();
+        int i = 1;
+        for (Playlist playlist : playlists) {
+            stamp[i++] = playlist.getEdits();
+        }
+        return stamp;
+    }
+
+    // keeps the distinct store songs of a list, capped at MAX_LIST
+    private void addList(List<int[]> lists, Collection<Song> list) {
+        Set<Integer> distinct = new LinkedHashSet<>();
+        for (Song song : list) {
+            Integer id = idOf(song);
+            if (id != null && distinct.size() < MAX_LIST) {
+                distinct.add(id);
+            }
+        }
+        if (distinct.size() > 1) {
+            lists.add(distinct.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    // adds (delta 1) or removes (delta -1) one list's pairs
+    private void count(int[] list, int delta) {
+        for (int a : list) {
+            bump(listCounts, a, delta);
+            Map<Integer, Integer> row = coCounts.computeIfAbsent(a, k -> new HashMap<>());
+            for (int b : list) {
+                if (a != b) {
+                    bump(row, b, delta);
+                }
+            }
+            if (row.isEmpty()) {
+                coCounts.remove(a);
+            }
+            dirty.add(a);
+        }
+    }
+
+    private static void bump(Map<Integer, Integer> counts, int key, int delta) {
+        int next = counts.getOrDefault(key, 0) + delta;
+        if (next > 0) {
+            counts.put(key, next);
+        } else {
+            counts.remove(key);
+        }
+    }
+
+    // recomputes the neighbor rows of every changed song
+    private void refresh() {
+        for (int id : dirty) {
+            Map<Integer, Integer> row = coCounts.get(id);
+            if (row == null) {
+                neighbors.remove(id);
+                continue;
+            }
+            PriorityQueue<Scored> top = new PriorityQueue<>();
+            double own = listCounts.getOrDefault(id, 1);
+            for (Map.Entry<Integer, Integer> entry : row.entrySet()) {
+                int other = entry.getKey();
+                // cosine similarity of the two songs' list memberships
+                double similarity = entry.getValue() / Math.sqrt(own * listCounts.getOrDefault(other, 1));
+                offer(top, new Scored(other, similarity), NEIGHBORS);
+            }
+            neighbors.put(id, Neighbors.from(top));
+        }
+        dirty.clear();
+    }
+
+    /**
+     * Recommends store songs for a user. If the library or its playlists changed since they
+     * were last counted, its lists are folded into the co-occurrence counts and its profile is
+     * rebuilt first, so recent changes are taken into account.
+     *
+     * @param library - The user's library.
+     * @param n - The maximum number of songs.
+     * @return Up to n store songs the user does not own, best first.
+     */
+    public synchronized List<Song> recommend(LibraryModel library, int n) {
+        Contribution contribution = contributions.get(library);
+        if (contribution == null || !Arrays.equals(contribution.stamp, stamp(library))) {
+            update(library);
+            contribution = contributions.get(library);
+        }
+        if (n <= 0) {
+            return Collections.emptyList();
+        }
+        if (contribution.profile == null) {
+            contribution.profile = new Profile(library);
+        }
+        Profile profile = contribution.profile;
+        Map<String, Double> artistAffinity = profile.artistAffinity;
+        Map<String, Double> genreAffinity = profile.genreAffinity;
+        Map<Integer, Double> owned = profile.owned;
+        Set<Integer> ownedIds = owned.keySet();
+        double maxWeight = profile.maxWeight;
+
+        // candidates: neighbors of owned songs, then songs by the user's top artists
+        Map<Integer, Double> scores = new HashMap<>();
+        for (Map.Entry<Integer, Double> entry : owned.entrySet()) {
+            Neighbors row = neighbors.get(entry.getKey());
+            if (row == null || maxWeight == 0) {
+                continue;
+            }
+            double weight = entry.getValue() / maxWeight;
+            for (int i = 0; i < row.ids.length; i++) {
+                if (!ownedIds.contains(row.ids[i])) {
+                    scores.merge(row.ids[i], CO_WEIGHT * weight * row.weights[i], Double::sum);
+                }
+            }
+        }
+        for (String artist : top(artistAffinity, TOP_ARTISTS)) {
+            addCandidates(scores, ownedIds, catalog.findByArtist(artist), Integer.MAX_VALUE);
+        }
+        // fall back to the user's top genres when the other signals find too little
+        for (String genre : top(genreAffinity, TOP_GENRES)) {
+            if (scores.size() >= n) {
+                break;
+            }
+            addCandidates(scores, ownedIds, catalog.findByGenre(genre), n - scores.size());
+        }
+
+        PriorityQueue<Scored> best = new PriorityQueue<>();
+        for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+            int id = entry.getKey();
+            double score = entry.getValue()
+                    + ARTIST_WEIGHT * artistAffinity.getOrDefault(songs.get(id).getArtist().toLowerCase(Locale.ROOT), 0.0)
+                    + GENRE_WEIGHT * genreAffinity.getOrDefault(genres.get(id).toLowerCase(Locale.ROOT), 0.0);
+            offer(best, new Scored(id, score), n);
+        }
+        Neighbors ranked = Neighbors.from(best);
+        List<Song> result = new ArrayList<>(ranked.ids.length);
+        for (int id : ranked.ids) {
+            result.add(songs.get(id));
+        }
+        return result;
+    }
+
+    // how strongly a song reflects the user's taste
+    private static double weight(Song song) {
+        double weight = 1 + Math.log1p(song.getPlayCount());
+        if (song.getRating() > 0) {
+            weight += song.getRating() - 3;
+        }
+        if (song.isFavorite()) {
+            weight += 1;
+        }
+        return Math.max(weight, 0);
+    }
+
+    /**
+     * A user's profile: sparse artist and genre affinity vectors, and the weights of the store
+     * songs they own.
+     */
+    private class Profile {
+        private final Map<String, Double> artistAffinity = new HashMap<>();
+        private final Map<String, Double> genreAffinity = new HashMap<>();
+        private final Map<Integer, Double> owned = new HashMap<>();
+        private final double maxWeight;
+
+        Profile(LibraryModel library) {
+            for (Song song : library.getSongs()) {
+                double weight = weight(song);
+                Integer id = idOf(song);
+                if (id != null) {
+                    owned.merge(id, weight, Double::sum);
+                }
+                String genre = library.getGenre(song);
+                if (genre == null && id != null) {
+                    genre = genres.get(id);
+                }
+                artistAffinity.merge(song.getArtist().toLowerCase(Locale.ROOT), weight, Double::sum);
+                if (genre != null) {
+                    genreAffinity.merge(genre.toLowerCase(Locale.ROOT), weight, Double::sum);
+                }
+            }
+            normalize(artistAffinity);
+            normalize(genreAffinity);
+            double max = 0;
+            for (double weight : owned.values()) {
+                max = Math.max(max, weight);
+            }
+            this.maxWeight = max;
+        }
+    }
+
+    private void addCandidates(Map<Integer, Double> scores, Set<Integer> ownedIds, List<Album> albums, int max) {
+        int added = 0;
+        for (Album album : albums) {
+            if (added >= max) {
+                return;
+            }
+            register(album);
+            for (Song song : album.getSongs()) {
+                if (added >= max) {
+                    return;
+                }
+                Integer id = ids.get(key(song));
+                if (id != null && !ownedIds.contains(id) && scores.putIfAbsent(id, 0.0) == null) {
+                    added++;
+                }
+            }
+        }
+    }
+
+    // scales a sparse vector to unit length
+    private static void normalize(Map<String, Double> vector) {
+        double sum = 0;
+        for (double value : vector.values()) {
+            sum += value * value;
+        }
+        if (sum > 0) {
+            double norm = Math.sqrt(sum);
+            vector.replaceAll((k, v) -> v / norm);
+        }
+    }
+
+    private static List<String> top(Map<String, Double> vector, int k) {
+        List<Map.Entry<String, Double>> entries = new ArrayList<>(vector.entrySet());
+        entries.removeIf(entry -> entry.getValue() <= 0);
+        entries.sort((a, b) -> {
+            int byValue = Double.compare(b.getValue(), a.getValue());
+            return byValue != 0 ? byValue : a.getKey().compareTo(b.getKey());
+        });
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < entries.size() && i < k; i++) {
+            keys.add(entries.get(i).getKey());
+        }
+        return keys;
+    }
+
+    // keeps the k best entries in a min-heap
+    private static void offer(PriorityQueue<Scored> heap, Scored entry, int k) {
+        heap.add(entry);
+        if (heap.size() > k) {
+            heap.poll();
+        }
+    }
+
+    /**
+     * The lists one library contributed, the stamp it had then, and its profile once built.
+     */
+    private static class Contribution {
+        private final long[] stamp;
+        private final List<int[]> lists;
+        private Profile profile;
+
+        Contribution(long[] stamp, List<int[]> lists) {
+            this.stamp = stamp;
+            this.lists = lists;
+        }
+    }
+
+    /**
+     * A song id with a score. The natural order puts the worst entry first, so a heap of
+     * these keeps the best k; ties go to the song that got its id first.
+     */
+    private static class Scored implements Comparable<Scored> {
+        private final int id;
+        private final double score;
+
+        Scored(int id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(Scored other) {
+            int byScore = Double.compare(score, other.score);
+            return byScore != 0 ? byScore : Integer.compare(other.id, id);
+        }
+    }
+
+    /**
+     * One row of the neighbor table: song ids and their weights, best first.
+     */
+    private static class Neighbors {
+        private final int[] ids;
+        private final double[] weights;
+
+        private Neighbors(int size) {
+            this.ids = new int[size];
+            this.weights = new double[size];
+        }
+
+        // drains a min-heap into a best-first row
+        static Neighbors from(PriorityQueue<Scored> heap) {
+            Neighbors row = new Neighbors(heap.size());
+            for (int i = heap.size() - 1; i >= 0; i--) {
+                Scored entry = heap.poll();
+                row.ids[i] = entry.id;
+                row.weights[i] = entry.score;
+            }
+            return row;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package store;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This class caches store search results by normalized query, for one
+ * catalog version at a time. It holds at most 'capacity' results and evicts the least
+ * recently used one when full.
+ *
+ * Every lookup passes the version of the catalog snapshot it searches. When a newer version
+ * appears, the whole cache is replaced by an empty one for that version, so a reload can never
+ * serve a stale result and no entry has to be checked one by one. A lookup from an older
+ * snapshot, still running after a reload, is computed but not cached.
+ *
+ * The map is locked only to read or store an entry. Results are computed outside the lock, so
+ * a slow search never blocks the others; two threads missing the same key at once may both
+ * compute it. Hits, misses, evictions and invalidations are counted with LongAdders.
+ */
+public class SearchCache {
+
+    private final int capacity;
+    private final AtomicReference<Generation> current;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * @param capacity - The most results kept.
+     */
+    public SearchCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.current = new AtomicReference<>(new Generation(Long.MIN_VALUE));
+    }
+
+    /**
+     * Returns the cached result for a query, computing and caching it on a miss. Cached
+     * results are shared between callers, so they must not be changed.
+     *
+     * @param version - The version of the catalog the search runs against.
+     * @param key - The normalized query, including what kind of search it is.
+     * @param search - Runs the search on a miss.
+     * @return The result.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(long version, String key, Supplier<T> search) {
+        Generation generation = generation(version);
+        if (generation == null) {
+            misses.increment();
+            return search.get();
+        }
+        Object cached;
+        synchronized (generation) {
+            cached = generation.get(key);
+        }
+        if (cached != null) {
+            hits.increment();
+            return (T) cached;
+        }
+        misses.increment();
+        T result = search.get();
+        synchronized (generation) {
+            generation.put(key, result);
+        }
+        return result;
+    }
+
+    // the cache for a version, starting a new one if the version is newer; null if older
+    private Generation generation(long version) {
+        while (true) {
+            Generation generation = current.get();
+            if (generation.version == version) {
+                return generation;
+            }
+            if (generation.version > version) {
+                return null;
+            }
+            if (current.compareAndSet(generation, new Generation(version))) {
+                if (generation.version != Long.MIN_VALUE) {
+                    invalidations.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The number of cached results.
+     */
+    public int size() {
+        Generation generation = current.get();
+        synchronized (generation) {
+            return generation.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The number of results dropped because the cache was full.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return The number of times a new catalog version emptied the cache.
+     */
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    @Override
+    public String toString() {
+        long h = getHits();
+        long total = h + getMisses();
+        return String.format("%d cached, %d hits, %d misses (%.0f%% hit rate), %d evicted, %d invalidated",
+                size(), h, total - h, total == 0 ? 0.0 : 100.0 * h / total, getEvictions(), getInvalidations());
+    }
+
+    /**
+     * The results cached for one catalog version, in least recently used order. Callers
+     * lock the generation around get and put.
+     */
+    private class Generation {
+        private final long version;
+        private final LinkedHashMap<String, Object> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        Generation(long version) {
+            this.version = version;
+        }
+
+        Object get(String key) {
+            return entries.get(key);
+        }
+
+        // stores a result, dropping the least recently used one when full
+        void put(String key, Object value) {
+            entries.put(key, value);
+            if (entries.size() > capacity) {
+                Iterator<String> eldest = entries.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+
+        int size() {
+            return entries.size();
+        }
+    }
+}
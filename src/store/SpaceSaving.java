@@ -0,0 +1,149 @@
+package store;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This class finds the most frequent keys in a stream with the
+ * Space-Saving algorithm, in a fixed number of counters. A new key takes over the smallest
+ * counter and inherits its count, which is remembered as that key's possible error. Any key
+ * seen more than total / capacity times is guaranteed to be kept.
+ *
+ * Its methods are synchronized. TrendingSketches spreads its sessions over several
+ * summaries, so each lock is shared by only a few writers. Summaries are combined with merge.
+ */
+public class SpaceSaving {
+
+    private final int capacity;
+    private final String[] keys;
+    private final String[] labels;
+    private final long[] counts;
+    private final long[] errors;
+    private final Map<String, Integer> slots = new HashMap<>();
+    private int size;
+
+    /**
+     * @param capacity - The number of keys tracked.
+     */
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.keys = new String[capacity];
+        this.labels = new String[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+    }
+
+    /**
+     * Counts occurrences of a key.
+     *
+     * @param key - The key compared for equality.
+     * @param label - The key's display name.
+     * @param count - The number of occurrences.
+     */
+    public synchronized void offer(String key, String label, long count) {
+        offer(key, label, count, 0);
+    }
+
+    private void offer(String key, String label, long count, long error) {
+        Integer slot = slots.get(key);
+        if (slot != null) {
+            counts[slot] += count;
+            errors[slot] += error;
+            return;
+        }
+        int target;
+        long inherited = 0;
+        if (size < capacity) {
+            target = size++;
+        } else {
+            target = 0;
+            for (int i = 1; i < capacity; i++) {
+                if (counts[i] < counts[target]) {
+                    target = i;
+                }
+            }
+            inherited = counts[target];
+            slots.remove(keys[target]);
+        }
+        keys[target] = key;
+        labels[target] = label;
+        counts[target] = inherited + count;
+        errors[target] = inherited + error;
+        slots.put(key, target);
+    }
+
+    /**
+     * Adds another summary's counts to this one.
+     *
+     * @param other - The summary to add.
+     */
+    public void merge(SpaceSaving other) {
+        List<Entry> entries = other.top(other.capacity);
+        synchronized (this) {
+            for (Entry entry : entries) {
+                offer(entry.key, entry.label, entry.count, entry.error);
+            }
+        }
+    }
+
+    /**
+     * @param n - The maximum number of keys.
+     * @return Up to n tracked keys, highest count first.
+     */
+    public synchronized List<Entry> top(int n) {
+        List<Entry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entries.add(new Entry(keys[i], labels[i], counts[i], errors[i]));
+        }
+        entries.sort((a, b) -> Long.compare(b.count, a.count));
+        return entries.size() > n ? new ArrayList<>(entries.subList(0, n)) : entries;
+    }
+
+    /**
+     * One tracked key.
+     */
+    public static class Entry {
+        private final String key;
+        private final String label;
+        private final long count;
+        private final long error;
+
+        Entry(String key, String label, long count, long error) {
+            this.key = key;
+            this.label = label;
+            this.count = count;
+            this.error = error;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * @return An upper bound on the key's count.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return How much of the count may belong to keys this one replaced.
+         */
+        public long getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package store;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This class stores catalog strings off the Java heap. Each distinct
+ * string is written once as UTF-8 into large direct ByteBuffer chunks and is named by an int
+ * handle. The handle's offset, length and hash are kept in three primitive arrays, so a
+ * million song titles cost a few arrays and chunks instead of a million String objects for
+ * the garbage collector to trace.
+ *
+ * Interning the same text twice returns the same handle, so two handles are equal exactly
+ * when their text is. get builds a new String on every call; shared builds one the first time
+ * a handle is read and returns it after that, so text that is read again and again, such as
+ * a song's title, artist and album, is decoded once and only for the songs actually read.
+ * Text can be interned straight from a mapped file's bytes without decoding it first.
+ *
+ * The arena only grows. A catalog reload interns unchanged titles to their existing handles,
+ * so it grows only by new text. Interning is synchronized; reading a handle needs no lock.
+ */
+public class StringArena {
+
+    // bytes per chunk; longer strings get a chunk of their own
+    static final int CHUNK_SIZE = 1 << 20;
+
+    // direct chunks; only the last one is written to
+    private volatile ByteBuffer[] chunks = new ByteBuffer[0];
+    private int used = CHUNK_SIZE;
+
+    // per handle: chunk << 32 | offset, byte length and hash
+    private volatile long[] where = new long[256];
+    private volatile int[] lengths = new int[256];
+    private volatile int[] hashes = new int[256];
+    private int count;
+    private long bytes;
+
+    // open-addressing table of handle + 1; 0 marks an empty slot
+    private int[] table = new int[512];
+
+    // Strings decoded on first read, by handle
+    private volatile String[] shared = new String[256];
+
+    /**
+     * Stores a string, or finds it if it is already stored.
+     *
+     * @param text - The text.
+     * @return Its handle.
+     */
+    public int intern(String text) {
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        return intern(ByteBuffer.wrap(utf8), 0, utf8.length);
+    }
+
+    /**
+     * Stores UTF-8 bytes, or finds them if the same text is already stored.
+     *
+     * @param source - The buffer holding the bytes.
+     * @param offset - The index of the first byte.
+     * @param length - The number of bytes.
+     * @return The handle.
+     */
+    public synchronized int intern(ByteBuffer source, int offset, int length) {
+        int hash = hash(source, offset, length);
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        while (table[slot] != 0) {
+            int handle = table[slot] - 1;
+            if (hashes[handle] == hash && lengths[handle] == length && sameBytes(handle, source, offset)) {
+                return handle;
+            }
+            slot = (slot + 1) & mask;
+        }
+        int handle = append(source, offset, length, hash);
+        table[slot] = handle + 1;
+        if (count * 2 > table.length) {
+            rehash();
+        }
+        return handle;
+    }
+
+    private int append(ByteBuffer source, int offset, int length, int hash) {
+        ByteBuffer[] current = chunks;
+        if (used + length > CHUNK_SIZE || current.length == 0) {
+            current = Arrays.copyOf(current, current.length + 1);
+            current[current.length - 1] = ByteBuffer.allocateDirect(Math.max(CHUNK_SIZE, length));
+            chunks = current;
+            used = 0;
+        }
+        int chunk = current.length - 1;
+        current[chunk].put(used, source, offset, length);
+        if (count == where.length) {
+            long[] grownWhere = Arrays.copyOf(where, count * 2);
+            int[] grownLengths = Arrays.copyOf(lengths, count * 2);
+            int[] grownHashes = Arrays.copyOf(hashes, count * 2);
+            where = grownWhere;
+            lengths = grownLengths;
+            hashes = grownHashes;
+        }
+        where[count] = ((long) chunk << 32) | used;
+        lengths[count] = length;
+        hashes[count] = hash;
+        // a chunk sized for one long string is full after it
+        used = length > CHUNK_SIZE ? CHUNK_SIZE : used + length;
+        bytes += length;
+        return count++;
+    }
+
+    private void rehash() {
+        int[] grown = new int[table.length * 2];
+        int mask = grown.length - 1;
+        for (int handle = 0; handle < count; handle++) {
+            int slot = hashes[handle] & mask;
+            while (grown[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            grown[slot] = handle + 1;
+        }
+        table = grown;
+    }
+
+    private boolean sameBytes(int handle, ByteBuffer source, int offset) {
+        ByteBuffer chunk = chunks[(int) (where[handle] >>> 32)];
+        int start = (int) where[handle];
+        for (int i = 0; i < lengths[handle]; i++) {
+            if (chunk.get(start + i) != source.get(offset + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // FNV-1a over the bytes, then a final mix so the low bits spread well in the table
+    private static int hash(ByteBuffer source, int offset, int length) {
+        int h = 0x811c9dc5;
+        for (int i = 0; i < length; i++) {
+            h ^= source.get(offset + i);
+            h *= 0x01000193;
+        }
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h;
+    }
+
+    /**
+     * Builds a String from a handle, for display.
+     *
+     * @param handle - A handle from intern.
+     * @return The text.
+     */
+    public String get(int handle) {
+        long at = where[handle];
+        byte[] utf8 = new byte[lengths[handle]];
+        chunks[(int) (at >>> 32)].get((int) at, utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Builds a String from a handle once and returns that same String on every later call,
+     * so reading the same text again does not allocate.
+     *
+     * @param handle - A handle from intern.
+     * @return The text.
+     */
+    public String shared(int handle) {
+        String[] cache = shared;
+        if (handle < cache.length && cache[handle] != null) {
+            return cache[handle];
+        }
+        String text = get(handle);
+        synchronized (this) {
+            if (handle >= shared.length) {
+                shared = Arrays.copyOf(shared, Math.max(handle + 1, shared.length * 2));
+            }
+            if (shared[handle] == null) {
+                shared[handle] = text;
+            }
+            return shared[handle];
+        }
+    }
+
+    /**
+     * @param handle - A handle from intern.
+     * @return The length of the text in UTF-8 bytes.
+     */
+    public int length(int handle) {
+        return lengths[handle];
+    }
+
+    /**
+     * @return The number of distinct strings stored.
+     */
+    public synchronized int size() {
+        return count;
+    }
+
+    /**
+     * @return The bytes of text stored off the heap.
+     */
+    public synchronized long bytesUsed() {
+        return bytes;
+    }
+}
@@ -0,0 +1,261 @@
+package store;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import model.LibraryListener;
+import model.PlayHistory;
+import model.Song;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This class tracks what is trending across the store from play events,
+ * in fixed memory, using probabilistic sketches instead of exact per-song counters:
+ *
+ *   - a Count-Min sketch estimates the plays of every song and album;
+ *   - a fixed set of Space-Saving summaries keeps the heavy-hitter candidates;
+ *   - a grid of small HyperLogLog counters, indexed like a Count-Min sketch, estimates the
+ *     unique listeners of every song and album; and
+ *   - one larger HyperLogLog estimates the unique listeners overall.
+ *
+ * Each user session is a LibraryListener on that user's library, so every
+ * LibraryModel.playSong is recorded. The shared sketches are updated with atomic operations
+ * and no locks. Sessions are spread over STRIPES summaries, each guarded by its own lock, so
+ * memory stays fixed however many sessions open or merges happen. A trending query merges the
+ * stripes' candidates and ranks them by their Count-Min estimates. Two TrendingSketches, for
+ * example from two servers, merge stripe by stripe.
+ */
+public class TrendingSketches {
+
+    // heavy-hitter candidates kept per summary, and summaries the sessions are spread over
+    static final int TOP_K = 64;
+    static final int STRIPES = 8;
+    // unique-listener grid: rows, counters per row, and precision of each counter
+    static final int GRID_DEPTH = 2;
+    static final int GRID_WIDTH = 512;
+    static final int GRID_PRECISION = 8;
+    // precision of the store-wide unique-listener counter
+    static final int LISTENER_PRECISION = 14;
+
+    private final CountMinSketch plays = CountMinSketch.withError(0.001, 0.01);
+    private final HyperLogLog[] listenerGrid = new HyperLogLog[GRID_DEPTH * GRID_WIDTH];
+    private final HyperLogLog listeners = new HyperLogLog(LISTENER_PRECISION);
+    // heavy-hitter candidates, one summary per stripe
+    private final SpaceSaving[] songSummaries = new SpaceSaving[STRIPES];
+    private final SpaceSaving[] albumSummaries = new SpaceSaving[STRIPES];
+    private final AtomicInteger sessions = new AtomicInteger();
+
+    /**
+     * Creates empty sketches.
+     */
+    public TrendingSketches() {
+        for (int i = 0; i < listenerGrid.length; i++) {
+            listenerGrid[i] = new HyperLogLog(GRID_PRECISION);
+        }
+        for (int i = 0; i < STRIPES; i++) {
+            songSummaries[i] = new SpaceSaving(TOP_K);
+            albumSummaries[i] = new SpaceSaving(TOP_K);
+        }
+    }
+
+    /**
+     * Starts recording one user's plays. Add the session to the user's library as a listener.
+     *
+     * @param userName - The listener, counted once per song however often they play it.
+     * @return The session.
+     */
+    public Session openSession(String userName) {
+        return new Session(userName, Math.floorMod(sessions.getAndIncrement(), STRIPES));
+    }
+
+    static String songKey(Song song) {
+        return RecommendationEngine.key(song);
+    }
+
+    static String albumKey(Song song) {
+        return "album\n" + song.getAlbumTitle().toLowerCase(Locale.ROOT) + '\n'
+                + song.getArtist().toLowerCase(Locale.ROOT);
+    }
+
+    private void count(long item, long listener) {
+        plays.add(item, 1);
+        for (int row = 0; row < GRID_DEPTH; row++) {
+            listenerGrid[row * GRID_WIDTH + CountMinSketch.column(item, row, GRID_WIDTH)].add(listener);
+        }
+    }
+
+    private long listenersOf(long item) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < GRID_DEPTH; row++) {
+            min = Math.min(min, listenerGrid[row * GRID_WIDTH + CountMinSketch.column(item, row, GRID_WIDTH)].estimate());
+        }
+        return min;
+    }
+
+    /**
+     * @param k - The maximum number of songs.
+     * @return The most played songs, by estimated plays.
+     */
+    public List<Trend> trendingSongs(int k) {
+        return trending(true, k);
+    }
+
+    /**
+     * @param k - The maximum number of albums.
+     * @return The most played albums, by estimated plays.
+     */
+    public List<Trend> trendingAlbums(int k) {
+        return trending(false, k);
+    }
+
+    private List<Trend> trending(boolean songs, int k) {
+        SpaceSaving merged = new SpaceSaving(TOP_K);
+        for (SpaceSaving summary : songs ? songSummaries : albumSummaries) {
+            merged.merge(summary);
+        }
+        List<Trend> result = new ArrayList<>();
+        for (SpaceSaving.Entry entry : merged.top(TOP_K)) {
+            long item = CountMinSketch.hash(entry.getKey());
+            result.add(new Trend(entry.getLabel(), plays.estimate(item), listenersOf(item)));
+        }
+        result.sort((a, b) -> Long.compare(b.plays, a.plays));
+        return result.size() > k ? new ArrayList<>(result.subList(0, k)) : result;
+    }
+
+    /**
+     * @param song - A song.
+     * @return Its estimated plays across all sessions; never too low.
+     */
+    public long estimatePlays(Song song) {
+        return plays.estimate(CountMinSketch.hash(songKey(song)));
+    }
+
+    /**
+     * @param song - A song.
+     * @return The estimated number of different users who played it.
+     */
+    public long estimateListeners(Song song) {
+        return listenersOf(CountMinSketch.hash(songKey(song)));
+    }
+
+    /**
+     * @return The estimated number of different users who played anything.
+     */
+    public long uniqueListeners() {
+        return listeners.estimate();
+    }
+
+    /**
+     * @return The total number of plays recorded.
+     */
+    public long totalPlays() {
+        // each play counts once for its song and once for its album
+        return plays.total() / 2;
+    }
+
+    /**
+     * Adds everything another instance has recorded so far to this one.
+     *
+     * @param other - The sketches to add.
+     */
+    public void merge(TrendingSketches other) {
+        plays.merge(other.plays);
+        for (int i = 0; i < listenerGrid.length; i++) {
+            listenerGrid[i].merge(other.listenerGrid[i]);
+        }
+        listeners.merge(other.listeners);
+        for (int i = 0; i < STRIPES; i++) {
+            songSummaries[i].merge(other.songSummaries[i]);
+            albumSummaries[i].merge(other.albumSummaries[i]);
+        }
+    }
+
+    /**
+     * Records one user's plays as a listener on their library.
+     */
+    public class Session implements LibraryListener {
+        private final long listener;
+        private final SpaceSaving songs;
+        private final SpaceSaving albums;
+
+        Session(String userName, int stripe) {
+            this.listener = CountMinSketch.hash(userName);
+            this.songs = songSummaries[stripe];
+            this.albums = albumSummaries[stripe];
+        }
+
+        @Override
+        public void songPlayed(Song song) {
+            record(song);
+        }
+
+        /**
+         * Records one play of a song.
+         *
+         * @param song - The song played.
+         */
+        public void record(Song song) {
+            String songKey = songKey(song);
+            String albumKey = albumKey(song);
+            count(CountMinSketch.hash(songKey), listener);
+            count(CountMinSketch.hash(albumKey), listener);
+            listeners.add(listener);
+            songs.offer(songKey, song.getTitle() + " - " + song.getArtist(), 1);
+            albums.offer(albumKey, song.getAlbumTitle() + " - " + song.getArtist(), 1);
+        }
+
+        /**
+         * Replays the plays in a user's history from a given time on, for example the last
+         * week at startup.
+         *
+         * @param history - The user's play history.
+         * @param since - The earliest play to include, in epoch seconds.
+         */
+        public void replay(PlayHistory history, long since) {
+            int first = history.size();
+            while (first > 0 && history.timeAt(first - 1) >= since) {
+                first--;
+            }
+            for (int i = first; i < history.size(); i++) {
+                record(history.songAt(i));
+            }
+        }
+    }
+
+    /**
+     * One trending song or album.
+     */
+    public static class Trend {
+        private final String name;
+        private final long plays;
+        private final long listeners;
+
+        Trend(String name, long plays, long listeners) {
+            this.name = name;
+            this.plays = plays;
+            this.listeners = listeners;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return Estimated plays; never too low.
+         */
+        public long getPlays() {
+            return plays;
+        }
+
+        /**
+         * @return Estimated number of different users who played it.
+         */
+        public long getListeners() {
+            return listeners;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import model.Album;
+import store.AlbumQuery;
+import store.MusicStore;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Test Description: This test class verifies combined store queries built with AlbumQuery.
+ * It tests genre, artist and year-range conditions together, sorting and limits, and that
+ * the planner starts from the most selective index.
+ *
+ * Framework: JUnit 5
+ */
+public class AlbumQueryTest {
+
+    private MusicStore store;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        store = new MusicStore();
+        store.loadAlbums("albums/albums.txt");
+    }
+
+    private List<String> titles(AlbumQuery query) {
+        return store.query(query).map(Album::getTitle).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testCombinedConditions() {
+        List<String> rock = titles(new AlbumQuery().genre("rock").years(2005, 2010).sortBy(AlbumQuery.BY_YEAR));
+        assertEquals(List.of("Don't Mess With the Dragon", "Waking Up"), rock);
+
+        assertEquals(List.of("Waking Up"), titles(new AlbumQuery().genre("Rock").years(2005, 2010).artist("OneRepublic")));
+        assertTrue(titles(new AlbumQuery().genre("Rock").artist("Adele")).isEmpty());
+    }
+
+    @Test
+    public void testSortAndLimit() {
+        List<String> oldest = titles(new AlbumQuery().sortBy(AlbumQuery.BY_YEAR).limit(2));
+        assertEquals(List.of("Coat of Many Colors", "Tapestry"), oldest);
+
+        List<String> adele = titles(new AlbumQuery().artist("adele").where(album -> album.getYear() > 2010));
+        assertEquals(List.of("21"), adele);
+    }
+
+    @Test
+    public void testPlannerPicksSmallestIndex() {
+        AlbumQuery query = new AlbumQuery().genre("Alternative").artist("Coldplay");
+        assertEquals("artist index (1 candidates)", query.explain(store.getCatalog()));
+
+        AlbumQuery byYear = new AlbumQuery().genre("Alternative").years(2008, 2009);
+        assertEquals("year index (3 candidates)", byYear.explain(store.getCatalog()));
+
+        assertTrue(new AlbumQuery().where(album -> true).explain(store.getCatalog()).startsWith("full scan"));
+    }
+
+    @Test
+    public void testPresortedSourcesNeedNoSort() {
+        List<String> byArtist = titles(new AlbumQuery().sortBy(AlbumQuery.BY_ARTIST).limit(3));
+        assertEquals(List.of("19", "21", "Boys & Girls"), byArtist);
+
+        List<String> decade = titles(new AlbumQuery().years(1990, 1999).sortBy(AlbumQuery.BY_YEAR));
+        assertEquals(List.of("Cuando Los Angeles Lloran", "Fight for Your Mind"), decade);
+        assertEquals("year index (2 candidates)", new AlbumQuery().years(1990, 1999).explain(store.getCatalog()));
+    }
+}
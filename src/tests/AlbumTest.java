@@ -59,4 +59,37 @@ public class AlbumTest {
         List<Song> songs = album.getSongs();
         assertEquals(2, songs.size(), "If duplicates are allowed, the album should contain the song twice");
     }
+    
+    @Test
+    public void testLazyTrackLoading() {
+        int[] loads = new int[1];
+        Album album = new Album("19", "Adele", "Pop", 2008, () -> {
+            loads[0]++;
+            List<Song> tracks = new java.util.ArrayList<>();
+            tracks.add(new Song("Daydreamer", "Adele", "19"));
+            return tracks;
+        });
+        
+        assertFalse(album.isLoaded(), "Songs should not be loaded before they are requested");
+        assertEquals("19", album.getTitle(), "Header details should be available without loading");
+        assertEquals(1, album.getSongs().size(), "Songs should be loaded on first request");
+        assertTrue(album.isLoaded());
+        
+        album.addSong(new Song("Best for Last", "Adele", "19"));
+        assertEquals(2, album.getSongs().size(), "Added songs should be kept with the loaded ones");
+        assertEquals(1, loads[0], "The track loader should only run once");
+    }
+    
+    @Test
+    public void testFreeze() {
+        Album album = new Album("Tapestry", "Carole King", "Rock", 1971);
+        album.addSong(new Song("So Far Away", "Carole King", "Tapestry"));
+        assertFalse(album.isFrozen());
+        
+        album.freeze();
+        assertTrue(album.isFrozen());
+        assertEquals(1, album.getSongs().size(), "Freezing should keep the songs");
+        assertThrows(UnsupportedOperationException.class,
+                () -> album.addSong(new Song("It's Too Late", "Carole King", "Tapestry")));
+    }
 }
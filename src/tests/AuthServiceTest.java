@@ -0,0 +1,105 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import model.AuthService;
+import model.PasswordHasher;
+import model.User;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Test Description: This test class verifies the login service. It tests right and wrong
+ * passwords and unknown users, that a full pool refuses logins instead of queueing them, and
+ * that latency is recorded for every login when many threads log in at once.
+ *
+ * Framework: JUnit 5
+ */
+public class AuthServiceTest {
+
+    private static final int USERS = 8;
+
+    private final PasswordHasher hasher = new PasswordHasher(2_000);
+    private final Map<String, User> users = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < USERS; i++) {
+            String salt = PasswordHasher.newSalt();
+            users.put("user" + i, new User("user" + i, salt, hasher.hash("pass" + i, salt), null));
+        }
+    }
+
+    @Test
+    void testLogin() {
+        try (AuthService auth = new AuthService(users, hasher, 2, 8, 10_000)) {
+            assertSame(users.get("user3"), auth.login("user3", "pass3"));
+            assertNull(auth.login("user3", "pass4"));
+            assertNull(auth.login("nobody", "pass3"));
+            assertEquals(3, auth.getStats().getLogins());
+        }
+    }
+
+    @Test
+    void testFullPoolRejects() throws Exception {
+        PasswordHasher slow = new PasswordHasher(200_000);
+        String salt = PasswordHasher.newSalt();
+        users.put("slow", new User("slow", salt, slow.hash("pw", salt), null));
+        try (AuthService auth = new AuthService(users, slow, 1, 1, 10_000)) {
+            Future<User> running = auth.submit("slow", "pw");
+            Future<User> queued = auth.submit("slow", "pw");
+            assertThrows(IllegalStateException.class, () -> auth.submit("slow", "pw"));
+            assertNotNull(running.get(10, TimeUnit.SECONDS));
+            assertNotNull(queued.get(10, TimeUnit.SECONDS));
+            assertEquals(1, auth.getStats().getRejected());
+        }
+    }
+
+    @Test
+    void testConcurrentLoginLatency() throws Exception {
+        int clients = 16;
+        int loginsEach = 10;
+        ExecutorService clientPool = Executors.newFixedThreadPool(clients);
+        try (AuthService auth = new AuthService(users, hasher, 4, clients * loginsEach, 30_000)) {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                int id = c % USERS;
+                results.add(clientPool.submit(() -> {
+                    int ok = 0;
+                    for (int i = 0; i < loginsEach; i++) {
+                        if (auth.login("user" + id, "pass" + id) != null) {
+                            ok++;
+                        }
+                    }
+                    return ok;
+                }));
+            }
+            int succeeded = 0;
+            for (Future<Integer> result : results) {
+                succeeded += result.get(60, TimeUnit.SECONDS);
+            }
+            assertEquals(clients * loginsEach, succeeded);
+
+            AuthService.Stats stats = auth.getStats();
+            assertEquals(clients * loginsEach, stats.getLogins());
+            assertEquals(0, stats.getRejected());
+            assertTrue(stats.percentile(50) > 0);
+            assertTrue(stats.percentile(50) <= stats.percentile(99));
+            assertTrue(stats.toString().contains("p99"));
+        } finally {
+            clientPool.shutdownNow();
+        }
+    }
+}
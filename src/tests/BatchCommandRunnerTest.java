@@ -0,0 +1,128 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import model.LibraryModel;
+import model.Song;
+import store.MusicStore;
+import view.BatchCommandRunner;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Test Description: This test class verifies the batch command mode. It tests each command,
+ * quoting, comments, error reporting with line numbers, that empty and duplicate adds are not
+ * counted as applied, and a large script run quickly.
+ *
+ * Framework: JUnit 5
+ */
+public class BatchCommandRunnerTest {
+
+    private LibraryModel library;
+    private BatchCommandRunner runner;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        MusicStore store = new MusicStore();
+        store.loadAlbums("albums/albums.txt");
+        library = new LibraryModel();
+        runner = new BatchCommandRunner(library, store);
+    }
+
+    private BatchCommandRunner.Result run(String script) throws IOException {
+        return runner.run(new BufferedReader(new StringReader(script)));
+    }
+
+    @Test
+    public void testCommands() throws IOException {
+        BatchCommandRunner.Result result = run(String.join("\n",
+                "# set up",
+                "add \"Say \\\"Hi\\\"\" \"Some Artist\" Demo",
+                "add-album 21",
+                "",
+                "play \"Say \\\"Hi\\\"\"",
+                "play \"Rolling in the Deep\"",
+                "rate \"Rolling in the Deep\" 4",
+                "favorite \"Turning Tables\"",
+                "playlist Mix",
+                "playlist-add Mix \"Say \\\"Hi\\\"\""));
+
+        assertEquals(8, result.getSucceeded());
+        assertEquals(0, result.getFailed(), result.getErrors().toString());
+        Song hi = library.searchSongByTitle("Say \"Hi\"").get(0);
+        assertEquals("Some Artist", hi.getArtist());
+        assertEquals(1, hi.getPlayCount());
+        Song rolling = library.searchSongByTitle("Rolling in the Deep").get(0);
+        assertEquals(4, rolling.getRating());
+        assertTrue(library.searchSongByTitle("Turning Tables").get(0).isFavorite());
+        assertSame(hi, library.getPlaylist("Mix").getSongs().get(0));
+    }
+
+    @Test
+    public void testErrorsAreReportedWithLineNumbers() throws IOException {
+        BatchCommandRunner.Result result = run(String.join("\n",
+                "play Missing",
+                "rate \"x\"",
+                "add \"Song\" Artist Album",
+                "rate Song 9",
+                "dance",
+                "play \"unterminated",
+                "playlist-add Nope Song"));
+
+        assertEquals(1, result.getSucceeded());
+        assertEquals(6, result.getFailed());
+        assertEquals("line 1: Song not found in library: Missing", result.getErrors().get(0));
+        assertTrue(result.getErrors().get(1).startsWith("line 2: Usage: rate"));
+        assertEquals("line 4: Rating must be 1 to 5: 9", result.getErrors().get(2));
+        assertEquals("line 5: Unknown command: dance", result.getErrors().get(3));
+        assertEquals("line 6: Missing closing quote", result.getErrors().get(4));
+        assertEquals("line 7: Playlist not found: Nope", result.getErrors().get(5));
+    }
+
+    @Test
+    public void testEmptyAndDuplicateAdds() throws IOException {
+        BatchCommandRunner.Result result = run(String.join("\n",
+                "add \"\" \"\" \"\"",
+                "add Song \"  \" Album",
+                "add Song Artist Album",
+                "add Song Artist Album",
+                "add Other Artist Album",
+                "play Song",
+                "add Song Artist Album"));
+
+        assertEquals(3, result.getSucceeded(), "Only the adds that were applied count");
+        assertEquals(2, result.getDuplicates());
+        assertEquals(2, result.getFailed());
+        assertEquals("line 1: Title, artist, and album must not be empty", result.getErrors().get(0));
+        assertEquals("line 2: Title, artist, and album must not be empty", result.getErrors().get(1));
+        assertEquals(2, library.getSongs().size());
+        assertEquals("3 commands applied, 2 duplicates skipped, 2 failed.", result.toString());
+    }
+
+    @Test
+    public void testLargeScriptIsFast() throws IOException {
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            script.append("add \"Track ").append(i).append("\" Artist Album\n");
+        }
+        for (int i = 0; i < 20_000; i++) {
+            script.append("play \"Track ").append(i % 10_000).append("\"\n");
+            script.append("rate \"Track ").append(i % 10_000).append("\" ").append(1 + i % 5).append('\n');
+        }
+        long start = System.nanoTime();
+        BatchCommandRunner.Result result = run(script.toString());
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(50_000, result.getSucceeded());
+        assertEquals(10_000, library.getSongs().size());
+        assertEquals(2, library.searchSongByTitle("Track 7").get(0).getPlayCount());
+        assertTrue(millis < 5000, "50,000 commands took " + millis + " ms");
+    }
+}
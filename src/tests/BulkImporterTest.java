@@ -0,0 +1,123 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import model.Album;
+import model.LibraryModel;
+import model.Song;
+import store.BulkImporter;
+import store.MusicStore;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Test Description: This test class verifies bulk imports. It tests importing albums and songs
+ * from lines and from a file, importing every album by an artist, dropping duplicates that are
+ * already owned or repeated in the batch, reporting entries the store does not have, and
+ * importing a 100,000-line batch quickly.
+ *
+ * Framework: JUnit 5
+ */
+public class BulkImporterTest {
+
+    private MusicStore store;
+    private BulkImporter importer;
+    private LibraryModel library;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        store = new MusicStore();
+        store.loadAlbums("albums/albums.txt");
+        importer = new BulkImporter(store);
+        library = new LibraryModel();
+    }
+
+    @Test
+    public void testImportLines() {
+        BulkImporter.Result result = importer.importLines(List.of(
+                "# a comment",
+                "21,Adele",
+                "",
+                "heavy for you,the heavy,sons",
+                "Heavy for You,The Heavy,Sons",
+                "Not a Song,Nobody,Nothing",
+                "no commas here"), library);
+
+        assertEquals(1, result.getAlbumsAdded());
+        int albumSongs = store.searchAlbumByTitle("21").get(0).getSongs().size();
+        assertEquals(albumSongs + 1, result.getSongsAdded());
+        assertEquals(1, result.getDuplicates(), "The repeated song line is skipped");
+        assertEquals(List.of("Not a Song,Nobody,Nothing", "no commas here"), result.getUnresolved());
+        assertEquals(albumSongs, library.getGenreCounts().get("Pop"), "Album songs keep their genre");
+        assertEquals(albumSongs + 1, library.getSongs().size());
+    }
+
+    @Test
+    public void testSkipsWhatTheLibraryOwns() {
+        Song owned = new Song("Rolling in the Deep", "Adele", "21");
+        library.addSong(owned);
+        BulkImporter.Result result = importer.importLines(List.of("Rolling in the Deep,Adele,21"), library);
+        assertEquals(0, result.getSongsAdded());
+        assertEquals(1, result.getDuplicates());
+
+        importer.importLines(List.of("19,Adele"), library);
+        BulkImporter.Result again = importer.importLines(List.of("19,Adele"), library);
+        assertEquals(0, again.getAlbumsAdded());
+        assertEquals(1, again.getDuplicates());
+    }
+
+    @Test
+    public void testImportArtist() {
+        BulkImporter.Result result = importer.importArtist("adele", library);
+        assertEquals(2, result.getAlbumsAdded());
+        for (Album album : library.getAlbums()) {
+            assertEquals("Adele", album.getArtist());
+        }
+        assertEquals(List.of("Nobody"), importer.importArtist("Nobody", library).getUnresolved());
+    }
+
+    @Test
+    public void testImportFile() throws IOException {
+        Path file = Files.createTempFile("import", ".txt");
+        try {
+            Files.write(file, List.of("Sons,The Heavy", "Hello, Goodbye,Nobody,Nothing"), StandardCharsets.UTF_8);
+            BulkImporter.Result result = importer.importFile(file, library);
+            assertEquals(1, result.getAlbumsAdded());
+            assertEquals(List.of("Hello, Goodbye,Nobody,Nothing"), result.getUnresolved(),
+                    "Commas in a song title are kept with the title");
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testLargeBatchIsFast() {
+        List<String> lines = new ArrayList<>();
+        List<String> distinct = new ArrayList<>();
+        for (Album album : store.getAllAlbums()) {
+            for (Song song : album.getSongs()) {
+                distinct.add(song.getTitle() + "," + song.getArtist() + "," + song.getAlbumTitle());
+            }
+        }
+        for (int i = 0; i < 100_000; i++) {
+            lines.add(distinct.get(i % distinct.size()));
+        }
+        long start = System.nanoTime();
+        BulkImporter.Result result = importer.importLines(lines, library);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(library.getSongs().size(), result.getSongsAdded());
+        assertEquals(100_000, result.getSongsAdded() + result.getDuplicates() + result.getUnresolved().size());
+        assertTrue(millis < 5000, "Importing 100,000 lines took " + millis + " ms");
+    }
+}
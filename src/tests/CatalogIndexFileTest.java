@@ -0,0 +1,140 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import model.Album;
+import store.Catalog;
+import store.MusicStore;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Test Description: This test class verifies the catalog index file. It tests that a saved
+ * index restores the same orders and lookups as a full load, that a changed master list or a
+ * damaged file makes the store load normally and save the index again, and that a restored
+ * catalog can still be reloaded file by file.
+ *
+ * Framework: JUnit 5
+ */
+public class CatalogIndexFileTest {
+
+    private Path index;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        index = Files.createTempFile("albums", ".idx");
+        Files.delete(index);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(index);
+    }
+
+    private static List<String> titles(List<Album> albums) {
+        String[] names = new String[albums.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = albums.get(i).getTitle() + "/" + albums.get(i).getArtist();
+        }
+        return Arrays.asList(names);
+    }
+
+    @Test
+    public void testRestoreMatchesFullLoad() throws IOException {
+        MusicStore built = new MusicStore(true);
+        assertFalse(built.loadAlbums("albums/albums.txt", index.toString()), "No index yet");
+        assertTrue(Files.exists(index), "The index should be saved");
+
+        MusicStore restored = new MusicStore(true);
+        assertTrue(restored.loadAlbums("albums/albums.txt", index.toString()));
+        Catalog a = built.getCatalog();
+        Catalog b = restored.getCatalog();
+        assertEquals(titles(a.getAlbums()), titles(b.getAlbums()));
+        assertEquals(titles(a.getAlbumsByYear()), titles(b.getAlbumsByYear()));
+        assertEquals(titles(a.getAlbumsByArtist()), titles(b.getAlbumsByArtist()));
+        assertEquals(titles(a.findByArtist("adele")), titles(b.findByArtist("ADELE")));
+        assertEquals(titles(a.findByTitle("old ideas")), titles(b.findByTitle("Old Ideas")));
+        assertEquals(titles(a.findByGenre("pop")), titles(b.findByGenre("POP")));
+        assertEquals(titles(a.findByYear(2008)), titles(b.findByYear(2008)));
+        assertEquals(titles(a.findByYearRange(1990, 1999)), titles(b.findByYearRange(1990, 1999)));
+        assertEquals(a.getGenreCounts().asMap(), b.getGenreCounts().asMap());
+        assertEquals(1L, b.getVersion());
+
+        // songs are still read from the album files, on first use
+        Album adele = b.findByTitle("19").get(0);
+        assertFalse(adele.isLoaded());
+        assertEquals(a.findByTitle("19").get(0).getSongs().size(), adele.getSongs().size());
+        assertEquals("Daydreamer", adele.getSongs().get(0).getTitle());
+    }
+
+    @Test
+    public void testChangedListIsLoadedAgain() throws IOException {
+        Path list = Files.createTempFile("albums", ".txt");
+        try {
+            List<String> lines = Files.readAllLines(Path.of("albums/albums.txt"), StandardCharsets.UTF_8);
+            Files.write(list, lines, StandardCharsets.UTF_8);
+            assertFalse(new MusicStore(true).loadAlbums(list.toString(), index.toString()));
+            assertTrue(new MusicStore(true).loadAlbums(list.toString(), index.toString()));
+
+            Files.write(list, lines.subList(1, lines.size()), StandardCharsets.UTF_8);
+            MusicStore store = new MusicStore(true);
+            assertFalse(store.loadAlbums(list.toString(), index.toString()), "A changed list must not use the old index");
+            assertEquals(14, store.getAllAlbums().size());
+            assertTrue(new MusicStore(true).loadAlbums(list.toString(), index.toString()), "The index should be saved again");
+        } finally {
+            Files.deleteIfExists(list);
+        }
+    }
+
+    @Test
+    public void testDamagedIndexIsRebuilt() throws IOException {
+        new MusicStore(true).loadAlbums("albums/albums.txt", index.toString());
+        byte[] bytes = Files.readAllBytes(index);
+        Files.write(index, Arrays.copyOf(bytes, bytes.length / 2));
+
+        MusicStore store = new MusicStore(true);
+        assertFalse(store.loadAlbums("albums/albums.txt", index.toString()));
+        assertEquals(15, store.getAllAlbums().size());
+        assertEquals(bytes.length, Files.size(index), "The index should be written whole again");
+    }
+
+    @Test
+    public void testRestoredCatalogReloads() throws IOException {
+        new MusicStore(true).loadAlbums("albums/albums.txt", index.toString());
+        MusicStore store = new MusicStore(true);
+        assertTrue(store.loadAlbums("albums/albums.txt", index.toString()));
+        long version = store.getCatalogVersion();
+
+        store.reloadAlbumFiles(Arrays.asList("albums/19_Adele.txt"));
+        assertEquals(version + 1, store.getCatalogVersion());
+        assertEquals(15, store.getAllAlbums().size(), "Reloading a file should replace its album, not add one");
+    }
+
+    @Test
+    public void testBadAlbumCountIsRebuilt() throws IOException {
+        new MusicStore(true).loadAlbums("albums/albums.txt", index.toString());
+        byte[] bytes = Files.readAllBytes(index);
+        for (int count : new int[] {-1, Integer.MAX_VALUE}) {
+            // the count follows the magic, format and fingerprint, so the fingerprint still matches
+            byte[] damaged = bytes.clone();
+            ByteBuffer.wrap(damaged).putInt(16, count);
+            Files.write(index, damaged);
+
+            MusicStore store = new MusicStore(true);
+            assertFalse(store.loadAlbums("albums/albums.txt", index.toString()), "A bad count should be rebuilt, count " + count);
+            assertEquals(15, store.getAllAlbums().size());
+        }
+    }
+}
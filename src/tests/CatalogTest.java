@@ -0,0 +1,131 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import model.Album;
+import model.Song;
+import store.Catalog;
+import store.MusicStore;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Test Description: This test class verifies the immutable Catalog snapshot of the MusicStore.
+ * It tests catalog ordering, the precomputed indexes, that the returned views and the
+ * albums in them are read-only, and that many threads can share one snapshot.
+ *
+ * Framework: JUnit 5
+ */
+public class CatalogTest {
+
+    private MusicStore store;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        store = new MusicStore();
+        store.loadAlbums("albums/albums.txt");
+    }
+
+    @Test
+    public void testCatalogOrder() {
+        List<Album> albums = store.getCatalog().getAlbums();
+        assertEquals(15, albums.size());
+        for (int i = 1; i < albums.size(); i++) {
+            assertTrue(albums.get(i - 1).getTitle().compareToIgnoreCase(albums.get(i).getTitle()) <= 0,
+                    "Albums should be sorted by title");
+        }
+        assertSame(albums, store.getAllAlbums(), "getAllAlbums should not copy the catalog");
+    }
+
+    @Test
+    public void testIndexes() {
+        Catalog catalog = store.getCatalog();
+        assertEquals(2, catalog.findByArtist("ADELE").size());
+        assertEquals("Old Ideas", catalog.findByTitle("old ideas").get(0).getTitle());
+        assertFalse(catalog.findByGenre("pop").isEmpty());
+        assertFalse(catalog.findByYear(2008).isEmpty());
+        assertTrue(catalog.findByTitle("No Such Album").isEmpty());
+    }
+
+    @Test
+    public void testSnapshotIsReadOnly() {
+        Catalog catalog = store.getCatalog();
+        assertThrows(UnsupportedOperationException.class, () -> catalog.getAlbums().clear());
+        assertThrows(UnsupportedOperationException.class, () -> catalog.findByArtist("Adele").remove(0));
+        Album album = catalog.getAlbums().get(0);
+        assertTrue(album.isFrozen());
+        assertThrows(UnsupportedOperationException.class, () -> album.addSong(new Song("Extra", "X", "Y")));
+
+        List<Album> results = store.searchAlbumByArtist("Adele");
+        results.clear();
+        assertEquals(2, store.searchAlbumByArtist("Adele").size(), "Search results should be the caller's own list");
+    }
+
+    @Test
+    public void testConcurrentReaders() throws Exception {
+        Catalog catalog = store.getCatalog();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> counts = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                counts.add(pool.submit(() -> {
+                    int songs = 0;
+                    for (Album album : catalog.getAlbums()) {
+                        songs += catalog.findByArtist(album.getArtist()).size() > 0 ? album.getSongs().size() : 0;
+                    }
+                    return songs;
+                }));
+            }
+            int expected = counts.get(0).get();
+            assertTrue(expected > 0);
+            for (Future<Integer> count : counts) {
+                assertEquals(expected, (int) count.get(), "Every reader should see the same snapshot");
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testYearRange() {
+        Catalog catalog = store.getCatalog();
+        List<Album> nineties = catalog.findByYearRange(1990, 1999);
+        assertEquals(2, nineties.size());
+        for (Album album : nineties) {
+            assertTrue(album.getYear() >= 1990 && album.getYear() <= 1999);
+        }
+        List<Album> all = catalog.findByYearRange(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        assertEquals(catalog.getAlbums().size(), all.size());
+        assertEquals(1971, all.get(0).getYear());
+        assertEquals(2019, all.get(all.size() - 1).getYear());
+        assertTrue(catalog.findByYearRange(2030, 2040).isEmpty());
+        assertTrue(catalog.findByYearRange(2010, 2000).isEmpty());
+        assertEquals(3, store.searchAlbumByYearRange(2009, 2010).size());
+    }
+
+    @Test
+    public void testArtistAndTitleRanges() {
+        Catalog catalog = store.getCatalog();
+        List<Album> aToC = catalog.findByArtistRange("a", "C");
+        assertEquals(5, aToC.size(), "Adele (2), Alabama Shakes, Amos Lee and Ben Harper");
+        assertEquals("Adele", aToC.get(0).getArtist());
+
+        List<Album> fromT = store.browseAlbumsByArtist("T", null);
+        assertEquals("The Heavy", fromT.get(0).getArtist());
+
+        List<Album> titles = catalog.findByTitleRange("S", "T");
+        assertEquals(2, titles.size());
+        assertEquals("Sigh No More", titles.get(0).getTitle());
+        assertEquals("Sons", titles.get(1).getTitle());
+    }
+}
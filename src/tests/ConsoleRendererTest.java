@@ -0,0 +1,67 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import org.junit.jupiter.api.Test;
+import view.ConsoleRenderer;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Test Description: This test class verifies the buffered console renderer. It tests that
+ * nothing is written until a flush or a full buffer, that large listings are written in a
+ * few chunks, and that text and number columns are padded and cut to their widths.
+ *
+ * Framework: JUnit 5
+ */
+public class ConsoleRendererTest {
+
+    private static final String NL = System.lineSeparator();
+
+    @Test
+    public void testBuffersUntilFlush() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ConsoleRenderer out = new ConsoleRenderer(new PrintStream(bytes, true));
+        out.append("Songs:").newline().append(" - ").append("Hello").newline();
+        assertEquals(0, bytes.size(), "Short output stays in the buffer");
+        out.flush();
+        assertEquals("Songs:" + NL + " - Hello" + NL, bytes.toString());
+    }
+
+    @Test
+    public void testLargeListingIsWrittenInChunks() {
+        int[] writes = new int[1];
+        OutputStream counting = new OutputStream() {
+            @Override
+            public void write(int b) {
+                writes[0]++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                writes[0]++;
+            }
+        };
+        ConsoleRenderer out = new ConsoleRenderer(new PrintStream(counting, true));
+        for (int i = 0; i < 100_000; i++) {
+            out.append(" - Track ").append(i).newline();
+        }
+        out.flush();
+        assertTrue(writes[0] < 1000, "100,000 lines took " + writes[0] + " writes");
+    }
+
+    @Test
+    public void testColumns() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ConsoleRenderer out = new ConsoleRenderer(new PrintStream(bytes, true));
+        out.column(7, 3).append('|').column("Abc", 6).append('|').column("Too long here", 6).append('|')
+           .column(123456, 3).append('|');
+        out.flush();
+        assertEquals("  7|Abc   |Too l |123456|", bytes.toString());
+    }
+}
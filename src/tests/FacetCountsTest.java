@@ -0,0 +1,106 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import model.Album;
+import model.FacetCounts;
+import model.LibraryModel;
+import model.Song;
+import store.Catalog;
+import store.MusicStore;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Test Description: This test class verifies facet counts. It tests counting and ranking
+ * values, the display format, frozen counts, the per-snapshot counts of the store catalog,
+ * and the counts a library keeps up to date as songs and albums are added.
+ *
+ * Framework: JUnit 5
+ */
+public class FacetCountsTest {
+
+    @Test
+    public void testTopAndFormat() {
+        FacetCounts counts = new FacetCounts();
+        for (int i = 0; i < 12430; i++) {
+            counts.add("Rock");
+        }
+        counts.add("Pop", 8002);
+        counts.add("Jazz", 5);
+        counts.add("Blues", 5);
+
+        assertEquals(4, counts.size());
+        assertEquals(12430, counts.get("Rock"));
+        assertEquals(0, counts.get("Folk"));
+        List<Map.Entry<String, Integer>> top = counts.top(3);
+        assertEquals("Rock", top.get(0).getKey());
+        assertEquals("Pop", top.get(1).getKey());
+        assertEquals("Blues", top.get(2).getKey(), "Ties are broken alphabetically");
+        assertEquals("Rock (12,430) | Pop (8,002)", counts.format(2));
+        assertEquals("", new FacetCounts().format(5));
+    }
+
+    @Test
+    public void testCountDroppingToZeroRemovesValue() {
+        FacetCounts counts = new FacetCounts();
+        counts.add("Rock", 2);
+        counts.add("Rock", -2);
+        assertEquals(0, counts.size());
+        assertFalse(counts.asMap().containsKey("Rock"));
+    }
+
+    @Test
+    public void testFrozenCountsRejectChanges() {
+        FacetCounts counts = new FacetCounts();
+        counts.add("Rock");
+        counts.freeze();
+        assertThrows(UnsupportedOperationException.class, () -> counts.add("Pop"));
+        assertThrows(UnsupportedOperationException.class, () -> counts.asMap().put("Pop", 1));
+    }
+
+    @Test
+    public void testCatalogCountsMatchAlbums() throws IOException {
+        MusicStore store = new MusicStore();
+        store.loadAlbums("albums/albums.txt");
+        Catalog catalog = store.getCatalog();
+
+        int total = 0;
+        for (int count : catalog.getGenreCounts().asMap().values()) {
+            total += count;
+        }
+        assertEquals(catalog.getAlbums().size(), total);
+        for (Map.Entry<String, Integer> entry : catalog.getArtistCounts().asMap().entrySet()) {
+            long expected = catalog.getAlbums().stream()
+                    .filter(album -> album.getArtist().equals(entry.getKey())).count();
+            assertEquals(expected, entry.getValue().longValue(), entry.getKey());
+        }
+        assertThrows(UnsupportedOperationException.class, () -> catalog.getGenreCounts().add("Rock"));
+    }
+
+    @Test
+    public void testLibraryCountsUpdateOnAdd() {
+        LibraryModel library = new LibraryModel();
+        Album album = new Album("Blue", "Artist A", "Jazz", 2001);
+        album.addSong(new Song("One", "Artist A", "Blue"));
+        album.addSong(new Song("Two", "Artist A", "Blue"));
+        Song single = new Song("Solo", "Artist B", "Single");
+
+        library.addAlbum(album);
+        library.addSong(single);
+        library.addAlbum(album);
+
+        assertEquals(2, library.getGenreCounts().get("Jazz"));
+        assertEquals(2, library.getArtistCounts().get("Artist A"));
+        assertEquals(1, library.getArtistCounts().get("Artist B"));
+        assertEquals(1, library.getArtistAlbumCounts().get("Artist A"));
+        assertEquals("Jazz", library.getGenre(album.getSongs().get(0)));
+        assertNull(library.getGenre(single));
+    }
+}
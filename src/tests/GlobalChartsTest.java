@@ -0,0 +1,163 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import model.Album;
+import model.LibraryModel;
+import model.Song;
+import store.GlobalCharts;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Test Description: This test class verifies the charts across all users. It tests ranking by
+ * plays and by rating, that copies of a song in different libraries count as one, that only
+ * changed libraries are picked up on refresh, and that the parallel build over many libraries
+ * matches the expected totals.
+ *
+ * Framework: JUnit 5
+ */
+public class GlobalChartsTest {
+
+    private LibraryModel alice;
+    private LibraryModel bob;
+    private GlobalCharts charts;
+
+    @BeforeEach
+    void setUp() {
+        alice = new LibraryModel();
+        bob = new LibraryModel();
+        Album album = new Album("25", "Adele", "Pop", 2015);
+        album.addSong(new Song("Hello", "Adele", "25"));
+        album.addSong(new Song("Send My Love", "Adele", "25"));
+        alice.addAlbum(album);
+        Song bobHello = new Song("Hello", "Adele", "25");
+        Song bobOther = new Song("Clocks", "Coldplay", "A Rush of Blood to the Head");
+        bob.addSong(bobHello);
+        bob.addSong(bobOther);
+
+        play(alice, "Hello", 3);
+        play(alice, "Send My Love", 1);
+        play(bob, "Hello", 2);
+        play(bob, "Clocks", 4);
+        charts = new GlobalCharts();
+        List<LibraryModel> all = new ArrayList<>();
+        all.add(alice);
+        all.add(bob);
+        charts.rebuild(all);
+    }
+
+    private static void play(LibraryModel library, String title, int times) {
+        Song song = library.searchSongByTitle(title).get(0);
+        for (int i = 0; i < times; i++) {
+            library.playSong(song);
+        }
+    }
+
+    @Test
+    void testTopSongsByPlays() {
+        List<GlobalCharts.Entry> top = charts.top(GlobalCharts.Kind.SONGS, GlobalCharts.Order.PLAYS, 10);
+        assertEquals(3, top.size());
+        assertEquals("Hello - Adele", top.get(0).getName());
+        assertEquals(5, top.get(0).getPlays());
+        assertEquals(2, top.get(0).getListeners());
+        assertEquals("Clocks - Coldplay", top.get(1).getName());
+        assertEquals(1, charts.top(GlobalCharts.Kind.SONGS, GlobalCharts.Order.PLAYS, 1).size());
+    }
+
+    @Test
+    void testArtistsAlbumsAndGenres() {
+        List<GlobalCharts.Entry> artists = charts.top(GlobalCharts.Kind.ARTISTS, GlobalCharts.Order.PLAYS, 10);
+        assertEquals("Adele", artists.get(0).getName());
+        assertEquals(6, artists.get(0).getPlays());
+        assertEquals(4, artists.get(1).getPlays());
+
+        List<GlobalCharts.Entry> albums = charts.top(GlobalCharts.Kind.ALBUMS, GlobalCharts.Order.PLAYS, 10);
+        assertEquals("25 - Adele", albums.get(0).getName());
+
+        // only songs added with an album have a genre
+        List<GlobalCharts.Entry> genres = charts.top(GlobalCharts.Kind.GENRES, GlobalCharts.Order.PLAYS, 10);
+        assertEquals(1, genres.size());
+        assertEquals("Pop", genres.get(0).getName());
+        assertEquals(4, genres.get(0).getPlays());
+    }
+
+    @Test
+    void testRatingOrderAndRefresh() {
+        assertTrue(charts.top(GlobalCharts.Kind.SONGS, GlobalCharts.Order.RATING, 10).isEmpty());
+        alice.rateSong(alice.searchSongByTitle("Hello").get(0), 2);
+        bob.rateSong(bob.searchSongByTitle("Hello").get(0), 4);
+        bob.rateSong(bob.searchSongByTitle("Clocks").get(0), 5);
+
+        List<GlobalCharts.Entry> top = charts.top(GlobalCharts.Kind.SONGS, GlobalCharts.Order.RATING, 10);
+        assertEquals(2, top.size());
+        assertEquals("Clocks - Coldplay", top.get(0).getName());
+        assertEquals(5.0, top.get(0).getAverageRating(), 0.001);
+        assertEquals(3.0, top.get(1).getAverageRating(), 0.001);
+
+        play(bob, "Hello", 10);
+        assertEquals(15, charts.top(GlobalCharts.Kind.SONGS, GlobalCharts.Order.PLAYS, 1).get(0).getPlays());
+    }
+
+    @Test
+    void testAddLibrary() {
+        LibraryModel carol = new LibraryModel();
+        carol.addSong(new Song("Clocks", "Coldplay", "A Rush of Blood to the Head"));
+        play(carol, "Clocks", 5);
+        charts.add(carol);
+        charts.add(carol);
+        assertEquals(3, charts.size());
+        GlobalCharts.Entry first = charts.top(GlobalCharts.Kind.SONGS, GlobalCharts.Order.PLAYS, 1).get(0);
+        assertEquals("Clocks - Coldplay", first.getName());
+        assertEquals(9, first.getPlays());
+    }
+
+    @Test
+    void testParallelBuildOverManyLibraries() {
+        List<LibraryModel> all = new ArrayList<>();
+        for (int u = 0; u < 200; u++) {
+            LibraryModel library = new LibraryModel();
+            for (int s = 0; s < 20; s++) {
+                library.addSong(new Song("Song " + s, "Artist " + (s % 5), "Album " + (s % 5)));
+            }
+            play(library, "Song " + (u % 20), 1 + u % 3);
+            all.add(library);
+        }
+        GlobalCharts parallel = new GlobalCharts(new ForkJoinPool(4));
+        parallel.rebuild(all);
+
+        long total = 0;
+        for (GlobalCharts.Entry entry : parallel.top(GlobalCharts.Kind.SONGS, GlobalCharts.Order.PLAYS, 100)) {
+            total += entry.getPlays();
+            assertEquals(200, entry.getListeners());
+        }
+        long expected = 0;
+        for (int u = 0; u < 200; u++) {
+            expected += 1 + u % 3;
+        }
+        assertEquals(expected, total);
+
+        // change a few libraries; only their totals move
+        play(all.get(7), "Song 0", 100);
+        play(all.get(150), "Song 0", 50);
+        GlobalCharts.Entry first = parallel.top(GlobalCharts.Kind.SONGS, GlobalCharts.Order.PLAYS, 1).get(0);
+        assertEquals("Song 0 - Artist 0", first.getName());
+        assertEquals(5, parallel.top(GlobalCharts.Kind.ARTISTS, GlobalCharts.Order.PLAYS, 10).size());
+        assertEquals(expected + 150, sum(parallel.top(GlobalCharts.Kind.ALBUMS, GlobalCharts.Order.PLAYS, 10)));
+    }
+
+    private static long sum(List<GlobalCharts.Entry> entries) {
+        long total = 0;
+        for (GlobalCharts.Entry entry : entries) {
+            total += entry.getPlays();
+        }
+        return total;
+    }
+}
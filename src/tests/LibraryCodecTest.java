@@ -0,0 +1,198 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import model.Album;
+import model.LibraryCodec;
+import model.LibraryModel;
+import model.PlayHistory;
+import model.Playlist;
+import model.SmartPlaylist;
+import model.Song;
+import model.SongQuery;
+import model.User;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Test Description: This test class verifies the binary library format in LibraryCodec.
+ * It tests that songs, albums, playlists and recent plays survive a round trip, that the
+ * binary form is smaller than the JSON form, and that foreign or truncated data is rejected.
+ * It also tests that the play history and saveable smart playlists survive a round trip,
+ * and that version 1 and 2 data, without play history or smart playlists, can still be read.
+ *
+ * Framework: JUnit 5
+ */
+public class LibraryCodecTest {
+
+    private LibraryModel buildLibrary() {
+        LibraryModel library = new LibraryModel();
+        Album album = new Album("21", "Adele", "Pop", 2011);
+        album.addSong(new Song("Rolling in the Deep", "Adele", "21"));
+        album.addSong(new Song("Rumour Has It", "Adele", "21"));
+        album.addSong(new Song("Turning Tables", "Adele", "21"));
+        library.addAlbum(album);
+
+        Song hello = new Song("Hello", "Adele", "25");
+        library.addSong(hello);
+        library.rateSong(hello, 4);
+        library.playSong(hello);
+        library.playSong(hello);
+        library.markFavorite(album.getSongs().get(1));
+
+        library.createPlaylist("Mix");
+        library.getPlaylist("Mix").addSong(hello);
+        library.getPlaylist("Mix").addSong(album.getSongs().get(0));
+        library.playSong(album.getSongs().get(2));
+        return library;
+    }
+
+    private Song find(LibraryModel library, String title) {
+        List<Song> songs = library.searchSongByTitle(title);
+        assertEquals(1, songs.size(), "Expected exactly one song titled " + title);
+        return songs.get(0);
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        LibraryModel loaded = LibraryCodec.fromBytes(LibraryCodec.toBytes(buildLibrary()));
+
+        assertEquals(4, loaded.getSongs().size());
+        Song hello = find(loaded, "Hello");
+        assertEquals("Adele", hello.getArtist());
+        assertEquals("25", hello.getAlbumTitle());
+        assertEquals(2, hello.getPlayCount());
+        assertEquals(4, hello.getRating());
+        assertTrue(find(loaded, "Rumour Has It").isFavorite());
+        assertEquals(1, loaded.getFavorites().size());
+
+        assertEquals(1, loaded.getAlbums().size());
+        Album album = loaded.getAlbums().iterator().next();
+        assertEquals("21", album.getTitle());
+        assertEquals("Pop", album.getGenre());
+        assertEquals(2011, album.getYear());
+        assertEquals(3, album.getSongs().size());
+        assertEquals("Rolling in the Deep", album.getSongs().get(0).getTitle());
+        assertSame(find(loaded, "Turning Tables"), album.getSongs().get(2), "Albums should reference library songs");
+
+        Playlist mix = loaded.getPlaylist("Mix");
+        assertNotNull(mix);
+        assertEquals(2, mix.getSongs().size());
+        assertSame(hello, mix.getSongs().get(0));
+
+        List<Song> recent = loaded.getRecentPlays();
+        assertEquals(2, recent.size());
+        assertEquals("Turning Tables", recent.get(0).getTitle());
+        assertEquals("Hello", recent.get(1).getTitle());
+    }
+
+    @Test
+    public void testEmptyLibraryRoundTrip() throws IOException {
+        LibraryModel loaded = LibraryCodec.fromBytes(LibraryCodec.toBytes(new LibraryModel()));
+        assertTrue(loaded.getSongs().isEmpty());
+        assertTrue(loaded.getAlbums().isEmpty());
+        assertTrue(loaded.getAllPlaylists().isEmpty());
+        assertTrue(loaded.getRecentPlays().isEmpty());
+    }
+
+    @Test
+    public void testBinarySmallerThanJson() {
+        User user = new User("codecUser", "secret");
+        LibraryModel library = user.getLibrary();
+        for (int a = 0; a < 20; a++) {
+            Album album = new Album("Album " + a, "Artist " + (a % 4), "Rock", 2000 + a);
+            for (int t = 0; t < 12; t++) {
+                album.addSong(new Song("Track " + t + " of album " + a, album.getArtist(), album.getTitle()));
+            }
+            library.addAlbum(album);
+        }
+        int jsonSize = user.getLibraryData().length();
+        int binarySize = LibraryCodec.toBytes(library).length;
+        assertTrue(binarySize * 3 < jsonSize, "Binary (" + binarySize + ") should be several times smaller than JSON (" + jsonSize + ")");
+    }
+
+    @Test
+    public void testRejectsBadMagic() {
+        byte[] data = LibraryCodec.toBytes(buildLibrary());
+        data[0] = 'X';
+        assertThrows(IOException.class, () -> LibraryCodec.fromBytes(data));
+    }
+
+    @Test
+    public void testRejectsTruncatedData() {
+        byte[] data = LibraryCodec.toBytes(buildLibrary());
+        byte[] truncated = java.util.Arrays.copyOf(data, data.length / 2);
+        assertThrows(IOException.class, () -> LibraryCodec.fromBytes(truncated));
+    }
+
+    @Test
+    public void testPlayHistoryRoundTrip() throws IOException {
+        LibraryModel library = buildLibrary();
+        Song hello = find(library, "Hello");
+        library.getPlayHistory().record(hello, 1_000_000L);
+        library.getPlayHistory().record(hello, 999_000L);
+
+        PlayHistory history = LibraryCodec.fromBytes(LibraryCodec.toBytes(library)).getPlayHistory();
+        assertEquals(5, history.size(), "Three plays from playSong and two recorded directly");
+        assertEquals("Hello", history.songAt(3).getTitle());
+        assertEquals(1_000_000L, history.timeAt(3));
+        assertEquals(999_000L, history.timeAt(4), "Times may go backwards");
+        assertEquals(2, history.playCount(990_000L, 1_010_000L));
+    }
+
+    @Test
+    public void testReadsVersionOneWithoutHistory() throws IOException {
+        LibraryModel library = new LibraryModel();
+        library.addSong(new Song("Old", "Artist", "Album"));
+        byte[] current = LibraryCodec.toBytes(library);
+        // version 1 is the same layout without the trailing history and smart playlist
+        // sections (one 0 byte each here)
+        byte[] versionOne = java.util.Arrays.copyOf(current, current.length - 2);
+        versionOne[4] = 1;
+
+        LibraryModel loaded = LibraryCodec.fromBytes(versionOne);
+        assertEquals(1, loaded.getSongs().size());
+        assertEquals(0, loaded.getPlayHistory().size());
+    }
+
+    @Test
+    public void testSmartPlaylistRoundTrip() throws IOException {
+        LibraryModel library = buildLibrary();
+        library.addSmartPlaylist(new SmartPlaylist("Top Pop").genre("pop").minRating(0).sortBy(SongQuery.BY_PLAYS).limit(2));
+        library.addSmartPlaylist(new SmartPlaylist("Loved").artist("ADELE").favorites());
+        library.addSmartPlaylist(new SmartPlaylist("Custom").where(song -> song.getTitle().startsWith("R")));
+        assertFalse(library.getSmartPlaylist("Custom").isSaved());
+
+        LibraryModel loaded = LibraryCodec.fromBytes(LibraryCodec.toBytes(library));
+        assertNull(loaded.getSmartPlaylist("Custom"), "A playlist with a custom condition is not saved");
+        SmartPlaylist top = loaded.getSmartPlaylist("Top Pop");
+        assertTrue(top.isSaved());
+        assertEquals(2, top.size());
+        assertEquals("Turning Tables", top.getSongs().get(0).getTitle(), "Sorted by plays, then cut to the limit");
+        SmartPlaylist loved = loaded.getSmartPlaylist("Loved");
+        assertEquals(1, loved.size());
+        assertEquals("Rumour Has It", loved.getSongs().get(0).getTitle());
+
+        // the rules keep working after loading
+        loaded.markFavorite(find(loaded, "Hello"));
+        assertEquals(2, loved.size());
+    }
+
+    @Test
+    public void testReadsVersionTwoWithoutSmartPlaylists() throws IOException {
+        byte[] current = LibraryCodec.toBytes(buildLibrary());
+        // version 2 is the same layout without the trailing smart playlist section
+        byte[] versionTwo = java.util.Arrays.copyOf(current, current.length - 1);
+        versionTwo[4] = 2;
+
+        LibraryModel loaded = LibraryCodec.fromBytes(versionTwo);
+        assertEquals(4, loaded.getSongs().size());
+        assertEquals(3, loaded.getPlayHistory().size());
+        assertTrue(loaded.getSmartPlaylists().isEmpty());
+    }
+}
@@ -0,0 +1,127 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import app.LibraryFile;
+import model.LibraryCodec;
+import model.LibraryModel;
+import model.Song;
+import model.User;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Test Description: This test class verifies the binary library file. It tests that libraries
+ * round trip, that a library that cannot be parsed is written back as it was while its user
+ * leaves it alone, and that once the user changes it the changed library is saved and the old
+ * file is kept as a backup.
+ *
+ * Framework: JUnit 5
+ */
+public class LibraryFileTest {
+
+    private static final byte[] DAMAGED = {'M', 'L', 'I', 'B', 3, 9, 9};
+
+    private Path path;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        path = Files.createTempFile("libraries", ".bin");
+        Files.delete(path);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(path.resolveSibling(path.getFileName() + ".bak"));
+    }
+
+    private static User user(String name) {
+        return new User(name, "salt", "hash", "{}");
+    }
+
+    // a library file holding alice's library and damaged bytes for bob
+    private void writeDamagedFile() throws IOException {
+        LibraryModel library = new LibraryModel();
+        library.addSong(new Song("Hello", "Adele", "25"));
+        byte[] alice = LibraryCodec.toBytes(library);
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(path))) {
+            out.writeInt(2);
+            out.writeUTF("alice");
+            out.writeInt(alice.length);
+            out.write(alice);
+            out.writeUTF("bob");
+            out.writeInt(DAMAGED.length);
+            out.write(DAMAGED);
+        }
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        User alice = user("alice");
+        alice.getLibrary().addSong(new Song("Hello", "Adele", "25"));
+        new LibraryFile(path).save(List.of(alice, user("bob")));
+
+        LibraryFile file = new LibraryFile(path);
+        Map<String, byte[]> libraries = file.read();
+        assertEquals(List.of("alice", "bob"), List.copyOf(libraries.keySet()));
+        User loaded = user("alice");
+        assertTrue(file.parse(loaded, libraries.get("alice")));
+        assertEquals("Hello", loaded.getLibrary().getSongs().iterator().next().getTitle());
+        assertTrue(new LibraryFile(path.resolveSibling("missing.bin")).read().isEmpty());
+    }
+
+    @Test
+    public void testUnchangedUnreadLibraryIsKept() throws IOException {
+        writeDamagedFile();
+        byte[] original = Files.readAllBytes(path);
+        LibraryFile file = new LibraryFile(path);
+        Map<String, byte[]> libraries = file.read();
+        User alice = user("alice");
+        User bob = user("bob");
+        assertTrue(file.parse(alice, libraries.get("alice")));
+        assertFalse(file.parse(bob, libraries.get("bob")));
+        assertTrue(file.isUnread("bob"));
+
+        file.save(List.of(alice, bob));
+        assertArrayEquals(original, Files.readAllBytes(path), "An unchanged unread library is written back as it was");
+        assertArrayEquals(original, Files.readAllBytes(file.getBackup()));
+    }
+
+    @Test
+    public void testChangedUnreadLibraryIsSaved() throws IOException {
+        writeDamagedFile();
+        byte[] original = Files.readAllBytes(path);
+        LibraryFile file = new LibraryFile(path);
+        Map<String, byte[]> libraries = file.read();
+        User alice = user("alice");
+        User bob = user("bob");
+        file.parse(alice, libraries.get("alice"));
+        file.parse(bob, libraries.get("bob"));
+        // saved once unchanged, as at registration, then changed during the session
+        file.save(List.of(alice, bob));
+        bob.getLibrary().addSong(new Song("Jolene", "Dolly Parton", "Jolene"));
+        bob.getLibrary().createPlaylist("Road");
+        file.save(List.of(alice, bob));
+        assertFalse(file.isUnread("bob"));
+
+        LibraryFile reread = new LibraryFile(path);
+        Map<String, byte[]> saved = reread.read();
+        User loaded = user("bob");
+        assertTrue(reread.parse(loaded, saved.get("bob")), "The changed library replaces the damaged one");
+        assertEquals(1, loaded.getLibrary().searchSongByTitle("Jolene").size());
+        assertNotNull(loaded.getLibrary().getPlaylist("Road"));
+        assertArrayEquals(original, Files.readAllBytes(file.getBackup()), "The damaged library stays in the backup");
+    }
+}
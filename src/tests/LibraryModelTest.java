@@ -122,4 +122,21 @@ public class LibraryModelTest {
         assertTrue(library.getAllPlaylists().isEmpty(), "Playlists should be empty initially");
         assertTrue(library.getFavorites().isEmpty(), "Favorites should be empty initially");
     }
+
+    @Test
+    public void testVersionChangesOnEveryEvent() {
+        LibraryModel library = new LibraryModel();
+        Song song = new Song("Hello", "Adele", "25");
+        long start = library.getVersion();
+        library.addSong(song);
+        long added = library.getVersion();
+        assertTrue(added > start, "Adding a song should change the version");
+        library.addSong(song);
+        assertEquals(added, library.getVersion(), "A duplicate add should not change the version");
+        library.playSong(song);
+        assertTrue(library.getVersion() > added, "Playing should change the version");
+        long played = library.getVersion();
+        library.rateSong(song, 3);
+        assertTrue(library.getVersion() > played, "Rating should change the version");
+    }
 }
@@ -0,0 +1,73 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import org.junit.jupiter.api.Test;
+import store.MappedAlbumFile;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Test Description: This test class verifies the memory-mapped catalog reader MappedAlbumFile.
+ * It tests line and field splitting, whitespace and CRLF trimming, UTF-8 decoding,
+ * integer parsing from bytes, and reading a real album file from the albums folder.
+ *
+ * Framework: JUnit 5
+ */
+public class MappedAlbumFileTest {
+
+    private MappedAlbumFile wrap(String text) {
+        return MappedAlbumFile.wrap(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testLinesAndFields() {
+        MappedAlbumFile file = wrap("19 , Adele,Pop, 2008\r\nDaydreamer\r\n\r\n  Best for Last  \n");
+        assertEquals(4, file.lineCount());
+        assertEquals(4, file.fieldCount(0));
+        assertEquals("19", file.field(0, 0));
+        assertEquals("Adele", file.field(0, 1));
+        assertEquals("Pop", file.field(0, 2));
+        assertEquals(2008, file.intField(0, 3));
+        assertNull(file.field(0, 4), "Missing fields should be null");
+        assertEquals("Daydreamer", file.line(1));
+        assertTrue(file.isBlank(2));
+        assertEquals("Best for Last", file.line(3));
+    }
+
+    @Test
+    public void testUtf8AndByteOrderMark() {
+        MappedAlbumFile file = wrap("\uFEFFCuando Los \u00C1ngeles Lloran,Man\u00E1\nEn el muelle de San Blas");
+        assertEquals(2, file.lineCount());
+        assertEquals("Cuando Los \u00C1ngeles Lloran", file.field(0, 0));
+        assertEquals("Man\u00E1", file.field(0, 1));
+        assertEquals("En el muelle de San Blas", file.line(1));
+    }
+
+    @Test
+    public void testIntFieldRejectsText() {
+        MappedAlbumFile file = wrap("a,b,c,year");
+        assertThrows(NumberFormatException.class, () -> file.intField(0, 3));
+        assertThrows(NumberFormatException.class, () -> file.intField(0, 7));
+    }
+
+    @Test
+    public void testOpenAlbumFile() throws IOException {
+        MappedAlbumFile file = MappedAlbumFile.open(Paths.get("albums/19_Adele.txt"));
+        assertEquals("19", file.field(0, 0));
+        assertEquals("Adele", file.field(0, 1));
+        assertEquals(2008, file.intField(0, 3));
+        assertEquals("Daydreamer", file.line(1));
+    }
+
+    @Test
+    public void testEmptyFile() {
+        assertEquals(0, wrap("").lineCount());
+    }
+}
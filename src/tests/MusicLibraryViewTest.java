@@ -151,4 +151,18 @@ public class MusicLibraryViewTest {
         String output = runViewWithInput(simulatedInput, library, store);
         assertTrue(output.contains("Song not found in your library."), "Should indicate that the song is not found");
     }
+    
+    @Test
+    public void testListLibraryItemsIsPaged() {
+        LibraryModel library = new LibraryModel();
+        for (int i = 1; i <= 25; i++) {
+            library.addSong(new model.Song("Track " + i, "Artist", "Album"));
+        }
+        MusicStore store = new MusicStore();
+        String output = runViewWithInput("5\nq\n0\n", library, store);
+        assertTrue(output.contains(" - Track 20"), "The first page should be shown");
+        assertTrue(output.contains("-- More"), "Should ask before showing the next page");
+        assertFalse(output.contains(" - Track 21"), "Entries after the first page should not be shown after q");
+        assertTrue(output.contains("Albums:"), "Stopping should move on to the next section");
+    }
 }
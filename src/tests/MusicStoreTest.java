@@ -2,11 +2,19 @@ package tests;
 
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
+import store.CatalogWatcher;
 import store.MusicStore;
 import model.Album;
 import model.Song;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 
 /**
@@ -105,5 +113,112 @@ public class MusicStoreTest {
         assertFalse(songsByAdele.isEmpty(), "Expected to find songs by Adele");
     }
     
+    @Test
+    public void testLazyLoading() {
+        MusicStore store = new MusicStore(true);
+        try {
+            store.loadAlbums("albums/albums.txt");
+        } catch (IOException e) {
+            fail("IOException thrown while loading albums: " + e.getMessage());
+        }
+        
+        for (Album album : store.getAllAlbums()) {
+            assertFalse(album.isLoaded(), "No track list should be read at load time");
+        }
+        
+        Album oldIdeas = store.searchAlbumByTitle("Old Ideas").get(0);
+        assertEquals("Leonard Cohen", oldIdeas.getArtist());
+        assertFalse(oldIdeas.getSongs().isEmpty(), "Songs should be read on first access");
+        assertTrue(oldIdeas.isLoaded());
+        
+        List<Song> songsByAdele = store.searchSongsByArtist("Adele");
+        assertFalse(songsByAdele.isEmpty(), "Song searches should load the albums they need");
+        for (Album album : store.searchAlbumByArtist("Norah Jones")) {
+            assertFalse(album.isLoaded(), "Albums by other artists should stay unloaded");
+        }
+    }
     
+    @Test
+    public void testReloadChangedAlbumFile() throws IOException {
+        Path list = Paths.get("albums/test_reload_list.txt");
+        Path albumFile = Paths.get("albums/Reload Test_Tester.txt");
+        try {
+            Files.write(list, "Reload Test,Tester\n".getBytes(StandardCharsets.UTF_8));
+            Files.write(albumFile, "Reload Test,Tester,Rock,2001\nFirst\n".getBytes(StandardCharsets.UTF_8));
+            MusicStore store = new MusicStore();
+            store.loadAlbums(list.toString());
+            long version = store.getCatalogVersion();
+            List<Album> before = store.getAllAlbums();
+            assertEquals(1, store.searchAlbumByTitle("Reload Test").get(0).getSongs().size());
+            
+            Files.write(albumFile, "Reload Test,Tester,Jazz,2001\nFirst\nSecond\n".getBytes(StandardCharsets.UTF_8));
+            store.reloadAlbumFiles(Arrays.asList("albums/Reload Test_Tester.txt", "albums/19_Adele.txt"));
+            assertTrue(store.getCatalogVersion() > version, "A reload should publish a new catalog version");
+            Album reloaded = store.searchAlbumByTitle("Reload Test").get(0);
+            assertEquals("Jazz", reloaded.getGenre());
+            assertEquals(2, reloaded.getSongs().size());
+            assertTrue(store.searchAlbumByTitle("19").isEmpty(), "Files not on the list should be ignored");
+            assertEquals("Rock", before.get(0).getGenre(), "Earlier results should keep the old version");
+            
+            Files.delete(albumFile);
+            store.reloadAlbumFiles(Arrays.asList("albums/Reload Test_Tester.txt"));
+            assertTrue(store.searchAlbumByTitle("Reload Test").isEmpty(), "A deleted file should drop its album");
+        } finally {
+            Files.deleteIfExists(list);
+            Files.deleteIfExists(albumFile);
+        }
+    }
+    
+    @Test
+    public void testWatcherPicksUpEdits() throws Exception {
+        Path list = Paths.get("albums/test_watch_list.txt");
+        Path albumFile = Paths.get("albums/Watch Test_Tester.txt");
+        try {
+            Files.write(list, "Watch Test,Tester\n".getBytes(StandardCharsets.UTF_8));
+            Files.write(albumFile, "Watch Test,Tester,Rock,2001\nFirst\n".getBytes(StandardCharsets.UTF_8));
+            MusicStore store = new MusicStore();
+            store.loadAlbums(list.toString());
+            try (CatalogWatcher watcher = store.watchCatalog(list.toString())) {
+                assertNotNull(watcher);
+                Files.write(albumFile, "Watch Test,Tester,Rock,2002\nFirst\n".getBytes(StandardCharsets.UTF_8));
+                long deadline = System.currentTimeMillis() + 10000;
+                while (store.searchAlbumByYear(2002).isEmpty() && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(50);
+                }
+                assertFalse(store.searchAlbumByYear(2002).isEmpty(), "The watcher should reload the edited album");
+            }
+        } finally {
+            Files.deleteIfExists(list);
+            Files.deleteIfExists(albumFile);
+        }
+    }
+
+    @Test
+    public void testBackgroundLoadWaitsForSearches() throws Exception {
+        Path index = Files.createTempFile("albums", ".idx");
+        Files.delete(index);
+        try {
+            MusicStore store = new MusicStore(true);
+            CompletableFuture<Boolean> loading = store.loadAlbumsInBackground("albums/albums.txt", index.toString());
+            // a search made at once waits for the load instead of seeing an empty catalog
+            assertEquals(2, store.searchAlbumByArtist("Adele").size());
+            assertTrue(store.isCatalogReady());
+            assertFalse(loading.get(), "There was no index to restore");
+
+            MusicStore restored = new MusicStore(true);
+            assertTrue(restored.loadAlbumsInBackground("albums/albums.txt", index.toString()).get());
+            assertEquals(15, restored.getAllAlbums().size());
+        } finally {
+            Files.deleteIfExists(index);
+        }
+    }
+
+    @Test
+    public void testBackgroundLoadReportsErrors() {
+        MusicStore store = new MusicStore(true);
+        CompletableFuture<Boolean> loading = store.loadAlbumsInBackground("albums/no_such_list.txt", "albums/no_such_list.idx");
+        ExecutionException e = assertThrows(ExecutionException.class, loading::get);
+        assertTrue(e.getCause() instanceof IOException);
+        assertTrue(store.getAllAlbums().isEmpty(), "Searches should still run after a failed load");
+    }
 }
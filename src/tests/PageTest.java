@@ -0,0 +1,84 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import model.Album;
+import model.LibraryModel;
+import model.Page;
+import model.Song;
+import store.MusicStore;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Test Description: This test class verifies paged and windowed results. It tests cutting
+ * pages from a stream, paging through a library in a stable order, and windows over the
+ * store catalog that line up without gaps or repeats.
+ *
+ * Framework: JUnit 5
+ */
+public class PageTest {
+
+    @Test
+    public void testPageOfStream() {
+        Page<Integer> first = Page.of(Stream.iterate(0, i -> i + 1).limit(25), 0, 10);
+        assertEquals(10, first.getItems().size());
+        assertTrue(first.hasMore());
+        assertEquals(10, first.nextOffset());
+
+        Page<Integer> last = Page.of(Stream.iterate(0, i -> i + 1).limit(25), 20, 10);
+        assertEquals(List.of(20, 21, 22, 23, 24), last.getItems());
+        assertFalse(last.hasMore());
+    }
+
+    @Test
+    public void testPageOfInfiniteStreamOnlyPullsOnePage() {
+        Page<Integer> page = Page.of(Stream.iterate(0, i -> i + 1), 100, 3);
+        assertEquals(List.of(100, 101, 102), page.getItems());
+        assertTrue(page.hasMore());
+    }
+
+    @Test
+    public void testLibraryPagesInStableOrder() {
+        LibraryModel library = new LibraryModel();
+        for (int i = 0; i < 30; i++) {
+            library.addSong(new Song("Song " + i, "Artist", "Album"));
+        }
+        List<String> titles = new ArrayList<>();
+        long offset = 0;
+        Page<Song> page;
+        do {
+            page = library.getSongPage(offset, 7);
+            for (Song song : page.getItems()) {
+                titles.add(song.getTitle());
+            }
+            offset = page.nextOffset();
+        } while (page.hasMore());
+        assertEquals(30, titles.size());
+        assertEquals("Song 0", titles.get(0));
+        assertEquals("Song 29", titles.get(29));
+        assertEquals(List.of("Song 3", "Song 4"),
+                library.streamSongs(3, 2).map(Song::getTitle).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testStoreWindows() throws IOException {
+        MusicStore store = new MusicStore();
+        store.loadAlbums("albums/albums.txt");
+        List<Album> all = store.getAllAlbums();
+        List<Album> paged = new ArrayList<>();
+        for (long offset = 0; offset < all.size(); offset += 4) {
+            paged.addAll(store.streamAlbums(offset, 4).collect(Collectors.toList()));
+        }
+        assertEquals(all, paged, "Windows should cover the catalog in order");
+        assertEquals(0, store.streamAlbums(100, 4).count());
+    }
+}
@@ -0,0 +1,106 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import org.junit.jupiter.api.Test;
+import model.PasswordHasher;
+import model.User;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Test Description: This test class verifies password hashing. It tests the stored hash format,
+ * checks against right and wrong passwords, that old SHA-256 hashes still work and are upgraded
+ * on login, and that a raised work factor marks older hashes for rehashing.
+ *
+ * Framework: JUnit 5
+ */
+public class PasswordHasherTest {
+
+    private final PasswordHasher hasher = new PasswordHasher(1_000);
+
+    @Test
+    void testHashFormatAndVerify() {
+        String salt = PasswordHasher.newSalt();
+        String hash = hasher.hash("secret", salt);
+        assertTrue(hash.startsWith("pbkdf2$1000$"));
+        assertEquals("pbkdf2$1000$".length() + 64, hash.length());
+        assertTrue(hasher.verify("secret", salt, hash));
+        assertFalse(hasher.verify("Secret", salt, hash));
+        assertFalse(hasher.verify("secret", PasswordHasher.newSalt(), hash));
+    }
+
+    @Test
+    void testSameInputsGiveSameHash() {
+        assertEquals(hasher.hash("pw", "salt"), hasher.hash("pw", "salt"));
+        assertNotEquals(PasswordHasher.newSalt(), PasswordHasher.newSalt());
+    }
+
+    @Test
+    void testEmptyPassword() {
+        String hash = hasher.hash("", "salt");
+        assertTrue(hasher.verify("", "salt", hash));
+        assertFalse(hasher.verify("x", "salt", hash));
+    }
+
+    @Test
+    void testMalformedHashesNeverMatch() {
+        assertFalse(hasher.verify("pw", "salt", null));
+        assertFalse(hasher.verify("pw", "salt", ""));
+        assertFalse(hasher.verify("pw", "salt", "pbkdf2$abc$00"));
+        assertFalse(hasher.verify("pw", "salt", "pbkdf2$1000"));
+        String hash = hasher.hash("pw", "salt");
+        assertFalse(hasher.verify("pw", "salt", hash.substring(0, hash.length() - 1)));
+        assertFalse(hasher.verify("pw", "salt", hash.substring(0, hash.length() - 1) + "g"));
+    }
+
+    @Test
+    void testLegacyHashStillVerifies() throws Exception {
+        String legacy = legacyHash("oldpass", "c2FsdA==");
+        assertTrue(hasher.verify("oldpass", "c2FsdA==", legacy));
+        assertTrue(hasher.verify("oldpass", "c2FsdA==", legacy.toUpperCase()));
+        assertFalse(hasher.verify("newpass", "c2FsdA==", legacy));
+        assertTrue(hasher.needsRehash(legacy));
+    }
+
+    @Test
+    void testNeedsRehashWhenWorkFactorRises() {
+        String weak = hasher.hash("pw", "salt");
+        assertFalse(hasher.needsRehash(weak));
+        PasswordHasher stronger = new PasswordHasher(2_000);
+        assertTrue(stronger.needsRehash(weak));
+        assertTrue(stronger.verify("pw", "salt", weak));
+    }
+
+    @Test
+    void testLoginUpgradesLegacyUser() throws Exception {
+        User user = new User("old", "c2FsdA==", legacyHash("oldpass", "c2FsdA=="), null);
+        assertFalse(user.checkPassword("wrong", hasher));
+        assertEquals(64, user.getHashedPassword().length());
+
+        assertTrue(user.checkPassword("oldpass", hasher));
+        assertTrue(user.getHashedPassword().startsWith("pbkdf2$1000$"));
+        assertTrue(user.checkPassword("oldpass", hasher));
+        assertFalse(user.checkPassword("wrong", hasher));
+    }
+
+    @Test
+    void testInvalidIterations() {
+        assertThrows(IllegalArgumentException.class, () -> new PasswordHasher(0));
+    }
+
+    // the format used before PBKDF2: hex SHA-256 of password + salt
+    private static String legacyHash(String password, String salt) throws Exception {
+        byte[] hash = MessageDigest.getInstance("SHA-256")
+                .digest((password + salt).getBytes(StandardCharsets.UTF_8));
+        StringBuilder hex = new StringBuilder();
+        for (byte b : hash) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,103 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import model.LibraryModel;
+import model.PlayHistory;
+import model.Song;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Test Description: This test class verifies the play history log. It tests windowed top
+ * songs and play counts across hour and day boundaries, listening time estimates, and that
+ * plays through the library are recorded.
+ *
+ * Framework: JUnit 5
+ */
+public class PlayHistoryTest {
+
+    private static final long DAY = 86_400;
+    // midnight UTC, 2026-10-19
+    private static final long MIDNIGHT = 1_792_368_000L;
+
+    private PlayHistory history;
+    private Song a;
+    private Song b;
+    private Song c;
+
+    @BeforeEach
+    public void setUp() {
+        Clock clock = Clock.fixed(Instant.ofEpochSecond(MIDNIGHT + 12 * 3600), ZoneOffset.UTC);
+        history = new PlayHistory(clock);
+        a = new Song("A", "X", "Y");
+        b = new Song("B", "X", "Y");
+        c = new Song("C", "X", "Y");
+        // ten days ago: c played a lot
+        for (int i = 0; i < 20; i++) {
+            history.record(c, MIDNIGHT - 10 * DAY + i * 60);
+        }
+        // this week: a three times, b twice, c once
+        history.record(a, MIDNIGHT - 3 * DAY + 100);
+        history.record(a, MIDNIGHT - DAY + 5000);
+        history.record(b, MIDNIGHT - 1);
+        history.record(b, MIDNIGHT + 3600);
+        history.record(a, MIDNIGHT + 7200);
+        history.record(c, MIDNIGHT + 7300);
+    }
+
+    @Test
+    public void testTopSongsThisWeek() {
+        List<Map.Entry<Song, Integer>> top = history.topSongs(Duration.ofDays(7), 2);
+        assertEquals(2, top.size());
+        assertSame(a, top.get(0).getKey());
+        assertEquals(3, top.get(0).getValue().intValue());
+        assertSame(b, top.get(1).getKey());
+        assertEquals(2, top.get(1).getValue().intValue());
+
+        List<Map.Entry<Song, Integer>> allTime = history.topSongs(0, MIDNIGHT + DAY, 1);
+        assertSame(c, allTime.get(0).getKey());
+        assertEquals(21, allTime.get(0).getValue().intValue());
+    }
+
+    @Test
+    public void testWindowsMixDaysAndHours() {
+        assertEquals(26, history.size());
+        assertEquals(3, history.playCount(MIDNIGHT, MIDNIGHT + DAY), "Today only");
+        assertEquals(1, history.playCount(MIDNIGHT + 3600, MIDNIGHT + 7200), "One hour");
+        assertEquals(2, history.playCount(MIDNIGHT - 3600, MIDNIGHT + 3601), "Rounded out to whole hours");
+        assertEquals(6, history.playCount(MIDNIGHT - 3 * DAY + 1800, MIDNIGHT + DAY));
+        assertEquals(0, history.playCount(MIDNIGHT + DAY, MIDNIGHT + 2 * DAY));
+    }
+
+    @Test
+    public void testListeningTime() {
+        assertEquals(3L * PlayHistory.NOMINAL_TRACK_SECONDS, history.listeningSeconds(MIDNIGHT, MIDNIGHT + DAY));
+        assertEquals(6L * PlayHistory.NOMINAL_TRACK_SECONDS, history.listeningSeconds(Duration.ofDays(7)));
+    }
+
+    @Test
+    public void testLibraryPlaysAreRecorded() {
+        LibraryModel library = new LibraryModel();
+        Song song = new Song("Live", "X", "Y");
+        library.addSong(song);
+        library.playSong(song);
+        library.playSong(song);
+        library.playSong(new Song("Not in library", "X", "Y"));
+
+        PlayHistory log = library.getPlayHistory();
+        assertEquals(2, log.size());
+        assertSame(song, log.songAt(1));
+        assertEquals(2, log.topSongs(Duration.ofHours(1), 5).get(0).getValue().intValue());
+    }
+}
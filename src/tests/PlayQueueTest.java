@@ -0,0 +1,148 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import model.LibraryModel;
+import model.PlayQueue;
+import model.Playlist;
+import model.Song;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Test Description: This test class verifies the play queue. It tests in-order playback with
+ * previous and repeat modes, that a shuffle plays every song exactly once per round, that
+ * weighted shuffle favors heavier songs, and that each played song is counted by the library.
+ *
+ * Framework: JUnit 5
+ */
+public class PlayQueueTest {
+
+    private LibraryModel library;
+    private Playlist playlist;
+    private List<Song> songs;
+
+    @BeforeEach
+    public void setUp() {
+        library = new LibraryModel();
+        library.createPlaylist("Mix");
+        playlist = library.getPlaylist("Mix");
+        songs = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Song song = new Song("Song " + i, "Artist", "Album");
+            songs.add(song);
+            library.addSong(song);
+        }
+        playlist.addSongs(songs);
+    }
+
+    @Test
+    public void testInOrderWithPreviousAndRepeat() {
+        PlayQueue queue = new PlayQueue(library, playlist.getSongs().subList(0, 3), PlayQueue.Mode.IN_ORDER);
+        assertNull(queue.current());
+        assertSame(songs.get(0), queue.next());
+        assertSame(songs.get(1), queue.next());
+        assertSame(songs.get(0), queue.previous());
+        assertNull(queue.previous(), "Nothing comes before the first song");
+        assertSame(songs.get(1), queue.next());
+        assertSame(songs.get(2), queue.next());
+        assertFalse(queue.hasNext());
+        assertNull(queue.next());
+
+        queue.setRepeat(PlayQueue.Repeat.ONE);
+        assertSame(songs.get(2), queue.next());
+        queue.setRepeat(PlayQueue.Repeat.ALL);
+        assertSame(songs.get(0), queue.next(), "Repeat all starts over");
+    }
+
+    @Test
+    public void testShufflePlaysEachSongOncePerRound() {
+        PlayQueue queue = new PlayQueue(library, playlist.getSongs(), PlayQueue.Mode.SHUFFLE,
+                PlayQueue.Repeat.ALL, new Random(7));
+        for (int round = 0; round < 2; round++) {
+            Set<Song> seen = new HashSet<>();
+            List<Song> order = new ArrayList<>();
+            for (int i = 0; i < songs.size(); i++) {
+                Song song = queue.next();
+                assertTrue(seen.add(song), "No song repeats within a round");
+                order.add(song);
+            }
+            assertEquals(songs.size(), seen.size());
+            assertNotEquals(songs, order, "A shuffle of 50 songs should not come out in order");
+        }
+    }
+
+    @Test
+    public void testWeightedShuffleFavorsRatedSongs() {
+        for (int i = 0; i < 10; i++) {
+            library.rateSong(songs.get(i), 5);
+        }
+        for (int i = 10; i < songs.size(); i++) {
+            library.rateSong(songs.get(i), 1);
+        }
+        PlayQueue queue = new PlayQueue(library, playlist.getSongs(), PlayQueue.Mode.BY_RATING,
+                PlayQueue.Repeat.ALL, new Random(11));
+        int top = 0;
+        for (int i = 0; i < 5000; i++) {
+            if (queue.next().getRating() == 5) {
+                top++;
+            }
+        }
+        // the 10 top songs hold 50 of the 90 weight units, about 56% of draws
+        assertTrue(top > 2500 && top < 3100, "Top-rated share was " + top);
+    }
+
+    @Test
+    public void testPlaysFeedLibraryAccounting() {
+        PlayQueue queue = new PlayQueue(library, playlist.getSongs(), PlayQueue.Mode.IN_ORDER);
+        queue.next();
+        queue.next();
+        queue.previous();
+        assertEquals(2, songs.get(0).getPlayCount());
+        assertEquals(1, songs.get(1).getPlayCount());
+        assertSame(songs.get(0), library.getRecentPlays().get(0));
+    }
+
+    @Test
+    public void testEmptyAndLibraryQueues() {
+        PlayQueue empty = new PlayQueue(library, new Playlist("Empty").getSongs(), PlayQueue.Mode.SHUFFLE);
+        assertFalse(empty.hasNext());
+        assertNull(empty.next());
+
+        PlayQueue all = PlayQueue.forLibrary(library, PlayQueue.Mode.BY_PLAYS);
+        assertTrue(all.hasNext());
+        assertNotNull(all.next());
+    }
+
+    @Test
+    public void testRepeatAllStopsWhenSourceEmptied() {
+        PlayQueue queue = new PlayQueue(library, playlist.getSongs(), PlayQueue.Mode.SHUFFLE,
+                PlayQueue.Repeat.ALL, new Random(3));
+        assertNotNull(queue.next());
+        playlist.removeSongs(new ArrayList<>(songs));
+        assertFalse(queue.hasNext(), "An emptied source has nothing left to play");
+        assertNull(queue.next(), "next must not loop forever over an emptied source");
+    }
+
+    @Test
+    public void testRepeatAllPicksUpShrunkSource() {
+        PlayQueue queue = new PlayQueue(library, playlist.getSongs(), PlayQueue.Mode.IN_ORDER);
+        queue.setRepeat(PlayQueue.Repeat.ALL);
+        for (int i = 0; i < songs.size(); i++) {
+            queue.next();
+        }
+        playlist.removeSongs(new ArrayList<>(songs.subList(2, songs.size())));
+        assertSame(songs.get(0), queue.next(), "A new round starts over the smaller source");
+        assertSame(songs.get(1), queue.next());
+        assertSame(songs.get(0), queue.next());
+    }
+}
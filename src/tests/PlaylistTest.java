@@ -4,7 +4,9 @@ import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 import model.Playlist;
 import model.Song;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Author: Asifur Rahman
@@ -13,7 +15,9 @@ import java.util.List;
  * 
  * Test Description: This test class verifies the behavior of the Playlist class.
  * It tests the creation of a playlist, adding songs, adding multiple songs,
- * and removing songs from the playlist.
+ * and removing songs from the playlist. It also tests duplicate rejection, inserting and
+ * moving by position, bulk adds and removes, and a long random edit sequence checked against
+ * a plain list.
  * 
  * Framework: JUnit 5
  */
@@ -82,4 +86,86 @@ public class PlaylistTest {
         assertEquals(1, pl.getSongs().size(), "Playlist should still have one song if a non-existent song is removed");
         assertTrue(pl.getSongs().contains(s1), "Playlist should still contain the existing song");
     }
+
+    @Test
+    public void testDuplicatesRejected() {
+        Playlist pl = new Playlist("My Playlist");
+        Song s1 = new Song("Song A", "Artist A", "Album A");
+        assertTrue(pl.addSong(s1));
+        assertFalse(pl.addSong(s1), "A song can only be in a playlist once");
+        assertEquals(1, pl.size());
+        assertTrue(pl.contains(s1));
+    }
+
+    @Test
+    public void testInsertAndMove() {
+        Playlist pl = new Playlist("My Playlist");
+        Song a = new Song("A", "X", "Y");
+        Song b = new Song("B", "X", "Y");
+        Song c = new Song("C", "X", "Y");
+        pl.addSong(a);
+        pl.addSong(c);
+        pl.insertSong(1, b);
+        assertEquals(List.of(a, b, c), pl.getSongs());
+        assertEquals(2, pl.indexOf(c));
+
+        pl.moveSong(0, 2);
+        assertEquals(List.of(b, c, a), pl.getSongs());
+        assertTrue(pl.moveSong(a, 0));
+        assertEquals(List.of(a, b, c), pl.getSongs());
+        assertThrows(IndexOutOfBoundsException.class, () -> pl.moveSong(0, 3));
+        assertThrows(UnsupportedOperationException.class, () -> pl.getSongs().add(a));
+    }
+
+    @Test
+    public void testBulkAddAndRemove() {
+        Playlist pl = new Playlist("Big");
+        List<Song> songs = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            songs.add(new Song("Song " + i, "Artist", "Album"));
+        }
+        assertEquals(1000, pl.addSongs(songs));
+        assertEquals(0, pl.addSongs(songs.subList(0, 10)), "Bulk adds skip songs already present");
+        assertEquals(songs, pl.getSongs());
+
+        List<Song> evens = new ArrayList<>();
+        List<Song> odds = new ArrayList<>();
+        for (int i = 0; i < songs.size(); i++) {
+            (i % 2 == 0 ? evens : odds).add(songs.get(i));
+        }
+        assertEquals(500, pl.removeSongs(evens));
+        assertEquals(odds, pl.getSongs());
+        assertEquals(1, pl.removeSongs(List.of(odds.get(7))));
+        assertEquals(-1, pl.indexOf(odds.get(7)));
+        assertEquals(7, pl.indexOf(odds.get(8)));
+    }
+
+    @Test
+    public void testRandomEditsMatchList() {
+        Playlist pl = new Playlist("Random");
+        List<Song> expected = new ArrayList<>();
+        Random random = new Random(42);
+        for (int step = 0; step < 5000; step++) {
+            int op = random.nextInt(4);
+            if (op <= 1 || expected.isEmpty()) {
+                Song song = new Song("S" + step, "A", "B");
+                int index = random.nextInt(expected.size() + 1);
+                pl.insertSong(index, song);
+                expected.add(index, song);
+            } else if (op == 2) {
+                int index = random.nextInt(expected.size());
+                assertSame(expected.remove(index), pl.removeAt(index));
+            } else {
+                int from = random.nextInt(expected.size());
+                int to = random.nextInt(expected.size());
+                pl.moveSong(from, to);
+                expected.add(to, expected.remove(from));
+            }
+        }
+        assertEquals(expected, pl.getSongs());
+        for (int i = 0; i < expected.size(); i += 37) {
+            assertEquals(i, pl.indexOf(expected.get(i)));
+            assertSame(expected.get(i), pl.getSongs().get(i));
+        }
+    }
 }
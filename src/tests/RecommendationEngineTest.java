@@ -0,0 +1,126 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import model.Album;
+import model.LibraryModel;
+import model.Song;
+import store.MusicStore;
+import store.RecommendationEngine;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Test Description: This test class verifies store song recommendations. It tests that owned
+ * songs are never recommended, that a favorite artist's other songs are suggested, that songs
+ * sharing playlists across users rank first, that updating a library replaces what it
+ * contributed to the co-occurrence counts, and that a playlist edit is picked up by the next
+ * recommendation.
+ *
+ * Framework: JUnit 5
+ */
+public class RecommendationEngineTest {
+
+    private MusicStore store;
+    private RecommendationEngine engine;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        store = new MusicStore();
+        store.loadAlbums("albums/albums.txt");
+        engine = new RecommendationEngine(store.getCatalog());
+    }
+
+    private Song storeSong(String albumTitle, int track) {
+        return store.getCatalog().findByTitle(albumTitle).get(0).getSongs().get(track);
+    }
+
+    @Test
+    public void testEmptyLibraryGetsNothing() {
+        assertTrue(engine.recommend(new LibraryModel(), 10).isEmpty());
+    }
+
+    @Test
+    public void testArtistAffinityExcludesOwnedSongs() {
+        LibraryModel library = new LibraryModel();
+        Song owned = storeSong("19", 0);
+        library.addSong(owned);
+        library.playSong(owned);
+
+        List<Song> picks = engine.recommend(library, 5);
+        assertEquals(5, picks.size());
+        for (Song song : picks) {
+            assertEquals("Adele", song.getArtist());
+            assertNotSame(owned, song);
+        }
+    }
+
+    @Test
+    public void testCoOccurrenceAcrossUsers() {
+        Song coldplay = storeSong("A Rush of Blood to the Head", 0);
+        Song dolly = storeSong("Coat of Many Colors", 0);
+
+        LibraryModel other = new LibraryModel();
+        other.addSong(coldplay);
+        other.addSong(dolly);
+        other.createPlaylist("Mix");
+        other.getPlaylist("Mix").addSong(coldplay);
+        other.getPlaylist("Mix").addSong(dolly);
+
+        LibraryModel user = new LibraryModel();
+        user.addSong(new Song(coldplay.getTitle(), coldplay.getArtist(), coldplay.getAlbumTitle()));
+
+        engine.rebuild(List.of(other, user));
+        assertSame(dolly, engine.recommend(user, 3).get(0));
+
+        // the other user's playlist changes, so its old pair no longer counts
+        other.getPlaylist("Mix").removeSong(dolly);
+        engine.update(other);
+        List<Song> picks = engine.recommend(user, 3);
+        assertFalse(picks.contains(dolly));
+        assertEquals("Coldplay", picks.get(0).getArtist());
+    }
+
+    @Test
+    public void testPlaylistEditsAreSeenWithoutVersionChange() {
+        Song coldplay = storeSong("A Rush of Blood to the Head", 0);
+        Song dolly = storeSong("Coat of Many Colors", 0);
+        LibraryModel user = new LibraryModel();
+        user.addSong(coldplay);
+        user.createPlaylist("Mine");
+        user.getPlaylist("Mine").addSong(coldplay);
+
+        List<Song> first = engine.recommend(user, 3);
+        assertFalse(first.contains(dolly));
+        assertEquals(first, engine.recommend(user, 3), "An unchanged library gets the same answer");
+
+        // a playlist edit does not change the library's version, but must still be counted
+        long version = user.getVersion();
+        user.getPlaylist("Mine").addSong(dolly);
+        assertEquals(version, user.getVersion());
+        assertSame(dolly, engine.recommend(user, 3).get(0));
+    }
+
+    @Test
+    public void testOnlyNeededAlbumsAreLoaded() throws IOException {
+        MusicStore lazy = new MusicStore(true);
+        lazy.loadAlbums("albums/albums.txt");
+        RecommendationEngine lazyEngine = new RecommendationEngine(lazy.getCatalog());
+        for (Album album : lazy.getAllAlbums()) {
+            assertFalse(album.isLoaded(), "Building the engine should not load " + album.getTitle());
+        }
+
+        LibraryModel library = new LibraryModel();
+        Song owned = lazy.getCatalog().findByTitle("19").get(0).getSongs().get(0);
+        library.addSong(owned);
+        assertFalse(lazyEngine.recommend(library, 3).isEmpty());
+        assertFalse(lazy.getCatalog().findByTitle("Old Ideas").get(0).isLoaded(),
+                "Albums of other artists and genres should stay unloaded");
+    }
+}
@@ -0,0 +1,107 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import model.Album;
+import store.MusicStore;
+import store.SearchCache;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Test Description: This test class verifies the search result cache. It tests hits and
+ * misses, least recently used eviction, that a new catalog version empties the cache and an
+ * older one bypasses it, concurrent lookups, and the cache behind MusicStore searches.
+ *
+ * Framework: JUnit 5
+ */
+public class SearchCacheTest {
+
+    @Test
+    void testHitsAndMisses() {
+        SearchCache cache = new SearchCache(4);
+        AtomicInteger runs = new AtomicInteger();
+        assertEquals("A", cache.get(1, "a", () -> runs.incrementAndGet() > 0 ? "A" : ""));
+        assertEquals("A", cache.get(1, "a", () -> runs.incrementAndGet() > 0 ? "B" : ""));
+        assertEquals(1, runs.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.size());
+        assertTrue(cache.toString().contains("50% hit rate"));
+    }
+
+    @Test
+    void testLeastRecentlyUsedEviction() {
+        SearchCache cache = new SearchCache(2);
+        cache.get(1, "a", () -> "A");
+        cache.get(1, "b", () -> "B");
+        cache.get(1, "a", () -> "A");
+        cache.get(1, "c", () -> "C");
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        // "b" was least recently used, so it is computed again
+        assertEquals("B2", cache.get(1, "b", () -> "B2"));
+        assertEquals("C", cache.get(1, "c", () -> "C2"));
+        assertEquals(2, cache.getEvictions());
+    }
+
+    @Test
+    void testNewVersionInvalidates() {
+        SearchCache cache = new SearchCache(8);
+        cache.get(1, "a", () -> "old");
+        assertEquals("new", cache.get(2, "a", () -> "new"));
+        assertEquals(1, cache.getInvalidations());
+        assertEquals("new", cache.get(2, "a", () -> "other"));
+        // a reader still on version 1 is answered but not cached
+        assertEquals("stale", cache.get(1, "a", () -> "stale"));
+        assertEquals("new", cache.get(2, "a", () -> "other"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testConcurrentLookups() throws Exception {
+        SearchCache cache = new SearchCache(64);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            results.add(pool.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    String key = "q" + (i % 100);
+                    if (!cache.get(1, key, () -> key.toUpperCase()).equals(key.toUpperCase())) {
+                        return false;
+                    }
+                }
+                return true;
+            }));
+        }
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get());
+        }
+        pool.shutdown();
+        assertEquals(80_000, cache.getHits() + cache.getMisses());
+        assertTrue(cache.size() <= 64);
+    }
+
+    @Test
+    void testStoreSearchesAreCached() throws IOException {
+        MusicStore store = new MusicStore();
+        store.loadAlbums("albums/albums.txt");
+        List<Album> first = store.searchAlbumByTitle("Old Ideas");
+        first.clear();
+        List<Album> second = store.searchAlbumByTitle("old ideas");
+        assertEquals(1, second.size(), "Each caller should get its own copy");
+        assertEquals(1, store.getSearchCache().getHits());
+        assertEquals(store.searchSongsByArtist("Adele").size(), store.searchSongsByArtist("ADELE").size());
+        assertEquals(2, store.getSearchCache().getHits());
+    }
+}
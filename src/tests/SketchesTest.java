@@ -0,0 +1,179 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import model.LibraryModel;
+import model.Song;
+import store.CountMinSketch;
+import store.HyperLogLog;
+import store.SpaceSaving;
+import store.TrendingSketches;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Test Description: This test class verifies the streaming sketches. It tests that Count-Min
+ * estimates never undercount and stay close, that HyperLogLog estimates are within their
+ * expected error, that Space-Saving keeps the heavy hitters, that sketches merge, that
+ * concurrent updates lose nothing, and that trending songs are fed from library plays.
+ *
+ * Framework: JUnit 5
+ */
+public class SketchesTest {
+
+    @Test
+    void testCountMinNeverUndercounts() {
+        CountMinSketch sketch = CountMinSketch.withError(0.001, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            sketch.add(CountMinSketch.hash("song" + (i % 1000)), 1 + i % 3);
+        }
+        long total = sketch.total();
+        for (int k = 0; k < 1000; k++) {
+            long exact = 0;
+            for (int i = k; i < 10_000; i += 1000) {
+                exact += 1 + i % 3;
+            }
+            long estimate = sketch.estimate(CountMinSketch.hash("song" + k));
+            assertTrue(estimate >= exact);
+            assertTrue(estimate - exact <= total * 0.001 * 5);
+        }
+        assertEquals(0, new CountMinSketch(3, 100).estimate(CountMinSketch.hash("none")));
+    }
+
+    @Test
+    void testCountMinMerge() {
+        CountMinSketch a = new CountMinSketch(4, 256);
+        CountMinSketch b = new CountMinSketch(4, 256);
+        a.add(CountMinSketch.hash("x"), 5);
+        b.add(CountMinSketch.hash("x"), 7);
+        a.merge(b);
+        assertEquals(12, a.estimate(CountMinSketch.hash("x")));
+        assertEquals(12, a.total());
+        assertThrows(IllegalArgumentException.class, () -> a.merge(new CountMinSketch(3, 256)));
+    }
+
+    @Test
+    void testHyperLogLogAccuracyAndMerge() {
+        HyperLogLog small = new HyperLogLog(14);
+        for (int i = 0; i < 50; i++) {
+            small.add(CountMinSketch.hash("user" + i));
+            small.add(CountMinSketch.hash("user" + i));
+        }
+        assertEquals(50, small.estimate(), 2);
+
+        HyperLogLog a = new HyperLogLog(12);
+        HyperLogLog b = new HyperLogLog(12);
+        for (int i = 0; i < 60_000; i++) {
+            (i % 2 == 0 ? a : b).add(CountMinSketch.hash("user" + i));
+        }
+        a.merge(b);
+        assertEquals(60_000, a.estimate(), 60_000 * 0.06);
+        assertThrows(IllegalArgumentException.class, () -> a.merge(new HyperLogLog(10)));
+    }
+
+    @Test
+    void testSpaceSavingKeepsHeavyHitters() {
+        SpaceSaving summary = new SpaceSaving(10);
+        for (int i = 0; i < 10_000; i++) {
+            String key = i % 4 == 0 ? "hot" : i % 5 == 0 ? "warm" : "cold" + i;
+            summary.offer(key, key.toUpperCase(), 1);
+        }
+        List<SpaceSaving.Entry> top = summary.top(2);
+        assertEquals("hot", top.get(0).getKey());
+        assertEquals("HOT", top.get(0).getLabel());
+        assertTrue(top.get(0).getCount() >= 2500);
+        assertEquals("warm", top.get(1).getKey());
+
+        SpaceSaving other = new SpaceSaving(10);
+        other.offer("warm", "WARM", 5000);
+        summary.merge(other);
+        assertEquals("warm", summary.top(1).get(0).getKey());
+    }
+
+    @Test
+    void testConcurrentUpdatesAreNotLost() throws Exception {
+        CountMinSketch sketch = new CountMinSketch(4, 1024);
+        HyperLogLog unique = new HyperLogLog(14);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> done = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            done.add(pool.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    sketch.add(CountMinSketch.hash("hot"), 1);
+                    unique.add(CountMinSketch.hash("t" + thread + "-" + i));
+                }
+            }));
+        }
+        for (Future<?> f : done) {
+            f.get();
+        }
+        pool.shutdown();
+        assertEquals(80_000, sketch.estimate(CountMinSketch.hash("hot")));
+        assertEquals(80_000, unique.estimate(), 80_000 * 0.03);
+    }
+
+    @Test
+    void testTrendingFromLibraryPlays() {
+        TrendingSketches trending = new TrendingSketches();
+        Song hello = new Song("Hello", "Adele", "25");
+        for (int u = 0; u < 5; u++) {
+            LibraryModel library = new LibraryModel();
+            Song mine = new Song("Hello", "Adele", "25");
+            Song other = new Song("Song " + u, "Band " + u, "Record " + u);
+            library.addSong(mine);
+            library.addSong(other);
+            library.addListener(trending.openSession("user" + u));
+            for (int i = 0; i < 3; i++) {
+                library.playSong(mine);
+            }
+            library.playSong(other);
+        }
+        List<TrendingSketches.Trend> songs = trending.trendingSongs(3);
+        assertEquals("Hello - Adele", songs.get(0).getName());
+        assertEquals(15, songs.get(0).getPlays());
+        assertEquals(5, songs.get(0).getListeners());
+        assertEquals(15, trending.estimatePlays(hello));
+        assertEquals(5, trending.estimateListeners(hello));
+        assertEquals("25 - Adele", trending.trendingAlbums(1).get(0).getName());
+        assertEquals(5, trending.uniqueListeners());
+        assertEquals(20, trending.totalPlays());
+
+        TrendingSketches other = new TrendingSketches();
+        TrendingSketches.Session session = other.openSession("user9");
+        for (int i = 0; i < 20; i++) {
+            session.record(new Song("Clocks", "Coldplay", "A Rush of Blood to the Head"));
+        }
+        trending.merge(other);
+        assertEquals("Clocks - Coldplay", trending.trendingSongs(1).get(0).getName());
+        assertEquals(6, trending.uniqueListeners());
+    }
+
+    @Test
+    void testManySessionsAndMergesKeepFixedSummaries() {
+        TrendingSketches trending = new TrendingSketches();
+        for (int u = 0; u < 200; u++) {
+            TrendingSketches.Session session = trending.openSession("user" + u);
+            session.record(new Song("Hello", "Adele", "25"));
+            session.record(new Song("Track " + u, "Band " + u, "Record " + u));
+        }
+        TrendingSketches other = new TrendingSketches();
+        other.openSession("guest").record(new Song("Hello", "Adele", "25"));
+        for (int i = 0; i < 50; i++) {
+            trending.merge(other);
+        }
+        List<TrendingSketches.Trend> songs = trending.trendingSongs(1000);
+        // candidates come from a fixed number of fixed-size summaries, however many were added
+        assertTrue(songs.size() <= 64, "At most TOP_K candidates are kept");
+        assertEquals("Hello - Adele", songs.get(0).getName());
+        assertTrue(songs.get(0).getPlays() >= 250, "Count-Min never undercounts");
+    }
+}
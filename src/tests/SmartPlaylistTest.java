@@ -0,0 +1,123 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import model.Album;
+import model.LibraryListener;
+import model.LibraryModel;
+import model.SmartPlaylist;
+import model.Song;
+import model.SongQuery;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Test Description: This test class verifies smart playlists. It tests the initial fill from
+ * an existing library, and incremental updates when songs are added, rated, favorited and
+ * played. It also tests sort order and limits, genre rules, and library listener events.
+ *
+ * Framework: JUnit 5
+ */
+public class SmartPlaylistTest {
+
+    private LibraryModel library;
+    private Song a;
+    private Song b;
+    private Song c;
+
+    @BeforeEach
+    public void setUp() {
+        library = new LibraryModel();
+        Album rock = new Album("Loud", "Band", "Rock", 2000);
+        a = new Song("Alpha", "Band", "Loud");
+        b = new Song("Bravo", "Band", "Loud");
+        rock.addSong(a);
+        rock.addSong(b);
+        library.addAlbum(rock);
+        c = new Song("Charlie", "Solo", "Single");
+        library.addSong(c);
+    }
+
+    @Test
+    public void testInitialFillAndRatingUpdates() {
+        library.rateSong(a, 4);
+        SmartPlaylist liked = new SmartPlaylist("Liked").minRating(4).genre("rock");
+        library.addSmartPlaylist(liked);
+        assertEquals(List.of(a), liked.getSongs());
+
+        library.rateSong(b, 5);
+        library.rateSong(c, 5);
+        assertEquals(List.of(a, b), liked.getSongs(), "c has no genre, so it never matches");
+
+        Song added = new Song("Delta", "Band", "Loud");
+        library.addSong(added);
+        library.rateSong(added, 4);
+        assertEquals(2, liked.size(), "Songs added alone have no genre");
+    }
+
+    @Test
+    public void testPlaysReorderAndLimit() {
+        SmartPlaylist top = new SmartPlaylist("Top").minPlays(1).sortBy(SongQuery.BY_PLAYS).limit(2);
+        library.addSmartPlaylist(top);
+        assertEquals(0, top.size());
+
+        library.playSong(c);
+        library.playSong(a);
+        library.playSong(a);
+        assertEquals(List.of(a, c), top.getSongs());
+
+        library.playSong(b);
+        library.playSong(b);
+        library.playSong(b);
+        assertEquals(List.of(b, a), top.getSongs(), "Limit keeps only the two most played");
+    }
+
+    @Test
+    public void testFavoritesRule() {
+        SmartPlaylist favorites = new SmartPlaylist("Favs").favorites();
+        library.addSmartPlaylist(favorites);
+        library.markFavorite(c);
+        assertEquals(List.of(c), favorites.getSongs());
+    }
+
+    @Test
+    public void testRulesFixedAfterAttach() {
+        SmartPlaylist playlist = new SmartPlaylist("All");
+        assertTrue(library.addSmartPlaylist(playlist));
+        assertEquals(3, playlist.size());
+        assertFalse(library.addSmartPlaylist(new SmartPlaylist("All")));
+        assertThrows(IllegalStateException.class, () -> playlist.minRating(3));
+    }
+
+    @Test
+    public void testListenerEvents() {
+        StringBuilder events = new StringBuilder();
+        library.addListener(new LibraryListener() {
+            @Override
+            public void songAdded(Song song) {
+                events.append("add ");
+            }
+
+            @Override
+            public void songUpdated(Song song) {
+                events.append("update ");
+            }
+
+            @Override
+            public void songPlayed(Song song) {
+                events.append("play ");
+            }
+        });
+        library.addSong(new Song("Echo", "Solo", "Single"));
+        library.addSong(c);
+        library.rateSong(c, 3);
+        library.rateSong(c, 5);
+        library.playSong(c);
+        assertEquals("add update update play ", events.toString());
+    }
+}
@@ -0,0 +1,73 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import model.LibraryModel;
+import model.Song;
+import model.SongQuery;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Test Description: This test class verifies combined library queries built with SongQuery.
+ * It tests artist, album, rating, favorite and play-count conditions, sorting and limits,
+ * and the access path chosen by the planner.
+ *
+ * Framework: JUnit 5
+ */
+public class SongQueryTest {
+
+    private LibraryModel library;
+
+    @BeforeEach
+    public void setUp() {
+        library = new LibraryModel();
+        String[][] songs = {
+            {"Hello", "Adele", "25"}, {"Send My Love", "Adele", "25"}, {"Daydreamer", "Adele", "19"},
+            {"Hello", "Lionel Richie", "Can't Slow Down"}, {"Shallow", "Lady Gaga", "A Star Is Born"}
+        };
+        for (String[] s : songs) {
+            library.addSong(new Song(s[0], s[1], s[2]));
+        }
+        Song hello = library.searchSongByTitle("Hello").get(0);
+        library.rateSong(hello, 5);
+        library.rateSong(library.searchSongByTitle("Send My Love").get(0), 4);
+        Song shallow = library.searchSongByTitle("Shallow").get(0);
+        library.playSong(shallow);
+        library.playSong(shallow);
+    }
+
+    private List<String> titles(SongQuery query) {
+        return library.query(query).map(Song::getTitle).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testCombinedConditions() {
+        assertEquals(List.of("Hello", "Send My Love"), titles(new SongQuery().artist("adele").minRating(4).sortBy(SongQuery.BY_TITLE)));
+        assertEquals(List.of("Daydreamer"), titles(new SongQuery().album("19")));
+        assertEquals(1, library.query(new SongQuery().favorites().artist("Adele")).count());
+        assertEquals(List.of("Shallow"), titles(new SongQuery().minPlays(1)));
+    }
+
+    @Test
+    public void testSortAndLimit() {
+        List<String> top = titles(new SongQuery().sortBy(SongQuery.BY_PLAYS).limit(1));
+        assertEquals(List.of("Shallow"), top);
+        List<String> rated = titles(new SongQuery().sortBy(SongQuery.BY_RATING).limit(2));
+        assertEquals(List.of("Hello", "Send My Love"), rated);
+    }
+
+    @Test
+    public void testPlannerPicksSmallestSource() {
+        assertEquals("title index (2 candidates)", new SongQuery().title("hello").explain(library));
+        assertEquals("album index (1 candidates)", new SongQuery().artist("Adele").album("19").explain(library));
+        assertEquals("favorites (1 candidates)", new SongQuery().favorites().artist("Adele").explain(library));
+        assertEquals("full scan (5 candidates)", new SongQuery().minRating(1).explain(library));
+    }
+}
@@ -0,0 +1,90 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import app.StartupPipeline;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Test Description: This test class verifies the StartupPipeline. It tests that background
+ * steps run at the same time, that every kind of phase is timed and reported, and that a
+ * failing step completes its future with the error.
+ *
+ * Framework: JUnit 5
+ */
+public class StartupPipelineTest {
+
+    @Test
+    public void testStepsRunConcurrently() throws Exception {
+        try (StartupPipeline startup = new StartupPipeline()) {
+            // each step waits for the other, so they only finish if both run at once
+            CountDownLatch both = new CountDownLatch(2);
+            CompletableFuture<Boolean> users = startup.supply("users", () -> await(both));
+            CompletableFuture<Boolean> catalog = startup.supply("catalog", () -> await(both));
+            assertTrue(users.get(5, TimeUnit.SECONDS));
+            assertTrue(catalog.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+
+    @Test
+    public void testPhasesAreTimed() throws Exception {
+        try (StartupPipeline startup = new StartupPipeline()) {
+            startup.run("sleep", () -> sleep(30)).get();
+            assertEquals("value", startup.time("inline", () -> "value"));
+            CompletableFuture<String> elsewhere = new CompletableFuture<>();
+            CompletableFuture<String> tracked = startup.track("elsewhere", elsewhere);
+            assertEquals(-1L, startup.millis("elsewhere"), "An unfinished phase has no duration");
+            assertTrue(startup.report().contains("still running"));
+            elsewhere.complete("done");
+            assertEquals("done", tracked.get());
+            startup.mark("first prompt");
+
+            assertTrue(startup.millis("sleep") >= 25, "The sleep should be timed");
+            assertTrue(startup.millis("inline") >= 0);
+            assertTrue(startup.millis("elsewhere") >= 0);
+            assertEquals(0L, startup.millis("first prompt"));
+            assertEquals(-1L, startup.millis("never started"));
+            String report = startup.report();
+            assertTrue(report.indexOf("sleep") < report.indexOf("inline"), "Phases are listed in start order");
+            assertTrue(report.contains("first prompt"));
+            assertFalse(report.contains("still running"));
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    public void testFailedStep() {
+        try (StartupPipeline startup = new StartupPipeline()) {
+            CompletableFuture<Void> step = startup.run("broken", () -> {
+                throw new IllegalStateException("no users file");
+            });
+            ExecutionException e = assertThrows(ExecutionException.class, step::get);
+            assertTrue(e.getCause() instanceof IllegalStateException);
+            assertTrue(startup.millis("broken") >= 0, "A failed step still has an end");
+        }
+    }
+}
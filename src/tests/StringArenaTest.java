@@ -0,0 +1,111 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import model.LibraryModel;
+import model.Song;
+import store.ArenaSong;
+import store.MusicStore;
+import store.StringArena;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Test Description: This test class verifies the off-heap string arena. It tests round trips
+ * of ASCII and non-ASCII text, that equal text gets one handle, that shared text is decoded
+ * once, strings across chunk boundaries, and a store whose songs keep their text in the
+ * arena.
+ *
+ * Framework: JUnit 5
+ */
+public class StringArenaTest {
+
+    @Test
+    void testInternAndGet() {
+        StringArena arena = new StringArena();
+        int hello = arena.intern("Hello");
+        int accented = arena.intern("Caf\u00e9 del Mar \u266b");
+        int empty = arena.intern("");
+        assertEquals("Hello", arena.get(hello));
+        assertEquals("Caf\u00e9 del Mar \u266b", arena.get(accented));
+        assertEquals("", arena.get(empty));
+        assertEquals(5, arena.length(hello));
+        assertEquals(3, arena.size());
+    }
+
+    @Test
+    void testEqualTextSharesOneHandle() {
+        StringArena arena = new StringArena();
+        int a = arena.intern("Adele");
+        byte[] bytes = "xxAdelexx".getBytes(StandardCharsets.UTF_8);
+        int b = arena.intern(ByteBuffer.wrap(bytes), 2, 5);
+        assertEquals(a, b);
+        assertEquals(1, arena.size());
+        assertEquals(5, arena.bytesUsed());
+        assertNotEquals(a, arena.intern("adele"));
+    }
+
+    @Test
+    void testSharedIsDecodedOnce() {
+        StringArena arena = new StringArena();
+        int accented = arena.intern("\u00c9t\u00e9");
+        int later = arena.intern("Later");
+        assertNotSame(arena.get(accented), arena.get(accented));
+        String first = arena.shared(accented);
+        assertEquals("\u00c9t\u00e9", first);
+        assertSame(first, arena.shared(accented));
+        for (int i = 0; i < 1000; i++) {
+            arena.intern("Filler " + i);
+        }
+        assertEquals("Later", arena.shared(later));
+        assertSame(first, arena.shared(accented), "Growing the arena keeps decoded strings");
+    }
+
+    @Test
+    void testManyStringsAcrossChunks() {
+        StringArena arena = new StringArena();
+        int[] handles = new int[100_000];
+        for (int i = 0; i < handles.length; i++) {
+            handles[i] = arena.intern("Track number " + i + " from a rather long album title");
+        }
+        for (int i = 0; i < handles.length; i += 997) {
+            assertEquals("Track number " + i + " from a rather long album title", arena.get(handles[i]));
+            assertEquals(handles[i], arena.intern("Track number " + i + " from a rather long album title"));
+        }
+        assertEquals(handles.length, arena.size());
+        assertTrue(arena.bytesUsed() > 1 << 20, "The text should span several chunks");
+    }
+
+    @Test
+    void testStoreSongsUseTheArena() throws IOException {
+        StringArena arena = new StringArena();
+        MusicStore store = new MusicStore(false, arena);
+        store.loadAlbums("albums/albums.txt");
+        List<Song> songs = store.searchSongsByArtist("Adele");
+        assertFalse(songs.isEmpty());
+        Song first = songs.get(0);
+        assertTrue(first instanceof ArenaSong);
+        assertEquals("Adele", first.getArtist());
+        assertEquals(first.getTitle(), store.searchAlbumByTitle(first.getAlbumTitle()).get(0).getSongs().get(0).getTitle());
+        // song text is decoded once, not on every call, and album text is shared by its songs
+        assertSame(first.getArtist(), songs.get(songs.size() - 1).getArtist());
+        assertSame(first.getAlbumTitle(), first.getAlbumTitle());
+        assertSame(first.getTitle(), first.getTitle());
+
+        // catalog songs still rate, play and persist like any other
+        LibraryModel library = new LibraryModel();
+        library.addSong(first);
+        library.rateSong(first, 4);
+        library.playSong(first);
+        assertEquals(4, first.getRating());
+        assertEquals(1, first.getPlayCount());
+        assertEquals(first, library.searchSongByTitle(first.getTitle()).get(0));
+    }
+}
@@ -0,0 +1,306 @@
+package view;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import model.Album;
+import model.LibraryModel;
+import model.Playlist;
+import model.Song;
+import store.MusicStore;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This class runs library commands from a script instead of the menu,
+ * one command per line, read from a file or a stream such as piped standard input:
+ *
+ *   add "Title" "Artist" "Album"       add a song to the library
+ *   add-album "Album Title"            add a store album to the library
+ *   play "Title"                       play a song
+ *   rate "Title" 4                     rate a song from 1 to 5
+ *   favorite "Title"                   mark a song as a favorite
+ *   playlist "Name"                    create a playlist
+ *   playlist-add "Name" "Title"        add a song to a playlist
+ *
+ * Arguments without spaces may be written without quotes. Blank lines and lines starting
+ * with # are skipped. Songs are looked up through the library's title index, and the first
+ * match is used, as in the menu. Runs of consecutive add commands are collected and applied
+ * with one LibraryModel.addSongs call, and an add only counts as applied once that call has
+ * added it. An add naming a song already in the library, or already queued, with the same
+ * title, artist and album is counted as a duplicate. Nothing is printed per command. Failed
+ * commands are counted and the first MAX_ERRORS are kept with their line numbers. The
+ * caller saves the library once after the whole script.
+ */
+public class BatchCommandRunner {
+
+    // error messages kept for the report; later ones are only counted
+    static final int MAX_ERRORS = 100;
+
+    private final LibraryModel library;
+    private final MusicStore store;
+
+    // pending adds, applied together before any other command runs
+    private final List<Song> pendingAdds = new ArrayList<>();
+    // the pending songs by title, artist and album, so a repeated add queues the same song
+    private final Map<String, Song> pendingByKey = new HashMap<>();
+
+    /**
+     * @param library - The library the commands change.
+     * @param store - The store used by add-album.
+     */
+    public BatchCommandRunner(LibraryModel library, MusicStore store) {
+        this.library = library;
+        this.store = store;
+    }
+
+    /**
+     * Runs every command in a script file.
+     *
+     * @param script - The file to run.
+     * @return A summary of the run.
+     * @throws IOException If the file cannot be read.
+     */
+    public Result run(Path script) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(script, StandardCharsets.UTF_8)) {
+            return run(in);
+        }
+    }
+
+    /**
+     * Runs every command read from a stream until it ends.
+     *
+     * @param in - The command lines.
+     * @return A summary of the run.
+     * @throws IOException If the stream cannot be read.
+     */
+    public Result run(BufferedReader in) throws IOException {
+        Result result = new Result();
+        List<String> args = new ArrayList<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = in.readLine()) != null) {
+            lineNumber++;
+            args.clear();
+            try {
+                if (!tokenize(line, args) || args.isEmpty()) {
+                    continue;
+                }
+                String command = args.get(0).toLowerCase();
+                boolean add = command.equals("add");
+                if (!add) {
+                    flushAdds(result);
+                }
+                execute(command, args);
+                // adds are counted when they are applied
+                if (!add) {
+                    result.succeeded++;
+                }
+            } catch (IllegalArgumentException e) {
+                result.fail(lineNumber, e.getMessage());
+            }
+        }
+        flushAdds(result);
+        return result;
+    }
+
+    private void execute(String command, List<String> args) {
+        switch (command) {
+            case "add":
+                expect(args, 3, "add \"Title\" \"Artist\" \"Album\"");
+                String title = args.get(1).trim();
+                String artist = args.get(2).trim();
+                String album = args.get(3).trim();
+                if (title.isEmpty() || artist.isEmpty() || album.isEmpty()) {
+                    throw new IllegalArgumentException("Title, artist, and album must not be empty");
+                }
+                pendingAdds.add(songFor(title, artist, album));
+                break;
+            case "add-album":
+                expect(args, 1, "add-album \"Album Title\"");
+                List<Album> albums = store.searchAlbumByTitle(args.get(1));
+                if (albums.isEmpty()) {
+                    throw new IllegalArgumentException("Album not found in the store: " + args.get(1));
+                }
+                library.addAlbum(albums.get(0));
+                break;
+            case "play":
+                expect(args, 1, "play \"Title\"");
+                library.playSong(song(args.get(1)));
+                break;
+            case "rate":
+                expect(args, 2, "rate \"Title\" 1-5");
+                Song song = song(args.get(1));
+                int rating = rating(args.get(2));
+                library.rateSong(song, rating);
+                break;
+            case "favorite":
+                expect(args, 1, "favorite \"Title\"");
+                library.markFavorite(song(args.get(1)));
+                break;
+            case "playlist":
+                expect(args, 1, "playlist \"Name\"");
+                library.createPlaylist(args.get(1));
+                break;
+            case "playlist-add":
+                expect(args, 2, "playlist-add \"Name\" \"Title\"");
+                Playlist playlist = library.getPlaylist(args.get(1));
+                if (playlist == null) {
+                    throw new IllegalArgumentException("Playlist not found: " + args.get(1));
+                }
+                playlist.addSong(song(args.get(2)));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown command: " + args.get(0));
+        }
+    }
+
+    private void flushAdds(Result result) {
+        if (!pendingAdds.isEmpty()) {
+            int added = library.addSongs(pendingAdds);
+            result.succeeded += added;
+            result.duplicates += pendingAdds.size() - added;
+            pendingAdds.clear();
+            pendingByKey.clear();
+        }
+    }
+
+    /**
+     * The song an add command names: the one already in the library or queued with the same
+     * title, artist and album, so addSongs skips it as a duplicate, or else a new song.
+     */
+    private Song songFor(String title, String artist, String album) {
+        for (Song song : library.searchSongByTitle(title)) {
+            if (song.getTitle().equals(title) && song.getArtist().equals(artist)
+                    && song.getAlbumTitle().equals(album)) {
+                return song;
+            }
+        }
+        return pendingByKey.computeIfAbsent(title + '\0' + artist + '\0' + album,
+                key -> new Song(title, artist, album));
+    }
+
+    private static void expect(List<String> args, int count, String usage) {
+        if (args.size() != count + 1) {
+            throw new IllegalArgumentException("Usage: " + usage);
+        }
+    }
+
+    private Song song(String title) {
+        List<Song> songs = library.searchSongByTitle(title);
+        if (songs.isEmpty()) {
+            throw new IllegalArgumentException("Song not found in library: " + title);
+        }
+        return songs.get(0);
+    }
+
+    private static int rating(String value) {
+        if (value.length() == 1 && value.charAt(0) >= '1' && value.charAt(0) <= '5') {
+            return value.charAt(0) - '0';
+        }
+        throw new IllegalArgumentException("Rating must be 1 to 5: " + value);
+    }
+
+    /**
+     * Splits a command line into words. Double quotes group words with spaces, and \" and \\
+     * inside quotes stand for a quote and a backslash.
+     *
+     * @return false if the line is blank or a comment.
+     * @throws IllegalArgumentException If a quote is not closed.
+     */
+    private static boolean tokenize(String line, List<String> out) {
+        int i = 0;
+        int length = line.length();
+        while (i < length && Character.isWhitespace(line.charAt(i))) {
+            i++;
+        }
+        if (i == length || line.charAt(i) == '#') {
+            return false;
+        }
+        StringBuilder word = new StringBuilder();
+        while (i < length) {
+            char c = line.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            word.setLength(0);
+            if (c == '"') {
+                i++;
+                while (i < length && line.charAt(i) != '"') {
+                    char d = line.charAt(i);
+                    if (d == '\\' && i + 1 < length) {
+                        d = line.charAt(++i);
+                    }
+                    word.append(d);
+                    i++;
+                }
+                if (i == length) {
+                    throw new IllegalArgumentException("Missing closing quote");
+                }
+                i++;
+            } else {
+                while (i < length && !Character.isWhitespace(line.charAt(i))) {
+                    word.append(line.charAt(i));
+                    i++;
+                }
+            }
+            out.add(word.toString());
+        }
+        return true;
+    }
+
+    /**
+     * The outcome of one run: how many commands succeeded, how many adds were skipped as
+     * duplicates, and which commands failed.
+     */
+    public static class Result {
+        private int succeeded;
+        private int duplicates;
+        private int failed;
+        private final List<String> errors = new ArrayList<>();
+
+        private void fail(int line, String message) {
+            failed++;
+            if (errors.size() < MAX_ERRORS) {
+                errors.add("line " + line + ": " + message);
+            }
+        }
+
+        public int getSucceeded() {
+            return succeeded;
+        }
+
+        /**
+         * @return The add commands skipped because the song was already in the library.
+         */
+        public int getDuplicates() {
+            return duplicates;
+        }
+
+        public int getFailed() {
+            return failed;
+        }
+
+        /**
+         * @return The first error messages, each with its line number.
+         */
+        public List<String> getErrors() {
+            return Collections.unmodifiableList(errors);
+        }
+
+        @Override
+        public String toString() {
+            return succeeded + " commands applied, " + duplicates + " duplicates skipped, " + failed + " failed.";
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package view;
+
+import java.io.Flushable;
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Author: Asifur Rahman
+ * Date: October 19, 2026
+ * Course: CSc 335
+ *
+ * Program Description: This class is the output layer for long console listings. Text is
+ * appended to one reusable buffer, and the buffer is written to the console in large chunks.
+ * A chunk is written when the buffer passes FLUSH_AT characters, and the rest is written when
+ * flush is called. Printing 100,000 lines therefore costs a few dozen synchronized,
+ * flushing writes instead of 100,000.
+ *
+ * Rows are built with chained append calls, and fixed-width columns are padded from a
+ * shared array of spaces, so a row creates no temporary strings. Callers must flush before
+ * reading input, so that prompts appear, and before printing through System.out directly,
+ * so that the order of the output is kept.
+ */
+public class ConsoleRenderer implements Flushable {
+
+    // buffered characters that trigger a write to the console
+    static final int FLUSH_AT = 32 * 1024;
+
+    private static final char[] SPACES = new char[128];
+    static {
+        Arrays.fill(SPACES, ' ');
+    }
+
+    private final PrintStream out;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_AT + 256);
+
+    /**
+     * @param out - The console stream, usually System.out.
+     */
+    public ConsoleRenderer(PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * @param text - Text to add.
+     * @return This renderer.
+     */
+    public ConsoleRenderer append(String text) {
+        buffer.append(text);
+        return this;
+    }
+
+    /**
+     * @param c - A character to add.
+     * @return This renderer.
+     */
+    public ConsoleRenderer append(char c) {
+        buffer.append(c);
+        return this;
+    }
+
+    /**
+     * @param value - A number to add, in decimal.
+     * @return This renderer.
+     */
+    public ConsoleRenderer append(long value) {
+        buffer.append(value);
+        return this;
+    }
+
+    /**
+     * Ends the current line and writes a chunk if the buffer is full.
+     *
+     * @return This renderer.
+     */
+    public ConsoleRenderer newline() {
+        buffer.append(System.lineSeparator());
+        if (buffer.length() >= FLUSH_AT) {
+            flush();
+        }
+        return this;
+    }
+
+    /**
+     * Adds a whole line.
+     *
+     * @param text - The line's text.
+     * @return This renderer.
+     */
+    public ConsoleRenderer line(String text) {
+        return append(text).newline();
+    }
+
+    /**
+     * Adds text left-aligned in a column. Longer text is cut to width - 1 characters and
+     * followed by a space, so neighboring columns never run together.
+     *
+     * @param text - The column's text.
+     * @param width - The column width in characters.
+     * @return This renderer.
+     */
+    public ConsoleRenderer column(String text, int width) {
+        if (text.length() >= width) {
+            buffer.append(text, 0, Math.max(width - 1, 0)).append(' ');
+        } else {
+            buffer.append(text);
+            pad(width - text.length());
+        }
+        return this;
+    }
+
+    /**
+     * Adds a number right-aligned in a column.
+     *
+     * @param value - The number.
+     * @param width - The column width in characters.
+     * @return This renderer.
+     */
+    public ConsoleRenderer column(long value, int width) {
+        int start = buffer.length();
+        buffer.append(value);
+        int digits = buffer.length() - start;
+        if (digits < width) {
+            buffer.insert(start, SPACES, 0, Math.min(width - digits, SPACES.length));
+        }
+        return this;
+    }
+
+    private void pad(int count) {
+        while (count > 0) {
+            int n = Math.min(count, SPACES.length);
+            buffer.append(SPACES, 0, n);
+            count -= n;
+        }
+    }
+
+    /**
+     * Writes everything buffered to the console in one call.
+     */
+    @Override
+    public void flush() {
+        if (buffer.length() > 0) {
+            out.append(buffer);
+            buffer.setLength(0);
+        }
+        out.flush();
+    }
+}
@@ -2,12 +2,31 @@ package view;
 
 import model.Album;
 import model.LibraryModel;
+import model.PlayHistory;
+import model.PlayQueue;
 import model.Playlist;
+import model.SmartPlaylist;
 import model.Song;
+import model.SongQuery;
+import store.BulkImporter;
+import store.Catalog;
+import store.GlobalCharts;
 import store.MusicStore;
+import store.RecommendationEngine;
+import store.TrendingSketches;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
-import java.util.ArrayList;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
 
 /**
  * Author: Asifur Rahman
@@ -23,14 +42,40 @@ import java.util.ArrayList;
  *   - Create and manage playlists.
  *   - Mark songs as favorites and rate songs.
  * The class uses a Scanner for user input and calls methods on LibraryModel and MusicStore accordingly
+ * Long listings and search results are shown one page at a time. Listings are written
+ * through a ConsoleRenderer, which buffers them and writes each page in one call.
  */
 public class MusicLibraryView {
+	// number of entries shown before asking whether to continue
+	private static final int PAGE_SIZE = 20;
+	// store albums print several lines each, so fewer are shown per page
+	private static final int ALBUM_PAGE_SIZE = 5;
+	// genres or artists shown per line in the counts view
+	private static final int FACET_LIMIT = 5;
+	// column widths for song tables
+	private static final int RANK_WIDTH = 3;
+	private static final int TITLE_WIDTH = 36;
+	private static final int ARTIST_WIDTH = 24;
+	private static final int PLAYS_WIDTH = 6;
+	// songs shown by the recommendations view
+	private static final int RECOMMENDATIONS = 10;
+	
 	// reference to the user's libraryModel
 	private LibraryModel library;
 	// reference to the music store
 	private MusicStore store;
 	// scanner for reading user input
 	private Scanner scanner;
+	// buffered output for listings; flushed before every prompt
+	private ConsoleRenderer out;
+	// the store-wide views, which may still be building in the background when the menu
+	// opens; each completes with null if it is not available
+	// recommends store songs
+	private CompletableFuture<RecommendationEngine> recommenderReady = CompletableFuture.completedFuture(null);
+	// rankings across every user's library
+	private CompletableFuture<GlobalCharts> chartsReady = CompletableFuture.completedFuture(null);
+	// approximate store-wide trends from play events
+	private CompletableFuture<TrendingSketches> trendingReady = CompletableFuture.completedFuture(null);
 	
 	 /**
      * Constructor for a new MusicLibraryView with the specified LibraryModel and MusicStore.
@@ -42,6 +87,67 @@ public class MusicLibraryView {
 		this.library = library;
 		this.store = store;
 		this.scanner = new Scanner(System.in);
+		this.out = new ConsoleRenderer(System.out);
+	}
+	
+	/**
+     * Constructor for a new MusicLibraryView that can also recommend store songs.
+     *
+     * @param library - The user's LibraryModel instance.
+     * @param store - The MusicStore instance from which album data is loaded.
+     * @param recommender - The engine used for song recommendations.
+     */
+	public MusicLibraryView(LibraryModel library, MusicStore store, RecommendationEngine recommender) {
+		this(library, store);
+		this.recommenderReady = CompletableFuture.completedFuture(recommender);
+	}
+	
+	/**
+     * Constructor for a new MusicLibraryView that can also show charts across all users.
+     *
+     * @param library - The user's LibraryModel instance.
+     * @param store - The MusicStore instance from which album data is loaded.
+     * @param recommender - The engine used for song recommendations.
+     * @param charts - The rankings across every user's library.
+     */
+	public MusicLibraryView(LibraryModel library, MusicStore store, RecommendationEngine recommender, GlobalCharts charts) {
+		this(library, store, recommender);
+		this.chartsReady = CompletableFuture.completedFuture(charts);
+	}
+	
+	/**
+     * Constructor for a new MusicLibraryView that can also show what is trending.
+     *
+     * @param library - The user's LibraryModel instance.
+     * @param store - The MusicStore instance from which album data is loaded.
+     * @param recommender - The engine used for song recommendations.
+     * @param charts - The rankings across every user's library.
+     * @param trending - The sketches of recent plays across all users.
+     */
+	public MusicLibraryView(LibraryModel library, MusicStore store, RecommendationEngine recommender,
+			GlobalCharts charts, TrendingSketches trending) {
+		this(library, store, recommender, charts);
+		this.trendingReady = CompletableFuture.completedFuture(trending);
+	}
+	
+	/**
+     * Constructor for a new MusicLibraryView whose store-wide views are still being built, so
+     * the menu can open at once. Each view is waited for only when its menu option is chosen.
+     * The user's own library is added to the charts when they are first shown, on this
+     * view's thread, so the background builds never read a library the user is changing.
+     *
+     * @param library - The user's LibraryModel instance.
+     * @param store - The MusicStore instance from which album data is loaded.
+     * @param recommender - Completes with the engine used for song recommendations.
+     * @param charts - Completes with the rankings across every user's library.
+     * @param trending - Completes with the sketches of recent plays across all users.
+     */
+	public MusicLibraryView(LibraryModel library, MusicStore store, CompletableFuture<RecommendationEngine> recommender,
+			CompletableFuture<GlobalCharts> charts, CompletableFuture<TrendingSketches> trending) {
+		this(library, store);
+		this.recommenderReady = recommender;
+		this.chartsReady = charts;
+		this.trendingReady = trending;
 	}
 	
 	/**
@@ -77,6 +183,24 @@ public class MusicLibraryView {
 	            viewRecentPlays();    // Handles new "View Most Recently Played" option
 	        } else if (choice.equals("12")) {
 	            viewFrequentPlays();  // Handles new "View Most Frequently Played" option
+	        } else if (choice.equals("13")) {
+	            viewFacetCounts();
+	        } else if (choice.equals("14")) {
+	            viewRecommendations();
+	        } else if (choice.equals("15")) {
+	            createSmartPlaylist();
+	        } else if (choice.equals("16")) {
+	            viewSmartPlaylist();
+	        } else if (choice.equals("17")) {
+	            playQueue();
+	        } else if (choice.equals("18")) {
+	            viewWeeklyStats();
+	        } else if (choice.equals("19")) {
+	            bulkImport();
+	        } else if (choice.equals("20")) {
+	            viewGlobalCharts();
+	        } else if (choice.equals("21")) {
+	            viewTrending();
 	        } else if (choice.equals("0")) {
 	            exit = true;
 	            System.out.println("Exiting. Goodbye!");
@@ -103,6 +227,15 @@ public class MusicLibraryView {
 	    System.out.println("10. Play a Song");              // New option for LA2
 	    System.out.println("11. View Most Recently Played"); // New option for LA2
 	    System.out.println("12. View Most Frequently Played"); // New option for LA2
+	    System.out.println("13. View Genre and Artist Counts");
+	    System.out.println("14. Recommend Songs");
+	    System.out.println("15. Create Smart Playlist");
+	    System.out.println("16. View Smart Playlist");
+	    System.out.println("17. Play Queue (playlist, album or library)");
+	    System.out.println("18. View Top Songs This Week");
+	    System.out.println("19. Bulk Import (file or artist)");
+	    System.out.println("20. View Global Charts");
+	    System.out.println("21. View Trending Now");
 	    System.out.println("0. Exit");
 	    System.out.print("Enter your choice: ");
 	}
@@ -117,14 +250,15 @@ public class MusicLibraryView {
             if (results.isEmpty()) {
                 System.out.println("No matching albums found in store.");
             } else {
-                for (Album album : results) {
-                    System.out.println("\nAlbum: " + album.getTitle() + " by " + album.getArtist());
-                    System.out.println("Genre: " + album.getGenre() + ", Year: " + album.getYear());
-                    System.out.println("Songs:");
+                printPaged(results.iterator(), ALBUM_PAGE_SIZE, (out, album) -> {
+                    out.newline();
+                    out.append("Album: ").append(album.getTitle()).append(" by ").append(album.getArtist()).newline();
+                    out.append("Genre: ").append(album.getGenre()).append(", Year: ").append(album.getYear()).newline();
+                    out.line("Songs:");
                     for (Song s : album.getSongs()) {
-                        System.out.println(" - " + s.getTitle());
+                        out.append(" - ").append(s.getTitle()).newline();
                     }
-                }
+                });
             }
         }
         
@@ -134,26 +268,22 @@ public class MusicLibraryView {
         private void searchLibrary() {
             System.out.print("Enter search term (searches in title, artist, or album): ");
             String term = scanner.nextLine().trim().toLowerCase();
-            List<Song> results = new ArrayList<>();
             
-            // Iterate through all songs in the library
-            for (Song song : library.getSongs()) {
-                // Check if the search term appears in title, artist, or album (case-insensitive)
-                if (song.getTitle().toLowerCase().contains(term) ||
-                    song.getArtist().toLowerCase().contains(term) ||
-                    song.getAlbumTitle().toLowerCase().contains(term)) {
-                    results.add(song);
-                }
-            }
+            // Matches are found lazily as each page is printed
+            // (case-insensitive match on title, artist, or album)
+            Iterator<Song> results = library.getSongs().stream()
+                    .filter(song -> song.getTitle().toLowerCase().contains(term) ||
+                                    song.getArtist().toLowerCase().contains(term) ||
+                                    song.getAlbumTitle().toLowerCase().contains(term))
+                    .iterator();
             
             // Display search results
-            if (results.isEmpty()) {
+            if (!results.hasNext()) {
                 System.out.println("No matching songs found in your library.");
             } else {
                 System.out.println("Search results:");
-                for (Song s : results) {
-                    System.out.println(" - " + s.getTitle() + " by " + s.getArtist());
-                }
+                printPaged(results, PAGE_SIZE,
+                        (out, s) -> out.append(" - ").append(s.getTitle()).append(" by ").append(s.getArtist()).newline());
             }
         }
         
@@ -205,23 +335,47 @@ public class MusicLibraryView {
          * This class lists all items in the user's library: songs, albums, playlists, and favorites.
          */
         private void listLibraryItems() {
-            System.out.println("\n--- Your Library ---");
-            System.out.println("Songs:");
-            for (Song song : library.getSongs()) {
-                System.out.println(" - " + song.getTitle());
-            }
-            System.out.println("Albums:");
-            for (Album album : library.getAlbums()) {
-                System.out.println(" - " + album.getTitle());
+            out.newline().line("--- Your Library ---");
+            out.line("Songs:");
+            printPaged(library.getSongs().iterator(), PAGE_SIZE, (out, song) -> out.append(" - ").append(song.getTitle()).newline());
+            out.line("Albums:");
+            printPaged(library.getAlbums().iterator(), PAGE_SIZE, (out, album) -> out.append(" - ").append(album.getTitle()).newline());
+            out.line("Playlists:");
+            printPaged(library.getAllPlaylists().iterator(), PAGE_SIZE, (out, pl) -> out.append(" - ").append(pl.getName()).newline());
+            if (!library.getSmartPlaylists().isEmpty()) {
+                out.line("Smart Playlists:");
+                printPaged(library.getSmartPlaylists().iterator(), PAGE_SIZE,
+                        (out, sp) -> out.append(" - ").append(sp.getName()).append(" (").append(sp.size()).append(" songs)").newline());
             }
-            System.out.println("Playlists:");
-            for (Playlist pl : library.getAllPlaylists()) {
-                System.out.println(" - " + pl.getName());
-            }
-            System.out.println("Favorites:");
-            for (Song song : library.getFavorites()) {
-                System.out.println(" - " + song.getTitle());
+            out.line("Favorites:");
+            printPaged(library.getFavorites().iterator(), PAGE_SIZE, (out, song) -> out.append(" - ").append(song.getTitle()).newline());
+        }
+        
+        /**
+         * Prints entries one page at a time through the console renderer. When a full page has
+         * been shown and more entries follow, the user presses Enter for the next page or types
+         * q to stop. Entries are pulled from the iterator as they are printed, so nothing is
+         * collected up front, and each page reaches the console in one write.
+         *
+         * @param items - The entries to print, in order.
+         * @param pageSize - The number of entries per page.
+         * @param row - Renders one entry, ending with a newline.
+         * @return false if the user stopped before the last entry.
+         */
+        private <T> boolean printPaged(Iterator<T> items, int pageSize, BiConsumer<ConsoleRenderer, T> row) {
+            int shown = 0;
+            while (items.hasNext()) {
+                if (shown > 0 && shown % pageSize == 0) {
+                    out.append("-- More (press Enter to continue, q to stop) --").flush();
+                    if (!scanner.hasNextLine() || scanner.nextLine().trim().equalsIgnoreCase("q")) {
+                        return false;
+                    }
+                }
+                row.accept(out, items.next());
+                shown++;
             }
+            out.flush();
+            return true;
         }
         
         /**
@@ -237,6 +391,77 @@ public class MusicLibraryView {
             }
         }
         
+        /**
+         * This class prompts the user for the rules of a new smart playlist. Blank answers
+         * leave a rule out.
+         */
+        private void createSmartPlaylist() {
+            System.out.print("Enter a new smart playlist name: ");
+            String name = scanner.nextLine().trim();
+            if (name.isEmpty() || library.getSmartPlaylist(name) != null) {
+                System.out.println("A smart playlist needs a new, non-empty name.");
+                return;
+            }
+            SmartPlaylist playlist = new SmartPlaylist(name);
+            try {
+                System.out.print("Minimum rating (1-5, blank for any): ");
+                String rating = scanner.nextLine().trim();
+                if (!rating.isEmpty()) {
+                    playlist.minRating(Integer.parseInt(rating));
+                }
+                System.out.print("Minimum plays (blank for any): ");
+                String plays = scanner.nextLine().trim();
+                if (!plays.isEmpty()) {
+                    playlist.minPlays(Integer.parseInt(plays));
+                }
+                System.out.print("Genre (blank for any): ");
+                String genre = scanner.nextLine().trim();
+                if (!genre.isEmpty()) {
+                    playlist.genre(genre);
+                }
+                System.out.print("Favorites only? (y/n): ");
+                if (scanner.nextLine().trim().equalsIgnoreCase("y")) {
+                    playlist.favorites();
+                }
+                System.out.print("Sort by title, plays or rating (blank for title): ");
+                String sort = scanner.nextLine().trim().toLowerCase();
+                if (sort.equals("plays")) {
+                    playlist.sortBy(SongQuery.BY_PLAYS);
+                } else if (sort.equals("rating")) {
+                    playlist.sortBy(SongQuery.BY_RATING);
+                }
+                System.out.print("Maximum songs (blank for no limit): ");
+                String limit = scanner.nextLine().trim();
+                if (!limit.isEmpty()) {
+                    playlist.limit(Integer.parseInt(limit));
+                }
+            } catch (IllegalArgumentException e) {
+                System.out.println("Invalid number. Smart playlist not created.");
+                return;
+            }
+            library.addSmartPlaylist(playlist);
+            System.out.println("Smart playlist created with " + playlist.size() + " songs.");
+            if (!playlist.isSaved()) {
+                System.out.println("Note: this smart playlist will not be saved when you exit.");
+            }
+        }
+        
+        /**
+         * This class prompts for a smart playlist and displays its current songs.
+         */
+        private void viewSmartPlaylist() {
+            System.out.print("Enter the name of the smart playlist: ");
+            SmartPlaylist playlist = library.getSmartPlaylist(scanner.nextLine().trim());
+            if (playlist == null) {
+                System.out.println("Smart playlist not found.");
+            } else if (playlist.size() == 0) {
+                System.out.println("No songs match this smart playlist yet.");
+            } else {
+                printPaged(playlist.getSongs().iterator(), PAGE_SIZE,
+                        (out, s) -> out.append(" - ").append(s.getTitle()).append(" by ").append(s.getArtist()).newline());
+            }
+        }
+        
         /**
          * This class prompts the user to add a song to an existing playlist.
          */
@@ -254,8 +479,11 @@ public class MusicLibraryView {
             if (songs.isEmpty()) {
                 System.out.println("Song not found in your library.");
             } else {
-                playlist.addSong(songs.get(0));
-                System.out.println("Song added to playlist.");
+                if (playlist.addSong(songs.get(0))) {
+                    System.out.println("Song added to playlist.");
+                } else {
+                    System.out.println("Song is already in the playlist.");
+                }
             }
         }
         
@@ -312,6 +540,116 @@ public class MusicLibraryView {
             }
         }
         
+        /**
+         * This class plays a playlist, an album from the library, or the whole library through
+         * a play queue, one song per command, until the user stops or the queue ends.
+         */
+        private void playQueue() {
+            System.out.print("Enter a playlist name or album title (blank for whole library): ");
+            String name = scanner.nextLine().trim();
+            System.out.print("Order: in order, shuffle, rating or plays (blank for in order): ");
+            String order = scanner.nextLine().trim().toLowerCase();
+            PlayQueue.Mode mode = PlayQueue.Mode.IN_ORDER;
+            if (order.equals("shuffle")) {
+                mode = PlayQueue.Mode.SHUFFLE;
+            } else if (order.equals("rating")) {
+                mode = PlayQueue.Mode.BY_RATING;
+            } else if (order.equals("plays")) {
+                mode = PlayQueue.Mode.BY_PLAYS;
+            }
+            
+            PlayQueue queue = null;
+            if (name.isEmpty()) {
+                queue = PlayQueue.forLibrary(library, mode);
+            } else if (library.getPlaylist(name) != null) {
+                queue = new PlayQueue(library, library.getPlaylist(name).getSongs(), mode);
+            } else {
+                for (Album album : library.getAlbums()) {
+                    if (album.getTitle().equalsIgnoreCase(name)) {
+                        queue = new PlayQueue(library, album.getSongs(), mode);
+                        break;
+                    }
+                }
+            }
+            if (queue == null) {
+                System.out.println("No playlist or album with that name in your library.");
+                return;
+            }
+            
+            Song song = queue.next();
+            while (song != null) {
+                System.out.println("Now playing: " + song.getTitle() + " by " + song.getArtist());
+                System.out.print("n = next, p = previous, r = change repeat, q = stop: ");
+                String command = scanner.hasNextLine() ? scanner.nextLine().trim().toLowerCase() : "q";
+                while (command.equals("r")) {
+                    PlayQueue.Repeat[] repeats = PlayQueue.Repeat.values();
+                    queue.setRepeat(repeats[(queue.getRepeat().ordinal() + 1) % repeats.length]);
+                    System.out.print("Repeat " + queue.getRepeat() + ". n = next, p = previous, r = change repeat, q = stop: ");
+                    command = scanner.hasNextLine() ? scanner.nextLine().trim().toLowerCase() : "q";
+                }
+                if (command.equals("q")) {
+                    return;
+                }
+                if (command.equals("p")) {
+                    Song before = queue.previous();
+                    song = before != null ? before : song;
+                } else {
+                    song = queue.next();
+                }
+            }
+            System.out.println("End of queue.");
+        }
+        
+        /**
+         * This class prompts for an import file or an artist name and adds every matching
+         * store album and song to the library in one batch.
+         */
+        private void bulkImport() {
+            System.out.print("Enter an import file path or an artist name: ");
+            String input = scanner.nextLine().trim();
+            if (input.isEmpty()) {
+                System.out.println("Nothing to import.");
+                return;
+            }
+            BulkImporter importer = new BulkImporter(store);
+            BulkImporter.Result result;
+            Path file = Paths.get(input);
+            if (Files.isRegularFile(file)) {
+                try {
+                    result = importer.importFile(file, library);
+                } catch (IOException e) {
+                    System.out.println("Could not read import file: " + e.getMessage());
+                    return;
+                }
+            } else {
+                result = importer.importArtist(input, library);
+            }
+            System.out.println(result);
+            printPaged(result.getUnresolved().iterator(), PAGE_SIZE, (out, entry) -> out.append("  not found: ").append(entry).newline());
+        }
+        
+        /**
+         * Displays the most played songs of the last seven days and the estimated listening
+         * time, from the play history rollups.
+         */
+        private void viewWeeklyStats() {
+            PlayHistory history = library.getPlayHistory();
+            List<Map.Entry<Song, Integer>> top = history.topSongs(Duration.ofDays(7), 10);
+            if (top.isEmpty()) {
+                System.out.println("No plays in the last 7 days.");
+                return;
+            }
+            out.line("Top Songs This Week:");
+            for (int i = 0; i < top.size(); i++) {
+                Song song = top.get(i).getKey();
+                out.column(i + 1, RANK_WIDTH).append(". ")
+                   .column(song.getTitle(), TITLE_WIDTH).column(song.getArtist(), ARTIST_WIDTH)
+                   .column(top.get(i).getValue(), PLAYS_WIDTH).append(" plays").newline();
+            }
+            out.flush();
+            long minutes = history.listeningSeconds(Duration.ofDays(7)) / 60;
+            System.out.println("Listening time this week: about " + minutes + " minutes");
+        }
         
         /**
          * Displays the list of most recently played songs from the library.
@@ -321,11 +659,13 @@ public class MusicLibraryView {
             if (recent.isEmpty()) {
                 System.out.println("No recently played songs.");
             } else {
-                System.out.println("Most Recently Played:");
+                out.line("Most Recently Played:");
                 for (int i = 0; i < recent.size(); i++) {
                     Song song = recent.get(i);
-                    System.out.println((i + 1) + ". " + song.getTitle() + " by " + song.getArtist());
+                    out.column(i + 1, RANK_WIDTH).append(". ")
+                       .column(song.getTitle(), TITLE_WIDTH).append(song.getArtist()).newline();
                 }
+                out.flush();
             }
         }
         
@@ -337,12 +677,149 @@ public class MusicLibraryView {
             if (frequent.isEmpty()) {
                 System.out.println("No frequently played songs.");
             } else {
-                System.out.println("Most Frequently Played:");
+                out.line("Most Frequently Played:");
                 for (int i = 0; i < frequent.size(); i++) {
                     Song song = frequent.get(i);
-                    System.out.println((i + 1) + ". " + song.getTitle() + " by " + song.getArtist() + 
-                                       " (" + song.getPlayCount() + " plays)");
+                    out.column(i + 1, RANK_WIDTH).append(". ")
+                       .column(song.getTitle(), TITLE_WIDTH).column(song.getArtist(), ARTIST_WIDTH)
+                       .column(song.getPlayCount(), PLAYS_WIDTH).append(" plays").newline();
                 }
+                out.flush();
+            }
+        }
+        
+        /**
+         * Displays the top genres and artists in the store and in the library, using the
+         * precomputed facet counts.
+         */
+        private void viewFacetCounts() {
+            Catalog catalog = store.getCatalog();
+            System.out.println("Store genres: " + orNone(catalog.getGenreCounts().format(FACET_LIMIT)));
+            System.out.println("Store artists (albums): " + orNone(catalog.getArtistCounts().format(FACET_LIMIT)));
+            System.out.println("Library genres: " + orNone(library.getGenreCounts().format(FACET_LIMIT)));
+            System.out.println("Library artists (songs): " + orNone(library.getArtistCounts().format(FACET_LIMIT)));
+        }
+        
+        /**
+         * Waits for a store-wide view that is built in the background, saying so if it is not
+         * ready yet.
+         *
+         * @return The view, or null if it could not be built.
+         */
+        private <T> T await(CompletableFuture<T> ready, String what) {
+            if (!ready.isDone()) {
+                System.out.println("Loading " + what + "...");
             }
+            try {
+                return ready.join();
+            } catch (CompletionException | CancellationException e) {
+                return null;
+            }
+        }
+        
+        /**
+         * Displays store songs recommended from the user's plays, ratings and playlists.
+         */
+        private void viewRecommendations() {
+            RecommendationEngine recommender = await(recommenderReady, "recommendations");
+            if (recommender == null) {
+                System.out.println("Recommendations are not available.");
+                return;
+            }
+            List<Song> picks = recommender.recommend(library, RECOMMENDATIONS);
+            if (picks.isEmpty()) {
+                System.out.println("No recommendations yet. Add, play or rate some songs first.");
+            } else {
+                out.line("Recommended for you:");
+                for (int i = 0; i < picks.size(); i++) {
+                    Song song = picks.get(i);
+                    out.column(i + 1, RANK_WIDTH).append(". ")
+                       .column(song.getTitle(), TITLE_WIDTH).column(song.getArtist(), ARTIST_WIDTH)
+                       .append(song.getAlbumTitle()).newline();
+                }
+                out.flush();
+            }
+        }
+        
+        /**
+         * Displays the top songs, albums, artists or genres across every user's library, by
+         * total plays or by average rating.
+         */
+        private void viewGlobalCharts() {
+            GlobalCharts charts = await(chartsReady, "charts");
+            if (charts == null) {
+                System.out.println("Charts are not available.");
+                return;
+            }
+            // does nothing if the library is already in the charts
+            charts.add(library);
+            System.out.print("Chart songs, albums, artists or genres (s/al/ar/g): ");
+            String which = scanner.nextLine().trim().toLowerCase();
+            GlobalCharts.Kind kind;
+            if (which.equals("s")) {
+                kind = GlobalCharts.Kind.SONGS;
+            } else if (which.equals("al")) {
+                kind = GlobalCharts.Kind.ALBUMS;
+            } else if (which.equals("ar")) {
+                kind = GlobalCharts.Kind.ARTISTS;
+            } else if (which.equals("g")) {
+                kind = GlobalCharts.Kind.GENRES;
+            } else {
+                System.out.println("Invalid choice.");
+                return;
+            }
+            System.out.print("Rank by plays or rating (p/r): ");
+            GlobalCharts.Order order = scanner.nextLine().trim().equalsIgnoreCase("r")
+                    ? GlobalCharts.Order.RATING : GlobalCharts.Order.PLAYS;
+            List<GlobalCharts.Entry> top = charts.top(kind, order, RECOMMENDATIONS);
+            if (top.isEmpty()) {
+                System.out.println("Nothing has been " + (order == GlobalCharts.Order.RATING ? "rated" : "played") + " yet.");
+                return;
+            }
+            out.line("Top " + kind.name().toLowerCase() + " across " + charts.size() + " libraries:");
+            for (int i = 0; i < top.size(); i++) {
+                GlobalCharts.Entry entry = top.get(i);
+                out.column(i + 1, RANK_WIDTH).append(". ").column(entry.getName(), TITLE_WIDTH + ARTIST_WIDTH)
+                   .column(entry.getPlays(), PLAYS_WIDTH).append(" plays  ")
+                   .append(String.format("%.1f", entry.getAverageRating())).append(" avg  ")
+                   .append(entry.getListeners()).append(" listeners").newline();
+            }
+            out.flush();
+        }
+        
+        /**
+         * Displays the songs and albums played most across all users recently, with estimated
+         * plays and unique listeners.
+         */
+        private void viewTrending() {
+            TrendingSketches trending = await(trendingReady, "trending");
+            if (trending == null) {
+                System.out.println("Trending is not available.");
+                return;
+            }
+            List<TrendingSketches.Trend> songs = trending.trendingSongs(RECOMMENDATIONS);
+            if (songs.isEmpty()) {
+                System.out.println("Nothing has been played recently.");
+                return;
+            }
+            printTrends("Trending songs:", songs);
+            printTrends("Trending albums:", trending.trendingAlbums(FACET_LIMIT));
+            out.append("About ").append(trending.uniqueListeners()).append(" listeners, ")
+               .append(trending.totalPlays()).append(" plays.").newline();
+            out.flush();
+        }
+        
+        private void printTrends(String heading, List<TrendingSketches.Trend> trends) {
+            out.line(heading);
+            for (int i = 0; i < trends.size(); i++) {
+                TrendingSketches.Trend trend = trends.get(i);
+                out.column(i + 1, RANK_WIDTH).append(". ").column(trend.getName(), TITLE_WIDTH + ARTIST_WIDTH)
+                   .column(trend.getPlays(), PLAYS_WIDTH).append(" plays  ")
+                   .append(trend.getListeners()).append(" listeners").newline();
+            }
+        }
+        
+        private static String orNone(String line) {
+            return line.isEmpty() ? "(none)" : line;
         }
 }